@@ -0,0 +1,36 @@
+package com.gamertools.benchmark;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Latency percentiles of one timed operation, in microseconds.
+ */
+public record LatencyStats(int samples, double p50, double p95, double p99, double max, double mean) {
+    
+    /**
+     * Runs {@code operation} {@code iterations} times untimed to warm up, then times as many
+     * more runs. The iteration number is passed in so callers can vary parameters and keep
+     * the database from answering from a cached result.
+     */
+    public static LatencyStats measure(int iterations, IntConsumer operation) {
+        for (int i = 0; i < iterations; i++) {
+            operation.accept(iterations + i);
+        }
+        long[] nanos = new long[iterations];
+        long total = 0;
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            operation.accept(i);
+            nanos[i] = System.nanoTime() - start;
+            total += nanos[i];
+        }
+        Arrays.sort(nanos);
+        return new LatencyStats(iterations, percentile(nanos, 0.50), percentile(nanos, 0.95), percentile(nanos, 0.99),
+                nanos[iterations - 1] / 1000.0, total / 1000.0 / iterations);
+    }
+    
+    private static double percentile(long[] sorted, double fraction) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * fraction))] / 1000.0;
+    }
+}
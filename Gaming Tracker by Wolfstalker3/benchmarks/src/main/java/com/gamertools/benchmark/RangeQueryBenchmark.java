@@ -0,0 +1,142 @@
+package com.gamertools.benchmark;
+
+import com.gamertools.dto.PageCursor;
+import com.gamertools.model.Game;
+import com.gamertools.repository.GameRepository;
+import com.gamertools.repository.GamingScheduleRepository;
+import com.gamertools.repository.GamingSessionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Measures latency of the repository range queries against a large synthetic dataset,
+ * once with the time-range indexes and once with them dropped.
+ *
+ * Run with: java -jar target/benchmarks-app.jar --spring.profiles.active=range-benchmark
+ * (point spring.datasource.url at a scratch file to benchmark a file-backed database). The
+ * application exits when done. It refuses the "persistent" profile, since it fills the
+ * database with synthetic rows and drops and recreates its indexes.
+ */
+@Component
+@Profile("range-benchmark")
+public class RangeQueryBenchmark implements CommandLineRunner {
+    
+    private static final Logger log = LoggerFactory.getLogger(RangeQueryBenchmark.class);
+    
+    // Index name -> statement that recreates it; must match the migrations and entity mappings
+    private static final Map<String, String> INDEXES = new LinkedHashMap<>();
+    
+    static {
+        INDEXES.put("idx_sessions_start_time", "CREATE INDEX idx_sessions_start_time ON gaming_sessions (start_time DESC, id DESC)");
+        INDEXES.put("idx_sessions_game_start_time", "CREATE INDEX idx_sessions_game_start_time ON gaming_sessions (game_id, start_time DESC, id DESC)");
+        INDEXES.put("idx_sessions_end_time", "CREATE INDEX idx_sessions_end_time ON gaming_sessions (end_time)");
+        INDEXES.put("idx_schedules_scheduled_time", "CREATE INDEX idx_schedules_scheduled_time ON gaming_schedules (scheduled_time, id)");
+        INDEXES.put("idx_schedules_completed_time", "CREATE INDEX idx_schedules_completed_time ON gaming_schedules (is_completed, scheduled_time, id)");
+        INDEXES.put("idx_games_name_key", "CREATE INDEX idx_games_name_key ON games (name_key)");
+    }
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private GamingSessionRepository sessionRepository;
+    
+    @Autowired
+    private GamingScheduleRepository scheduleRepository;
+    
+    @Autowired
+    private GameRepository gameRepository;
+    
+    @Autowired
+    private SyntheticDataGenerator dataGenerator;
+    
+    @Autowired
+    private ConfigurableApplicationContext context;
+    
+    @Autowired
+    private Environment environment;
+    
+    @Value("${gaming.benchmark.games:500}")
+    private int gameCount;
+    
+    @Value("${gaming.benchmark.sessions:500000}")
+    private int sessionCount;
+    
+    @Value("${gaming.benchmark.schedules:100000}")
+    private int scheduleCount;
+    
+    @Value("${gaming.benchmark.iterations:50}")
+    private int iterations;
+    
+    @Override
+    public void run(String... args) {
+        if (environment.acceptsProfiles(Profiles.of("persistent"))) {
+            throw new IllegalStateException("The range query benchmark must not run against the persistent database");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        dataGenerator.populate(gameCount, sessionCount, scheduleCount);
+        
+        // Discarded pass so JIT and page caches are equally warm for both measured passes
+        measureAll(now);
+        log.info("Range query latency with indexes ({} sessions, {} schedules, {} games):",
+                sessionRepository.count(), scheduleRepository.count(), gameRepository.count());
+        Map<String, LatencyStats> indexed = measureAll(now);
+        
+        INDEXES.keySet().forEach(index -> jdbcTemplate.execute("DROP INDEX IF EXISTS " + index));
+        Map<String, LatencyStats> unindexed;
+        try {
+            log.info("Range query latency without indexes:");
+            unindexed = measureAll(now);
+        } finally {
+            INDEXES.values().forEach(jdbcTemplate::execute);
+        }
+        
+        log.info(String.format("%-28s %12s %12s %12s %12s", "query", "p50 idx(us)", "p95 idx(us)", "p50 scan(us)", "p95 scan(us)"));
+        indexed.forEach((name, stats) -> {
+            LatencyStats scan = unindexed.get(name);
+            log.info(String.format("%-28s %12.1f %12.1f %12.1f %12.1f", name, stats.p50(), stats.p95(), scan.p50(), scan.p95()));
+        });
+        
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+    
+    private Map<String, LatencyStats> measureAll(LocalDateTime now) {
+        List<Game> games = gameRepository.findAll(PageRequest.of(0, 100)).getContent();
+        Map<String, LatencyStats> results = new LinkedHashMap<>();
+        // Parameters shift with the iteration so H2 cannot hand back the previous result
+        results.put("sessionsBetween(1 day)", measure(i ->
+                sessionRepository.findPageSince(now.minusDays(31).minusHours(i), now.minusDays(30).minusHours(i),
+                        Long.MAX_VALUE, PageRequest.of(0, 51))));
+        results.put("sessionsForGame(page)", measure(i ->
+                sessionRepository.findPageByGame(games.get(i % games.size()).getId(), PageCursor.FIRST_DESCENDING.time(),
+                        PageCursor.FIRST_DESCENDING.id(), PageRequest.of(0, 51))));
+        results.put("countSessionsSince(7 days)", measure(i -> sessionRepository.countSessionsSince(now.minusDays(7).minusMinutes(i))));
+        results.put("playtimeSince(7 days)", measure(i -> sessionRepository.getTotalPlaytimeSince(now.minusDays(7).minusMinutes(i))));
+        results.put("schedulesBetween(1 week)", measure(i -> scheduleRepository.findSchedulesBetween(now.plusHours(i), now.plusDays(7).plusHours(i))));
+        results.put("upcomingSchedules(page)", measure(i ->
+                scheduleRepository.findUpcomingPage(now.plusHours(i), 0L, PageRequest.of(0, 51))));
+        results.put("gameByNameIgnoreCase", measure(i -> gameRepository.findByNameIgnoreCase(games.get(i % games.size()).getName().toLowerCase())));
+        return results;
+    }
+    
+    private LatencyStats measure(IntConsumer query) {
+        return LatencyStats.measure(iterations, query);
+    }
+}
@@ -0,0 +1,286 @@
+package com.gamertools.benchmark;
+
+import com.gamertools.dto.PageCursor;
+import com.gamertools.model.Game;
+import com.gamertools.model.ScheduleType;
+import com.gamertools.repository.DailyGameRollupRepository;
+import com.gamertools.repository.DailyRollupRepository;
+import com.gamertools.repository.GameRepository;
+import com.gamertools.repository.GamingScheduleRepository;
+import com.gamertools.repository.GamingSessionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Times every repository query and the main REST read endpoints against the synthetic
+ * dataset, then writes a Markdown latency report and exits.
+ *
+ * Run with: java -jar target/benchmarks-app.jar --spring.profiles.active=repository-benchmark
+ * Dataset size comes from gaming.synthetic.*; gaming.benchmark.iterations sets the number of
+ * timed runs per entry and gaming.benchmark.report the output file.
+ */
+@Component
+@Profile("repository-benchmark")
+public class RepositoryBenchmark implements CommandLineRunner {
+    
+    private static final Logger log = LoggerFactory.getLogger(RepositoryBenchmark.class);
+    
+    @Autowired
+    private SyntheticDataGenerator dataGenerator;
+    
+    @Autowired
+    private GamingSessionRepository sessionRepository;
+    
+    @Autowired
+    private GamingScheduleRepository scheduleRepository;
+    
+    @Autowired
+    private GameRepository gameRepository;
+    
+    @Autowired
+    private DailyRollupRepository rollupRepository;
+    
+    @Autowired
+    private DailyGameRollupRepository gameRollupRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private Environment environment;
+    
+    @Autowired
+    private ConfigurableApplicationContext context;
+    
+    @Value("${gaming.benchmark.iterations:50}")
+    private int iterations;
+    
+    @Value("${gaming.benchmark.report:latency-report.md}")
+    private String reportFile;
+    
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    
+    @Override
+    public void run(String... args) throws Exception {
+        dataGenerator.populate();
+        LocalDateTime now = LocalDateTime.now();
+        List<Game> games = gameRepository.findAll(PageRequest.of(0, 100)).getContent();
+        List<Long> sessionIds = sampleIds("gaming_sessions");
+        List<Long> scheduleIds = sampleIds("gaming_schedules");
+        
+        log.info("Timing repository queries ({} sessions, {} schedules, {} games, {} runs each)",
+                sessionRepository.count(), scheduleRepository.count(), gameRepository.count(), iterations);
+        Map<String, Result> queries = measureQueries(now, games, sessionIds);
+        
+        String port = environment.getProperty("local.server.port");
+        Map<String, Result> endpoints = new LinkedHashMap<>();
+        if (port != null) {
+            log.info("Timing REST endpoints on port {}", port);
+            endpoints = measureEndpoints("http://localhost:" + port, games, sessionIds, scheduleIds);
+        }
+        
+        Path report = Paths.get(reportFile).toAbsolutePath();
+        Files.writeString(report, render(queries, endpoints));
+        log.info("Latency report written to {}", report);
+        
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+    
+    private Map<String, Result> measureQueries(LocalDateTime now, List<Game> games, List<Long> sessionIds) {
+        Map<String, Result> results = new LinkedHashMap<>();
+        // Whole-table aggregations get a tenth of the runs so the suite finishes in minutes
+        int heavy = Math.max(3, iterations / 10);
+        IntFunction<Game> game = i -> games.get(i % games.size());
+        ScheduleType[] types = ScheduleType.values();
+        DayOfWeek[] days = DayOfWeek.values();
+        LocalDate today = now.toLocalDate();
+        
+        // Parameters shift with the iteration so H2 cannot hand back the previous result
+        time(results, "GamingSessionRepository.findById", iterations, i -> sessionRepository.findById(sessionIds.get(i % sessionIds.size())));
+        time(results, "GamingSessionRepository.findWithGameById", iterations, i -> sessionRepository.findWithGameById(sessionIds.get(i % sessionIds.size())));
+        time(results, "GamingSessionRepository.findPageByGame", iterations, i -> sessionRepository.findPageByGame(game.apply(i).getId(),
+                PageCursor.FIRST_DESCENDING.time(), PageCursor.FIRST_DESCENDING.id(), PageRequest.of(0, 51)));
+        time(results, "GamingSessionRepository.findPageSince", iterations, i -> sessionRepository.findPageSince(now.minusDays(7).minusHours(i),
+                PageCursor.FIRST_DESCENDING.time(), PageCursor.FIRST_DESCENDING.id(), PageRequest.of(0, 51)));
+        time(results, "GamingSessionRepository.findActiveSessionsWithGame", iterations, i -> sessionRepository.findActiveSessionsWithGame());
+        time(results, "GamingSessionRepository.streamForExport(1 day)", iterations, i -> transactionTemplate.executeWithoutResult(status -> {
+            try (var sessions = sessionRepository.streamForExport(now.minusDays(31).minusHours(i), now.minusDays(30).minusHours(i))) {
+                sessions.count();
+            }
+        }));
+        time(results, "GamingSessionRepository.streamForExportByGame(30 days)", iterations, i -> transactionTemplate.executeWithoutResult(status -> {
+            try (var sessions = sessionRepository.streamForExportByGame(game.apply(i).getId(), now.minusDays(30), now)) {
+                sessions.count();
+            }
+        }));
+        time(results, "GamingSessionRepository.findAverageSessionDurationByGame", iterations, i -> sessionRepository.findAverageSessionDurationByGame(game.apply(i)));
+        time(results, "GamingSessionRepository.findAverageFpsByGame", iterations, i -> sessionRepository.findAverageFpsByGame(game.apply(i)));
+        time(results, "GamingSessionRepository.countSessionsSince(7 days)", iterations, i -> sessionRepository.countSessionsSince(now.minusDays(7).minusMinutes(i)));
+        time(results, "GamingSessionRepository.getTotalPlaytimeSince(7 days)", iterations, i -> sessionRepository.getTotalPlaytimeSince(now.minusDays(7).minusMinutes(i)));
+        time(results, "GamingSessionRepository.findSessionsWithPerformanceRating", heavy, i -> sessionRepository.findSessionsWithPerformanceRating(game.apply(i)));
+        time(results, "GamingSessionRepository.summarizeSessionsByDayAndGame", heavy, i -> sessionRepository.summarizeSessionsByDayAndGame());
+        time(results, "GamingSessionRepository.count", heavy, i -> sessionRepository.count());
+        
+        time(results, "GamingScheduleRepository.findById", iterations, i -> scheduleRepository.findById((long) i + 1));
+        time(results, "GamingScheduleRepository.findUpcomingPage", iterations, i -> scheduleRepository.findUpcomingPage(now.plusHours(i), 0L, PageRequest.of(0, 51)));
+        time(results, "GamingScheduleRepository.findSchedulesBetween(1 week)", iterations, i ->
+                scheduleRepository.findSchedulesBetween(now.plusHours(i), now.plusDays(7).plusHours(i)));
+        time(results, "GamingScheduleRepository.findPendingReminders", heavy, i ->
+                scheduleRepository.findPendingReminders(now.plusMinutes(i), List.of(ScheduleType.DAILY, ScheduleType.WEEKLY)));
+        time(results, "GamingScheduleRepository.countCompletedSchedulesSince", iterations, i -> scheduleRepository.countCompletedSchedulesSince(now.minusDays(30).minusHours(i)));
+        time(results, "GamingScheduleRepository.findOverdueSchedules", heavy, i -> scheduleRepository.findOverdueSchedules(now.minusMinutes(i)));
+        time(results, "GamingScheduleRepository.countByIsCompletedFalse", heavy, i -> scheduleRepository.countByIsCompletedFalse());
+        time(results, "GamingScheduleRepository.countUpcomingByType", heavy, i -> scheduleRepository.countUpcomingByType());
+        time(results, "GamingScheduleRepository.findByTypeAndIsCompletedFalse", heavy, i -> scheduleRepository.findByTypeAndIsCompletedFalse(types[i % types.length]));
+        time(results, "GamingScheduleRepository.findByDayOfWeekAndType", heavy, i -> scheduleRepository.findByDayOfWeekAndType(days[i % days.length], ScheduleType.WEEKLY));
+        time(results, "GamingScheduleRepository.countCompletedSchedulesByDay", heavy, i -> scheduleRepository.countCompletedSchedulesByDay());
+        
+        time(results, "GameRepository.findById", iterations, i -> gameRepository.findById(game.apply(i).getId()));
+        time(results, "GameRepository.findByNameIgnoreCase", iterations, i -> gameRepository.findByNameIgnoreCase(game.apply(i).getName().toLowerCase()));
+        time(results, "GameRepository.findByIdGreaterThanOrderByIdAsc", iterations, i -> gameRepository.findByIdGreaterThanOrderByIdAsc((long) i, PageRequest.of(0, 51)));
+        time(results, "GameRepository.findByGenreIgnoreCaseAndIdGreaterThanOrderByIdAsc", iterations, i ->
+                gameRepository.findByGenreIgnoreCaseAndIdGreaterThanOrderByIdAsc(game.apply(i).getGenre(), 0L, PageRequest.of(0, 51)));
+        time(results, "GameRepository.findByPlatformIgnoreCaseAndIdGreaterThanOrderByIdAsc", iterations, i ->
+                gameRepository.findByPlatformIgnoreCaseAndIdGreaterThanOrderByIdAsc(game.apply(i).getPlatform(), 0L, PageRequest.of(0, 51)));
+        time(results, "GameRepository.findAllGenres", iterations, i -> gameRepository.findAllGenres());
+        time(results, "GameRepository.findAllPlatforms", iterations, i -> gameRepository.findAllPlatforms());
+        time(results, "GameRepository.findMostPlayedGames", heavy, i -> gameRepository.findMostPlayedGames(PageRequest.of(0, 10)));
+        
+        time(results, "DailyRollupRepository.findByDayBetweenOrderByDayAsc(30 days)", iterations, i ->
+                rollupRepository.findByDayBetweenOrderByDayAsc(today.minusDays(30 + i), today.minusDays(i)));
+        time(results, "DailyGameRollupRepository.findByDayBetween(30 days)", iterations, i ->
+                gameRollupRepository.findByDayBetween(today.minusDays(30 + i), today.minusDays(i)));
+        time(results, "DailyGameRollupRepository.findByGameId", iterations, i -> gameRollupRepository.findByGameId(game.apply(i).getId()));
+        return results;
+    }
+    
+    private Map<String, Result> measureEndpoints(String baseUrl, List<Game> games, List<Long> sessionIds, List<Long> scheduleIds) {
+        LocalDate today = LocalDate.now();
+        Map<String, IntFunction<String>> endpoints = new LinkedHashMap<>();
+        IntFunction<Long> gameId = i -> games.get(i % games.size()).getId();
+        endpoints.put("GET /api/games", i -> "/api/games");
+        endpoints.put("GET /api/games/{id}", i -> "/api/games/" + gameId.apply(i));
+        endpoints.put("GET /api/games/genre/{genre}", i -> "/api/games/genre/" + games.get(i % games.size()).getGenre().replace(" ", "%20"));
+        endpoints.put("GET /api/games/most-played", i -> "/api/games/most-played");
+        endpoints.put("GET /api/sessions/{id}", i -> "/api/sessions/" + sessionIds.get(i % sessionIds.size()));
+        endpoints.put("GET /api/sessions/game/{gameId}", i -> "/api/sessions/game/" + gameId.apply(i));
+        endpoints.put("GET /api/sessions/active", i -> "/api/sessions/active");
+        endpoints.put("GET /api/sessions/recent/7", i -> "/api/sessions/recent/7");
+        endpoints.put("GET /api/sessions/analytics/overall", i -> "/api/sessions/analytics/overall");
+        endpoints.put("GET /api/analytics/game/{gameId}", i -> "/api/analytics/game/" + gameId.apply(i));
+        endpoints.put("GET /api/analytics/overall", i -> "/api/analytics/overall");
+        endpoints.put("GET /api/analytics/range (30 days)", i ->
+                "/api/analytics/range?from=" + today.minusDays(30 + i) + "&to=" + today.minusDays(i));
+        endpoints.put("GET /api/schedules", i -> "/api/schedules");
+        endpoints.put("GET /api/schedules/today", i -> "/api/schedules/today");
+        endpoints.put("GET /api/schedules/week", i -> "/api/schedules/week");
+        endpoints.put("GET /api/schedules/analytics", i -> "/api/schedules/analytics");
+        endpoints.put("GET /api/schedules/recommendations", i -> "/api/schedules/recommendations");
+        endpoints.put("GET /api/schedules/{id}/conflicts", i -> "/api/schedules/" + scheduleIds.get(i % scheduleIds.size()) + "/conflicts");
+        endpoints.put("GET /api/system/metrics", i -> "/api/system/metrics");
+        endpoints.put("GET / (dashboard page)", i -> "/");
+        
+        Map<String, Result> results = new LinkedHashMap<>();
+        endpoints.forEach((name, path) -> time(results, name, iterations, i -> get(baseUrl + path.apply(i))));
+        return results;
+    }
+    
+    private void get(String url) {
+        try {
+            HttpResponse<Void> response = httpClient.send(HttpRequest.newBuilder(URI.create(url)).GET().build(),
+                    HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 400) {
+                throw new RuntimeException("HTTP " + response.statusCode() + " from " + url);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+    
+    // A failing entry is reported rather than aborting the whole run
+    private void time(Map<String, Result> results, String name, int runs, IntConsumer operation) {
+        try {
+            results.put(name, new Result(LatencyStats.measure(runs, operation), null));
+        } catch (RuntimeException e) {
+            log.warn("{} failed: {}", name, e.getMessage());
+            results.put(name, new Result(null, e.getClass().getSimpleName() + ": " + e.getMessage()));
+        }
+    }
+    
+    // Up to 1000 ids spread across the table, so lookups do not all hit the same pages
+    private List<Long> sampleIds(String table) {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM " + table + " ORDER BY id", Long.class);
+        if (ids.isEmpty()) {
+            return List.of(0L);
+        }
+        int step = Math.max(1, ids.size() / 1000);
+        return IntStream.range(0, ids.size() / step).mapToObj(i -> ids.get(i * step)).toList();
+    }
+    
+    private String render(Map<String, Result> queries, Map<String, Result> endpoints) {
+        StringBuilder report = new StringBuilder();
+        report.append("# Latency report\n\n");
+        report.append(String.format("Generated %s against %d sessions, %d schedules and %d games. Times in microseconds.%n",
+                LocalDateTime.now().withNano(0), sessionRepository.count(), scheduleRepository.count(), gameRepository.count()));
+        report.append("\n## Repository queries\n\n");
+        renderTable(report, queries);
+        if (!endpoints.isEmpty()) {
+            report.append("\n## REST endpoints\n\n");
+            renderTable(report, endpoints);
+        }
+        return report.toString();
+    }
+    
+    private static void renderTable(StringBuilder report, Map<String, Result> results) {
+        report.append("| Operation | Runs | p50 | p95 | p99 | Max | Mean |\n");
+        report.append("|---|---:|---:|---:|---:|---:|---:|\n");
+        results.forEach((name, result) -> {
+            LatencyStats stats = result.stats();
+            if (stats == null) {
+                report.append(String.format("| %s | failed: %s | | | | | |%n", name, result.error().replace("|", "\\|")));
+            } else {
+                report.append(String.format("| %s | %d | %.1f | %.1f | %.1f | %.1f | %.1f |%n",
+                        name, stats.samples(), stats.p50(), stats.p95(), stats.p99(), stats.max(), stats.mean()));
+            }
+        });
+    }
+    
+    private record Result(LatencyStats stats, String error) {
+    }
+}
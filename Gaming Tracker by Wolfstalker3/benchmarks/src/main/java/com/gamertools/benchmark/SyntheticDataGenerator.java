@@ -0,0 +1,194 @@
+package com.gamertools.benchmark;
+
+import com.gamertools.model.Game;
+import com.gamertools.model.GamingSchedule;
+import com.gamertools.model.GamingSession;
+import com.gamertools.service.DailyRollupService;
+import com.gamertools.service.GamingScheduleService;
+import com.gamertools.service.PerformanceAnalyticsService;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.LongFunction;
+
+/**
+ * Fills the database with a {@link SyntheticDataset} through JDBC batches, topping each table
+ * up to the configured count. Sizes, seed and history length come from the
+ * {@code gaming.synthetic.*} properties. Only created for the profiles that load the dataset,
+ * and never together with the "persistent" profile, whose database holds the user's own data.
+ */
+@Component
+@Profile({"range-benchmark", "repository-benchmark", "synthetic-data"})
+public class SyntheticDataGenerator {
+    
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+    
+    private static final int BATCH_SIZE = 5000;
+    
+    private static final String INSERT_GAME = "INSERT INTO games (name, genre, platform, created_at) VALUES (?, ?, ?, ?)";
+    
+    private static final String INSERT_SESSION = "INSERT INTO gaming_sessions (game_id, start_time, end_time, duration_minutes, " +
+            "kills, deaths, assists, accuracy, score, avg_fps, avg_cpu_usage, avg_gpu_usage, avg_memory_usage, avg_temperature, " +
+            "mood_before, mood_after, performance_rating) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private static final String INSERT_SCHEDULE = "INSERT INTO gaming_schedules (title, game_id, scheduled_time, " +
+            "estimated_duration_minutes, type, day_of_week, is_completed, reminder_sent, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private DailyRollupService rollupService;
+    
+    @Autowired
+    private PerformanceAnalyticsService analyticsService;
+    
+    @Autowired
+    private GamingScheduleService scheduleService;
+    
+    @Autowired
+    private Environment environment;
+    
+    @Value("${gaming.synthetic.seed:42}")
+    private long seed;
+    
+    @Value("${gaming.synthetic.games:500}")
+    private int gameCount;
+    
+    @Value("${gaming.synthetic.sessions:500000}")
+    private int sessionCount;
+    
+    @Value("${gaming.synthetic.schedules:100000}")
+    private int scheduleCount;
+    
+    @Value("${gaming.synthetic.history-days:1095}")
+    private int historyDays;
+    
+    @PostConstruct
+    public void refusePersistentDatabase() {
+        if (environment.acceptsProfiles(Profiles.of("persistent"))) {
+            throw new IllegalStateException("Synthetic data must not be loaded into the persistent database");
+        }
+    }
+    
+    public void populate() {
+        populate(gameCount, sessionCount, scheduleCount);
+    }
+    
+    /**
+     * Adds rows until each table holds at least the given number. Runs against an empty
+     * database produce identical data for the same seed; rows that already exist are kept.
+     */
+    public void populate(int games, int sessions, int schedules) {
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        SyntheticDataset dataset = new SyntheticDataset(seed, now, historyDays);
+        Timestamp createdAt = Timestamp.valueOf(now);
+        
+        // Names are looked up case-insensitively as unique keys, so titles already present get a synthetic one
+        Set<String> names = new HashSet<>(jdbcTemplate.queryForList("SELECT UPPER(name) FROM games", String.class));
+        insert(INSERT_GAME, count("games"), games, index -> {
+            Game game = dataset.game(Math.toIntExact(index));
+            String name = names.add(game.getName().toUpperCase()) ? game.getName() : "Synthetic Game " + index;
+            return new Object[] {name, game.getGenre(), game.getPlatform(), createdAt};
+        });
+        List<Game> gameList = loadGames();
+        
+        insert(INSERT_SESSION, count("gaming_sessions"), sessions, index -> {
+            GamingSession session = dataset.session(index, gameList);
+            return new Object[] {
+                    session.getGame().getId(),
+                    Timestamp.valueOf(session.getStartTime()),
+                    Timestamp.valueOf(session.getEndTime()),
+                    session.getDurationMinutes(),
+                    session.getKills(),
+                    session.getDeaths(),
+                    session.getAssists(),
+                    session.getAccuracy(),
+                    session.getScore(),
+                    session.getAvgFps(),
+                    session.getAvgCpuUsage(),
+                    session.getAvgGpuUsage(),
+                    session.getAvgMemoryUsage(),
+                    session.getAvgTemperature(),
+                    nameOf(session.getMoodBefore()),
+                    nameOf(session.getMoodAfter()),
+                    nameOf(session.getPerformanceRating())
+            };
+        });
+        
+        insert(INSERT_SCHEDULE, count("gaming_schedules"), schedules, index -> {
+            GamingSchedule schedule = dataset.schedule(index, gameList);
+            return new Object[] {
+                    schedule.getTitle(),
+                    schedule.getGame() != null ? schedule.getGame().getId() : null,
+                    Timestamp.valueOf(schedule.getScheduledTime()),
+                    schedule.getEstimatedDurationMinutes(),
+                    nameOf(schedule.getType()),
+                    nameOf(schedule.getDayOfWeek()),
+                    schedule.isCompleted(),
+                    schedule.isReminderSent(),
+                    createdAt
+            };
+        });
+        
+        // The rows bypassed the services, so derived state is recomputed from the tables
+        rollupService.rebuild();
+        analyticsService.rebuildAggregates();
+        scheduleService.rebuildConflictIndex();
+        scheduleService.rebuildReminders();
+        log.info("Synthetic data ready: {} games, {} sessions, {} schedules (seed {}) in {} ms",
+                count("games"), count("gaming_sessions"), count("gaming_schedules"), seed,
+                (System.nanoTime() - started) / 1_000_000);
+    }
+    
+    private void insert(String sql, long existing, long target, LongFunction<Object[]> row) {
+        if (existing >= target) {
+            return;
+        }
+        log.info("Generating {} rows for: {}", target - existing, sql.substring(0, sql.indexOf('(')).trim());
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (long index = existing; index < target; index++) {
+            batch.add(row.apply(index));
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+    
+    // Games in id order, which is the popularity order the dataset ranks them by
+    private List<Game> loadGames() {
+        return jdbcTemplate.query("SELECT id, name, genre, platform FROM games ORDER BY id", (rs, rowNum) -> {
+            Game game = new Game(rs.getString("name"), rs.getString("genre"), rs.getString("platform"));
+            game.setId(rs.getLong("id"));
+            return game;
+        });
+    }
+    
+    private int count(String table) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+        return count != null ? count : 0;
+    }
+    
+    private static String nameOf(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+}
@@ -0,0 +1,25 @@
+package com.gamertools.benchmark;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the synthetic dataset at startup so the application can be explored or load tested
+ * at realistic volumes.
+ *
+ * Run with: java -jar target/benchmarks-app.jar --spring.profiles.active=synthetic-data
+ */
+@Component
+@Profile("synthetic-data")
+public class SyntheticDataSeeder implements CommandLineRunner {
+    
+    @Autowired
+    private SyntheticDataGenerator dataGenerator;
+    
+    @Override
+    public void run(String... args) {
+        dataGenerator.populate();
+    }
+}
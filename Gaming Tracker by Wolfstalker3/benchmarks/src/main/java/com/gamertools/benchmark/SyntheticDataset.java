@@ -0,0 +1,231 @@
+package com.gamertools.benchmark;
+
+import com.gamertools.model.Game;
+import com.gamertools.model.GamingSchedule;
+import com.gamertools.model.GamingSession;
+import com.gamertools.model.MoodLevel;
+import com.gamertools.model.PerformanceRating;
+import com.gamertools.model.ScheduleType;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic games, sessions and schedules. Every row is derived from the seed
+ * and its own index alone, so a dataset can be generated in any order or topped up later
+ * and still come out identical.
+ *
+ * Sessions start mostly in the evening (later and more spread out at weekends), last a
+ * log-normally distributed time around 80 minutes, and are spread across games by a Zipf
+ * popularity curve. Schedules cover the recent past and the next two months; most past
+ * ones are completed.
+ */
+public final class SyntheticDataset {
+    
+    private static final String[][] CATALOG = {
+            {"Valorant", "FPS", "PC"},
+            {"League of Legends", "MOBA", "PC"},
+            {"Counter-Strike 2", "FPS", "PC"},
+            {"Fortnite", "Battle Royale", "PC"},
+            {"Rocket League", "Sports", "PC"},
+            {"Elden Ring", "RPG", "PlayStation 5"},
+            {"Apex Legends", "Battle Royale", "PC"},
+            {"Dota 2", "MOBA", "PC"},
+            {"Minecraft", "Sandbox", "PC"},
+            {"Cyberpunk 2077", "RPG", "PC"},
+            {"Overwatch 2", "FPS", "PC"},
+            {"EA Sports FC 24", "Sports", "PlayStation 5"},
+            {"The Witcher 3", "RPG", "PC"},
+            {"Call of Duty: Warzone", "Battle Royale", "Xbox Series X"},
+            {"Baldur's Gate 3", "RPG", "PC"},
+            {"Stardew Valley", "Simulation", "Nintendo Switch"},
+            {"Hades", "Roguelike", "Nintendo Switch"},
+            {"Forza Horizon 5", "Racing", "Xbox Series X"},
+            {"StarCraft II", "Strategy", "PC"},
+            {"Street Fighter 6", "Fighting", "PlayStation 5"}
+    };
+    
+    private static final String[] GENRES = {"FPS", "MOBA", "RPG", "Sports", "Battle Royale", "Strategy",
+            "Racing", "Simulation", "Fighting", "Sandbox", "Roguelike", "Puzzle"};
+    
+    private static final String[] PLATFORMS = {"PC", "PC", "PC", "PlayStation 5", "Xbox Series X", "Nintendo Switch"};
+    
+    private static final Set<String> COMBAT_GENRES = Set.of("FPS", "MOBA", "Battle Royale", "Fighting");
+    
+    // Relative likelihood of a session starting in each hour of the day
+    private static final double[] WEEKDAY_HOURS = {
+            2, 1, 0.5, 0.2, 0.1, 0.1, 0.3, 0.8, 1, 1, 1, 1.5,
+            2.5, 2, 1.5, 2, 3, 5, 8, 10, 11, 10, 7, 4};
+    private static final double[] WEEKEND_HOURS = {
+            4, 2.5, 1.5, 0.6, 0.3, 0.2, 0.2, 0.4, 1, 2, 3.5, 5,
+            6, 6.5, 6.5, 6.5, 7, 7.5, 8.5, 9.5, 10, 9.5, 8, 6};
+    
+    private static final ScheduleType[] SCHEDULE_TYPES = {
+            ScheduleType.ONE_TIME, ScheduleType.DAILY, ScheduleType.WEEKLY,
+            ScheduleType.TOURNAMENT, ScheduleType.RAID, ScheduleType.PRACTICE};
+    private static final double[] SCHEDULE_TYPE_WEIGHTS = {50, 10, 15, 5, 10, 10};
+    
+    private static final long GAME_STREAM = 1;
+    private static final long SESSION_STREAM = 2;
+    private static final long SCHEDULE_STREAM = 3;
+    
+    private final long seed;
+    private final LocalDate today;
+    private final int historyDays;
+    
+    private double[] popularity = new double[0];
+    
+    /**
+     * @param historyDays how far back sessions go; schedules reach back a quarter of that
+     */
+    public SyntheticDataset(long seed, LocalDateTime now, int historyDays) {
+        this.seed = seed;
+        this.today = now.toLocalDate();
+        this.historyDays = Math.max(1, historyDays);
+    }
+    
+    public Game game(int index) {
+        if (index < CATALOG.length) {
+            return new Game(CATALOG[index][0], CATALOG[index][1], CATALOG[index][2]);
+        }
+        SplittableRandom random = random(GAME_STREAM, index);
+        return new Game("Synthetic Game " + index, GENRES[random.nextInt(GENRES.length)],
+                PLATFORMS[random.nextInt(PLATFORMS.length)]);
+    }
+    
+    /**
+     * A finished session for one of {@code games}, chosen by popularity. List position is
+     * the popularity rank, so pass the games in a stable order.
+     */
+    public GamingSession session(long index, List<Game> games) {
+        SplittableRandom random = random(SESSION_STREAM, index);
+        int gameIndex = pickGame(random, games.size());
+        Game game = games.get(gameIndex);
+        
+        // Starting yesterday or earlier keeps every session finished
+        LocalDate day = today.minusDays(1 + random.nextInt(historyDays));
+        int hour = pick(random, isWeekend(day) ? WEEKEND_HOURS : WEEKDAY_HOURS);
+        LocalDateTime start = day.atTime(hour, random.nextInt(60));
+        long duration = Math.max(5, Math.min(720, Math.round(Math.exp(Math.log(80) + 0.55 * random.nextGaussian()))));
+        
+        GamingSession session = new GamingSession(game);
+        session.setStartTime(start);
+        session.setEndTime(start.plusMinutes(duration));
+        session.setDurationMinutes(duration);
+        
+        if (COMBAT_GENRES.contains(game.getGenre())) {
+            session.setKills(Math.max(0, (int) Math.round(12 + 6 * random.nextGaussian())));
+            session.setDeaths(Math.max(0, (int) Math.round(10 + 4 * random.nextGaussian())));
+            session.setAssists(Math.max(0, (int) Math.round(6 + 4 * random.nextGaussian())));
+            session.setAccuracy(round(Math.max(5, Math.min(95, 45 + 12 * random.nextGaussian()))));
+            session.setScore(Math.max(0, (int) Math.round(3000 + 1200 * random.nextGaussian())));
+        }
+        
+        // Each game has its own typical frame rate; long sessions run the machine hotter
+        double baseFps = 60 + (gameIndex * 37) % 180;
+        double heat = Math.min(1, duration / 240.0);
+        session.setAvgFps(round(Math.max(20, baseFps + 0.08 * baseFps * random.nextGaussian())));
+        session.setAvgCpuUsage(round(clamp(40 + 10 * heat + 12 * random.nextGaussian(), 5, 100)));
+        session.setAvgGpuUsage(round(clamp(60 + 10 * heat + 15 * random.nextGaussian(), 5, 100)));
+        session.setAvgMemoryUsage(round(clamp(55 + 10 * random.nextGaussian(), 10, 98)));
+        session.setAvgTemperature(round(clamp(62 + 12 * heat + 5 * random.nextGaussian(), 35, 100)));
+        
+        // Most sessions get rated; the mood afterwards follows how the session went
+        if (random.nextInt(100) < 85) {
+            int rating = (int) clamp(Math.round(3.2 + random.nextGaussian()), 1, 5);
+            int moodBefore = (int) clamp(Math.round(3.5 + 0.8 * random.nextGaussian()), 1, 5);
+            int moodAfter = (int) clamp(moodBefore + Math.round((rating - 3) * 0.7 + 0.6 * random.nextGaussian()), 1, 5);
+            session.setPerformanceRating(PerformanceRating.values()[rating - 1]);
+            session.setMoodBefore(MoodLevel.values()[moodBefore - 1]);
+            session.setMoodAfter(MoodLevel.values()[moodAfter - 1]);
+        }
+        return session;
+    }
+    
+    /**
+     * A schedule between a quarter of the history window ago and 60 days ahead. One in ten
+     * has no game.
+     */
+    public GamingSchedule schedule(long index, List<Game> games) {
+        SplittableRandom random = random(SCHEDULE_STREAM, index);
+        int pastDays = Math.max(1, historyDays / 4);
+        LocalDate day = today.plusDays(random.nextInt(pastDays + 60) - pastDays);
+        int hour = pick(random, isWeekend(day) ? WEEKEND_HOURS : WEEKDAY_HOURS);
+        LocalDateTime time = day.atTime(hour, 15 * random.nextInt(4));
+        ScheduleType type = SCHEDULE_TYPES[pick(random, SCHEDULE_TYPE_WEIGHTS)];
+        Game game = games.isEmpty() || random.nextInt(10) == 0 ? null : games.get(pickGame(random, games.size()));
+        
+        GamingSchedule schedule = new GamingSchedule(
+                (game != null ? game.getName() + " " : "") + type.getDisplayName(), time, type);
+        schedule.setGame(game);
+        schedule.setEstimatedDurationMinutes(type == ScheduleType.TOURNAMENT ? 240 : 30 + 15 * random.nextInt(8));
+        if (type == ScheduleType.WEEKLY) {
+            schedule.setDayOfWeek(day.getDayOfWeek());
+        }
+        boolean past = day.isBefore(today);
+        schedule.setCompleted(past && random.nextInt(100) < 85);
+        schedule.setReminderSent(past);
+        return schedule;
+    }
+    
+    // Mixes the seed, a per-kind stream id and the row index into an independent generator
+    private SplittableRandom random(long stream, long index) {
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + stream * 0xBF58476D1CE4E5B9L + index);
+    }
+    
+    // Zipf-like: the game at rank r is picked with weight 1 / (r + 1)
+    private int pickGame(SplittableRandom random, int gameCount) {
+        if (popularity.length != gameCount) {
+            double[] cumulative = new double[gameCount];
+            double total = 0;
+            for (int i = 0; i < gameCount; i++) {
+                total += 1.0 / (i + 1);
+                cumulative[i] = total;
+            }
+            popularity = cumulative;
+        }
+        double target = random.nextDouble() * popularity[gameCount - 1];
+        int low = 0;
+        int high = gameCount - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (popularity[mid] < target) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    private static int pick(SplittableRandom random, double[] weights) {
+        double total = 0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        double target = random.nextDouble() * total;
+        for (int i = 0; i < weights.length; i++) {
+            target -= weights[i];
+            if (target < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+    
+    private static boolean isWeekend(LocalDate day) {
+        return day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY;
+    }
+    
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+    
+    private static double round(double value) {
+        return Math.round(value * 10.0) / 10.0;
+    }
+}
@@ -0,0 +1,80 @@
+package com.gamertools.jmh;
+
+import com.gamertools.model.Game;
+import com.gamertools.model.GamingSession;
+import com.gamertools.repository.GamingSessionRepository;
+import com.gamertools.repository.SessionFrameTimesRepository;
+import com.gamertools.service.FrameTimeService;
+import com.gamertools.service.PerformanceAnalyticsService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wall-clock time of /api/analytics/games for a page of {@code games} games on 1 to 8
+ * analytics workers. Every aggregate is evicted first, so each game folds its whole
+ * history of {@code sessionsPerGame} sessions. Up to the machine's core count the time
+ * should fall roughly in proportion to the number of workers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class AllGamesAnalyticsBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    @Param({"50"})
+    public int games;
+
+    @Param({"10000"})
+    public int sessionsPerGame;
+
+    private PerformanceAnalyticsService analyticsService;
+    private List<Game> gameList;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        gameList = new ArrayList<>(games);
+        Map<Long, List<GamingSession>> histories = new HashMap<>();
+        for (long id = 1; id <= games; id++) {
+            Game game = SyntheticData.game(id);
+            gameList.add(game);
+            histories.put(id, SyntheticData.sessions(game, sessionsPerGame, 365, now));
+        }
+
+        GamingSessionRepository sessionRepository = Fakes.repository(GamingSessionRepository.class,
+                Map.of("findSessionsWithPerformanceRating", args -> histories.get(((Game) args[0]).getId())));
+        analyticsService = new PerformanceAnalyticsService();
+        Fakes.inject(analyticsService, "sessionRepository", sessionRepository);
+        // No frame times stored, so the game histogram is empty and cached after the first read
+        FrameTimeService frameTimeService = new FrameTimeService();
+        Fakes.inject(frameTimeService, "frameTimesRepository", Fakes.repository(SessionFrameTimesRepository.class,
+                Map.of("findHistogramsByGameId", args -> List.of())));
+        Fakes.inject(analyticsService, "frameTimeService", frameTimeService);
+        Fakes.inject(analyticsService, "workerThreads", threads);
+        Fakes.inject(analyticsService, "queueCapacity", games);
+        Fakes.inject(analyticsService, "gameTimeoutMs", 60_000L);
+        analyticsService.startWorkers();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        analyticsService.stopWorkers();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> allGamesCold() {
+        analyticsService.rebuildAggregates();
+        return analyticsService.getPerformanceAnalyticsForGames(gameList);
+    }
+}
@@ -0,0 +1,116 @@
+package com.gamertools.jmh;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files (written with {@code -rf json}) benchmark by benchmark.
+ * A change is flagged when the two scores' error intervals do not overlap.
+ *
+ * <pre>java -cp target/benchmarks.jar com.gamertools.jmh.CompareResults baseline.json candidate.json</pre>
+ */
+public final class CompareResults {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    private CompareResults() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: CompareResults <baseline.json> <candidate.json>");
+            System.exit(2);
+        }
+        Map<String, JSONObject> baseline = load(Path.of(args[0]));
+        Map<String, JSONObject> candidate = load(Path.of(args[1]));
+
+        System.out.printf("%-70s %14s %14s %9s  %s%n", "Benchmark", "Baseline", "Candidate", "Change", "Alloc B/op");
+        for (Map.Entry<String, JSONObject> entry : baseline.entrySet()) {
+            JSONObject after = candidate.get(entry.getKey());
+            if (after == null) {
+                System.out.printf("%-70s %14s%n", entry.getKey(), "(missing in candidate)");
+                continue;
+            }
+            JSONObject before = entry.getValue();
+            JSONObject beforeMetric = before.getJSONObject("primaryMetric");
+            JSONObject afterMetric = after.getJSONObject("primaryMetric");
+            double beforeScore = beforeMetric.getDouble("score");
+            double afterScore = afterMetric.getDouble("score");
+            double change = beforeScore != 0 ? (afterScore - beforeScore) / beforeScore * 100 : 0;
+
+            boolean higherIsBetter = "thrpt".equals(before.getString("mode"));
+            String verdict = "";
+            if (!overlaps(beforeMetric, afterMetric)) {
+                verdict = (afterScore > beforeScore) == higherIsBetter ? " better" : " WORSE";
+            }
+            System.out.printf("%-70s %14s %14s %+8.1f%%  %s%s%n",
+                    entry.getKey(),
+                    format(beforeMetric),
+                    format(afterMetric),
+                    change,
+                    allocation(before) + " -> " + allocation(after),
+                    verdict);
+        }
+        for (String key : candidate.keySet()) {
+            if (!baseline.containsKey(key)) {
+                System.out.printf("%-70s %14s%n", key, "(new)");
+            }
+        }
+    }
+
+    private static Map<String, JSONObject> load(Path file) throws IOException {
+        JSONArray results = new JSONArray(Files.readString(file));
+        Map<String, JSONObject> byKey = new TreeMap<>();
+        for (int i = 0; i < results.length(); i++) {
+            JSONObject result = results.getJSONObject(i);
+            byKey.put(key(result), result);
+        }
+        return byKey;
+    }
+
+    // Short benchmark name, parameters and mode, e.g. "PerformanceAnalyticsBenchmark.rebuildAndRead(sessions=1000) avgt"
+    private static String key(JSONObject result) {
+        String benchmark = result.getString("benchmark");
+        String name = benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1);
+        JSONObject json = result.optJSONObject("params");
+        Map<String, Object> params = json != null ? new TreeMap<>(json.toMap()) : Map.of();
+        StringBuilder key = new StringBuilder(name);
+        if (!params.isEmpty()) {
+            key.append('(');
+            params.forEach((param, value) -> key.append(param).append('=').append(value).append(','));
+            key.setCharAt(key.length() - 1, ')');
+        }
+        return key.append(' ').append(result.getString("mode")).toString();
+    }
+
+    private static boolean overlaps(JSONObject a, JSONObject b) {
+        double aError = errorOf(a);
+        double bError = errorOf(b);
+        return a.getDouble("score") - aError <= b.getDouble("score") + bError
+                && b.getDouble("score") - bError <= a.getDouble("score") + aError;
+    }
+
+    // JMH writes "NaN" when there were too few iterations to estimate the error
+    private static double errorOf(JSONObject metric) {
+        double error = metric.optDouble("scoreError", 0);
+        return Double.isNaN(error) ? 0 : error;
+    }
+
+    private static String format(JSONObject metric) {
+        return String.format("%.3f %s", metric.getDouble("score"), metric.getString("scoreUnit"));
+    }
+
+    private static String allocation(JSONObject result) {
+        JSONObject secondary = result.optJSONObject("secondaryMetrics");
+        if (secondary == null || !secondary.has(ALLOCATION_METRIC)) {
+            return "-";
+        }
+        return String.format("%.0f", secondary.getJSONObject(ALLOCATION_METRIC).getDouble("score"));
+    }
+}
@@ -0,0 +1,106 @@
+package com.gamertools.jmh;
+
+import com.gamertools.service.FrameTimeHistogram;
+import com.gamertools.service.FrameTimeService;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Frame time histograms: turning a posted batch of 1000 frames into a histogram, the
+ * percentile summary, the stored encoding both ways, and merging {@code sessions} session
+ * histograms into a game's, which is what a cold per-game read does instead of rescanning
+ * frames.
+ * Frame times are around 144 FPS with jitter and an occasional stutter.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FrameTimeHistogramBenchmark {
+
+    private static final int BATCH_FRAMES = 1000;
+
+    @Param({"100", "1000"})
+    public int sessions;
+
+    private List<Double> frameTimes;
+    private byte[] packedFrameTimes;
+    private List<byte[]> storedSessions;
+    private FrameTimeHistogram sessionHistogram;
+    private byte[] storedSession;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        frameTimes = new ArrayList<>(BATCH_FRAMES);
+        ByteBuffer packed = ByteBuffer.allocate(BATCH_FRAMES * FrameTimeService.BINARY_FRAME_BYTES);
+        for (int i = 0; i < BATCH_FRAMES; i++) {
+            double millis = frameTime(random);
+            frameTimes.add(millis);
+            packed.putFloat((float) millis);
+        }
+        packedFrameTimes = packed.array();
+
+        // Ten minutes at 144 FPS per session; the stored size depends on the spread, not the length
+        storedSessions = new ArrayList<>(sessions);
+        for (int s = 0; s < sessions; s++) {
+            FrameTimeHistogram histogram = new FrameTimeHistogram();
+            for (int i = 0; i < 144 * 600; i++) {
+                histogram.recordMillis(frameTime(random));
+            }
+            storedSessions.add(histogram.toBytes());
+            sessionHistogram = histogram;
+        }
+        storedSession = sessionHistogram.toBytes();
+    }
+
+    private static double frameTime(Random random) {
+        double millis = 6.9 + random.nextGaussian() * 0.6;
+        if (random.nextInt(500) == 0) {
+            millis += 20 + random.nextInt(60);
+        }
+        return Math.max(0.5, millis);
+    }
+
+    @Benchmark
+    public FrameTimeHistogram parseBatch() {
+        return FrameTimeService.parseMillis(frameTimes);
+    }
+
+    @Benchmark
+    public FrameTimeHistogram parsePackedBatch() {
+        return FrameTimeService.parsePacked(packedFrameTimes);
+    }
+
+    @Benchmark
+    public Map<String, Object> sessionSummary() {
+        return FrameTimeService.summary(sessionHistogram);
+    }
+
+    @Benchmark
+    public byte[] storeSession() {
+        return sessionHistogram.toBytes();
+    }
+
+    @Benchmark
+    public FrameTimeHistogram loadSession() {
+        return FrameTimeHistogram.fromBytes(storedSession);
+    }
+
+    @Benchmark
+    public Map<String, Object> mergeGame() {
+        FrameTimeHistogram merged = new FrameTimeHistogram();
+        for (byte[] stored : storedSessions) {
+            merged.add(FrameTimeHistogram.fromBytes(stored));
+        }
+        return FrameTimeService.summary(merged);
+    }
+}
@@ -0,0 +1,212 @@
+package com.gamertools.jmh;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load test against running instances of the application. At each
+ * concurrency level every simulated user sends one request, waits for the answer and sends
+ * the next, cycling through the dashboard page and the main read APIs, for a fixed time.
+ * The highest level whose p99 stays within the SLO with under 1% errors is reported as the
+ * instance's maximum concurrency.
+ *
+ * Give each instance a label, so the platform-thread and virtual-thread modes can be
+ * compared in one run:
+ *
+ * <pre>java -cp target/benchmarks.jar com.gamertools.jmh.LoadTest platform=http://localhost:8080 virtual=http://localhost:8081</pre>
+ *
+ * Options: {@code --levels 50,100,200} concurrency levels, {@code --duration 10} seconds per
+ * level, {@code --slo-ms 1000} p99 limit, {@code --timeout-ms 10000} per request.
+ */
+public final class LoadTest {
+
+    private static final List<String> PATHS = List.of(
+            "/",
+            "/api/dashboard",
+            "/api/games",
+            "/api/sessions/active",
+            "/api/schedules/today",
+            "/api/system/metrics",
+            "/api/analytics/overall",
+            "/api/games/most-played");
+
+    private static final double MAX_ERROR_RATE = 0.01;
+
+    private final HttpClient client;
+    private final Duration requestTimeout;
+
+    private LoadTest(Duration requestTimeout) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(requestTimeout)
+                .build();
+        this.requestTimeout = requestTimeout;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> targets = new LinkedHashMap<>();
+        int[] levels = {25, 50, 100, 200, 400, 800, 1600};
+        int durationSeconds = 10;
+        long sloMs = 1000;
+        long timeoutMs = 10_000;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--levels" -> levels = Arrays.stream(args[++i].split(",")).mapToInt(Integer::parseInt).toArray();
+                case "--duration" -> durationSeconds = Integer.parseInt(args[++i]);
+                case "--slo-ms" -> sloMs = Long.parseLong(args[++i]);
+                case "--timeout-ms" -> timeoutMs = Long.parseLong(args[++i]);
+                default -> {
+                    int split = args[i].indexOf('=');
+                    if (split > 0) {
+                        targets.put(args[i].substring(0, split), args[i].substring(split + 1));
+                    } else {
+                        targets.put(args[i], args[i]);
+                    }
+                }
+            }
+        }
+        if (targets.isEmpty()) {
+            System.err.println("Usage: LoadTest [label=]<base-url>... [--levels 25,50,100] [--duration 10] [--slo-ms 1000] [--timeout-ms 10000]");
+            System.exit(2);
+        }
+
+        LoadTest loadTest = new LoadTest(Duration.ofMillis(timeoutMs));
+        Map<String, Integer> maxConcurrency = new LinkedHashMap<>();
+        for (Map.Entry<String, String> target : targets.entrySet()) {
+            String baseUrl = target.getValue().replaceAll("/+$", "");
+            System.out.printf("%n%s (%s)%n", target.getKey(), baseUrl);
+            // Warm up the JIT, connection pools and caches before measuring
+            loadTest.run(baseUrl, levels[0], Duration.ofSeconds(Math.max(2, durationSeconds / 2)));
+
+            System.out.printf("%8s %9s %9s %9s %9s %9s %9s %8s%n",
+                    "Users", "Requests", "Req/s", "p50 ms", "p95 ms", "p99 ms", "Max ms", "Errors");
+            int best = 0;
+            for (int users : levels) {
+                Result result = loadTest.run(baseUrl, users, Duration.ofSeconds(durationSeconds));
+                System.out.printf("%8d %9d %9.0f %9.1f %9.1f %9.1f %9.1f %7.2f%%%n",
+                        users, result.requests(), result.throughput(), result.percentile(0.50),
+                        result.percentile(0.95), result.percentile(0.99), result.percentile(1.0),
+                        result.errorRate() * 100);
+                if (result.errorRate() < MAX_ERROR_RATE && result.percentile(0.99) <= sloMs) {
+                    best = users;
+                }
+            }
+            maxConcurrency.put(target.getKey(), best);
+        }
+
+        System.out.printf("%nMaximum concurrency with p99 <= %d ms and < %.0f%% errors:%n", sloMs, MAX_ERROR_RATE * 100);
+        maxConcurrency.forEach((label, users) -> System.out.printf("  %-12s %d%n", label, users));
+    }
+
+    private Result run(String baseUrl, int users, Duration duration) {
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<User> running = new ArrayList<>(users);
+        List<CompletableFuture<Void>> done = new ArrayList<>(users);
+        long started = System.nanoTime();
+        for (int i = 0; i < users; i++) {
+            User user = new User(baseUrl, i, deadline, errors);
+            running.add(user);
+            done.add(user.next());
+        }
+        CompletableFuture.allOf(done.toArray(new CompletableFuture<?>[0])).join();
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        int count = 0;
+        for (User user : running) {
+            count += user.count;
+        }
+        long[] latencies = new long[count];
+        int offset = 0;
+        for (User user : running) {
+            System.arraycopy(user.latencies, 0, latencies, offset, user.count);
+            offset += user.count;
+        }
+        Arrays.sort(latencies);
+        return new Result(latencies, errors.get(), seconds);
+    }
+
+    /**
+     * One simulated user. Its requests form a single chain of callbacks, so the latency
+     * buffer is only ever touched by one request at a time and needs no locking.
+     */
+    private final class User {
+
+        private final String baseUrl;
+        private final long deadline;
+        private final AtomicLong errors;
+        private int path;
+        private long[] latencies = new long[256];
+        private int count;
+
+        User(String baseUrl, int index, long deadline, AtomicLong errors) {
+            this.baseUrl = baseUrl;
+            this.path = index % PATHS.size();
+            this.deadline = deadline;
+            this.errors = errors;
+        }
+
+        CompletableFuture<Void> next() {
+            if (System.nanoTime() >= deadline) {
+                return CompletableFuture.completedFuture(null);
+            }
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + PATHS.get(path)))
+                    .timeout(requestTimeout)
+                    .GET()
+                    .build();
+            path = (path + 1) % PATHS.size();
+            long start = System.nanoTime();
+            return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, failure) -> {
+                        if (failure != null || response.statusCode() >= 400) {
+                            errors.incrementAndGet();
+                        } else {
+                            record(System.nanoTime() - start);
+                        }
+                        return null;
+                    })
+                    .thenCompose(ignored -> next());
+        }
+
+        private void record(long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+    }
+
+    private record Result(long[] sortedLatencies, long errors, double seconds) {
+
+        long requests() {
+            return sortedLatencies.length + errors;
+        }
+
+        double throughput() {
+            return sortedLatencies.length / seconds;
+        }
+
+        double errorRate() {
+            return requests() == 0 ? 0 : (double) errors / requests();
+        }
+
+        // In milliseconds; only successful requests count towards latency
+        double percentile(double fraction) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = Math.min(sortedLatencies.length - 1, (int) (sortedLatencies.length * fraction));
+            return sortedLatencies[index] / 1e6;
+        }
+    }
+}
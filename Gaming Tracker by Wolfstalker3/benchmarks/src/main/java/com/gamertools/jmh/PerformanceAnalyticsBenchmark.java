@@ -0,0 +1,88 @@
+package com.gamertools.jmh;
+
+import com.gamertools.model.Game;
+import com.gamertools.model.GamingSession;
+import com.gamertools.model.PerformanceRating;
+import com.gamertools.repository.GamingSessionRepository;
+import com.gamertools.repository.SessionFrameTimesRepository;
+import com.gamertools.service.FrameTimeService;
+import com.gamertools.service.GameAnalyticsAggregate;
+import com.gamertools.service.PerformanceAnalyticsService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-game analytics over a history of {@code sessions} rated sessions.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class PerformanceAnalyticsBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int sessions;
+
+    private PerformanceAnalyticsService analyticsService;
+    private Game game;
+    private GameAnalyticsAggregate.SessionSample editedBefore;
+    private GameAnalyticsAggregate.SessionSample editedAfter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        game = SyntheticData.game(1);
+        List<GamingSession> history = SyntheticData.sessions(game, sessions, 365, LocalDateTime.now());
+
+        GamingSessionRepository sessionRepository = Fakes.repository(GamingSessionRepository.class,
+                Map.of("findSessionsWithPerformanceRating", args -> history));
+        analyticsService = new PerformanceAnalyticsService();
+        Fakes.inject(analyticsService, "sessionRepository", sessionRepository);
+        // No frame times stored, so the game histogram is empty and cached after the first read
+        FrameTimeService frameTimeService = new FrameTimeService();
+        Fakes.inject(frameTimeService, "frameTimesRepository", Fakes.repository(SessionFrameTimesRepository.class,
+                Map.of("findHistogramsByGameId", args -> List.of())));
+        Fakes.inject(analyticsService, "frameTimeService", frameTimeService);
+
+        // An edit to the newest session, which sits inside the trend window
+        GamingSession edited = history.get(0);
+        editedBefore = GameAnalyticsAggregate.SessionSample.of(edited);
+        edited.setPerformanceRating(edited.getPerformanceRating() == PerformanceRating.EXCELLENT
+                ? PerformanceRating.POOR : PerformanceRating.EXCELLENT);
+        editedAfter = GameAnalyticsAggregate.SessionSample.of(edited);
+
+        analyticsService.getPerformanceAnalytics(game);
+    }
+
+    /**
+     * The common case: the game's aggregate is already in memory.
+     */
+    @Benchmark
+    public Map<String, Object> cachedAnalytics() {
+        return analyticsService.getPerformanceAnalytics(game);
+    }
+
+    /**
+     * The first read after startup or an eviction, which folds the whole history.
+     */
+    @Benchmark
+    public Map<String, Object> rebuildAndRead() {
+        analyticsService.evictAggregate(game.getId());
+        return analyticsService.getPerformanceAnalytics(game);
+    }
+
+    /**
+     * One incremental update as applied on a session edit. Alternates direction so the
+     * aggregate stays the same size across invocations.
+     */
+    @Benchmark
+    public void sessionEdit() {
+        analyticsService.onSessionChanged(game.getId(), analyticsService.beginSessionWrite(game.getId()), editedBefore, editedAfter);
+        analyticsService.onSessionChanged(game.getId(), analyticsService.beginSessionWrite(game.getId()), editedAfter, editedBefore);
+    }
+}
@@ -0,0 +1,105 @@
+package com.gamertools.jmh;
+
+import com.gamertools.dto.ScheduleOccurrence;
+import com.gamertools.model.GamingSchedule;
+import com.gamertools.model.ScheduleOccurrenceOverride;
+import com.gamertools.repository.GamingScheduleRepository;
+import com.gamertools.repository.ScheduleOccurrenceOverrideRepository;
+import com.gamertools.service.GamingScheduleService;
+import com.gamertools.service.ScheduleRecurrence;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expanding {@code series} running DAILY and WEEKLY schedules, started up to a year ago,
+ * into their occurrences over a window of {@code windowDays} from today. One occurrence
+ * in twenty in the window has an override (completed, cancelled or moved), as the override
+ * query would return them. {@code occurrences} is the full service call, building the
+ * sorted occurrence list; {@code countOccurrences} walks the same recurrences without
+ * materialising anything, the floor for the expansion itself.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class RecurringScheduleBenchmark {
+
+    @Param({"100", "1000"})
+    public int series;
+
+    @Param({"1", "7", "365"})
+    public int windowDays;
+
+    private GamingScheduleService scheduleService;
+    private List<ScheduleRecurrence> recurrences;
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        List<GamingSchedule> all = SyntheticData.recurringSchedules(series, 365, now);
+        from = now.toLocalDate().atStartOfDay();
+        to = from.plusDays(windowDays).minusSeconds(1);
+        List<ScheduleOccurrenceOverride> overrides = overrides(all, from.toLocalDate(), to.toLocalDate());
+
+        GamingScheduleRepository scheduleRepository = Fakes.repository(GamingScheduleRepository.class, Map.of(
+                "findSchedulesBetween", args -> new ArrayList<>(),
+                "findRecurringSeries", args -> new ArrayList<>(all)));
+        ScheduleOccurrenceOverrideRepository overrideRepository = Fakes.repository(ScheduleOccurrenceOverrideRepository.class, Map.of(
+                "findForWindow", args -> new ArrayList<>(overrides)));
+        scheduleService = new GamingScheduleService();
+        Fakes.inject(scheduleService, "scheduleRepository", scheduleRepository);
+        Fakes.inject(scheduleService, "overrideRepository", overrideRepository);
+
+        recurrences = all.stream().map(ScheduleRecurrence::of).toList();
+    }
+
+    @Benchmark
+    public List<ScheduleOccurrence> occurrences() {
+        return scheduleService.getOccurrences(from, to);
+    }
+
+    @Benchmark
+    public long countOccurrences() {
+        long fromDay = from.toLocalDate().toEpochDay();
+        long toDay = to.toLocalDate().toEpochDay();
+        long count = 0;
+        for (ScheduleRecurrence recurrence : recurrences) {
+            count += recurrence.count(fromDay, toDay);
+        }
+        return count;
+    }
+
+    private static List<ScheduleOccurrenceOverride> overrides(Collection<GamingSchedule> all, LocalDate fromDate, LocalDate toDate) {
+        SplittableRandom random = new SplittableRandom(SyntheticData.SEED);
+        List<ScheduleOccurrenceOverride> overrides = new ArrayList<>();
+        for (GamingSchedule schedule : all) {
+            ScheduleRecurrence recurrence = ScheduleRecurrence.of(schedule);
+            recurrence.forEachDay(fromDate.toEpochDay(), toDate.toEpochDay(), day -> {
+                if (random.nextInt(20) != 0) {
+                    return;
+                }
+                LocalDate date = LocalDate.ofEpochDay(day);
+                ScheduleOccurrenceOverride override = new ScheduleOccurrenceOverride(schedule.getId(), date);
+                switch (random.nextInt(3)) {
+                    case 0 -> override.setCompleted(true);
+                    case 1 -> override.setCancelled(true);
+                    default -> override.setRescheduledTime(recurrence.timeOn(date).plusHours(1));
+                }
+                overrides.add(override);
+            });
+        }
+        return overrides;
+    }
+}
@@ -0,0 +1,126 @@
+package com.gamertools.jmh;
+
+import com.gamertools.model.GamingSchedule;
+import com.gamertools.model.ScheduleType;
+import com.gamertools.repository.GamingScheduleRepository;
+import com.gamertools.repository.ScheduleOccurrenceOverrideRepository;
+import com.gamertools.service.GamingScheduleService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedule recommendations and conflict checks over {@code schedules} schedules spread
+ * across a year either side of today. The fake repository returns the same rows the
+ * queries would, so the numbers cover the service's own work on those rows. Conflict
+ * checks run against the in-memory interval index; {@code conflictCheck} also loads the
+ * conflicting rows, {@code conflictIds} is the index lookup alone, as on schedule creation.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class ScheduleRecommendationBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int schedules;
+
+    private GamingScheduleService scheduleService;
+    private GamingSchedule candidate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        List<GamingSchedule> all = SyntheticData.schedules(schedules, 365, now);
+        long upcoming = all.stream().filter(s -> !s.isCompleted()).count();
+        List<GamingSchedule> overdue = all.stream()
+                .filter(s -> !s.getScheduledTime().isAfter(now) && !s.isCompleted() && !s.isReminderSent())
+                .toList();
+        Map<Long, GamingSchedule> byId = new HashMap<>();
+        all.forEach(schedule -> byId.put(schedule.getId(), schedule));
+
+        GamingScheduleRepository scheduleRepository = Fakes.repository(GamingScheduleRepository.class, Map.of(
+                "countByIsCompletedFalse", args -> upcoming,
+                "findOverdueSchedules", args -> new ArrayList<>(overdue),
+                "findSchedulesBetween", args -> between(all, (LocalDateTime) args[0], (LocalDateTime) args[1]),
+                "findUncompletedIntervals", args -> intervals(all),
+                "findByTypeInAndIsCompletedFalse", args -> new ArrayList<>(),
+                "findWithGameByIdIn", args -> byIds(byId, (Collection<?>) args[0]),
+                "findRecurringSeries", args -> new ArrayList<>()));
+        scheduleService = new GamingScheduleService();
+        Fakes.inject(scheduleService, "scheduleRepository", scheduleRepository);
+        Fakes.inject(scheduleService, "overrideRepository", Fakes.repository(ScheduleOccurrenceOverrideRepository.class, Map.of()));
+        scheduleService.rebuildConflictIndex();
+
+        candidate = new GamingSchedule("Candidate", now.toLocalDate().atTime(20, 0).plusDays(1), ScheduleType.ONE_TIME);
+        candidate.setId(-1L);
+        candidate.setEstimatedDurationMinutes(120);
+    }
+
+    @Benchmark
+    public List<String> recommendations() {
+        return scheduleService.generateScheduleRecommendations();
+    }
+
+    @Benchmark
+    public List<GamingSchedule> conflictCheck() {
+        return scheduleService.getConflictingSchedules(candidate);
+    }
+
+    @Benchmark
+    public List<Long> conflictIds() {
+        return scheduleService.getConflictingScheduleIds(candidate);
+    }
+
+    private static List<Object[]> intervals(List<GamingSchedule> all) {
+        List<Object[]> rows = new ArrayList<>();
+        for (GamingSchedule schedule : all) {
+            if (!schedule.isCompleted()) {
+                rows.add(new Object[] {schedule.getId(), schedule.getScheduledTime(), schedule.getEstimatedDurationMinutes()});
+            }
+        }
+        return rows;
+    }
+
+    // The index returns ids soonest first, which is also the query's order
+    private static List<GamingSchedule> byIds(Map<Long, GamingSchedule> byId, Collection<?> ids) {
+        List<GamingSchedule> found = new ArrayList<>(ids.size());
+        for (Object id : ids) {
+            found.add(byId.get((Long) id));
+        }
+        return found;
+    }
+
+    // Same rows and order as the scheduled_time range query, copied like a fresh result set
+    private static List<GamingSchedule> between(List<GamingSchedule> sorted, LocalDateTime from, LocalDateTime to) {
+        int start = lowerBound(sorted, from);
+        int end = start;
+        while (end < sorted.size() && !sorted.get(end).getScheduledTime().isAfter(to)) {
+            end++;
+        }
+        return start == end ? Collections.emptyList() : new ArrayList<>(sorted.subList(start, end));
+    }
+
+    private static int lowerBound(List<GamingSchedule> sorted, LocalDateTime time) {
+        int low = 0;
+        int high = sorted.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted.get(mid).getScheduledTime().isBefore(time)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,89 @@
+package com.gamertools.jmh;
+
+import com.gamertools.dto.SessionEvent;
+import com.gamertools.repository.GamingSessionRepository;
+import com.gamertools.service.ActiveSessionRegistry;
+import com.gamertools.service.LiveUpdateService;
+import com.gamertools.service.SessionEventService;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recording batches of {@code batchSize} live events into one active session, as decoded
+ * JSON events and in the packed binary form, while the flusher writes the counts every
+ * 100 ms to an in-memory repository. The contended variants post from four threads at once,
+ * as several overlays feeding one session would.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SessionEventBenchmark {
+
+    private static final long SESSION_ID = 1L;
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    private SessionEventService eventService;
+    private List<SessionEvent> events;
+    private byte[] packedEvents;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        GamingSessionRepository sessionRepository = Fakes.repository(GamingSessionRepository.class, Map.of(
+                "addStats", args -> 1));
+        eventService = new SessionEventService();
+        Fakes.inject(eventService, "sessionRepository", sessionRepository);
+        Fakes.inject(eventService, "liveUpdateService", new LiveUpdateService());
+        Fakes.inject(eventService, "activeSessions", new ActiveSessionRegistry());
+        Fakes.inject(eventService, "flushIntervalMs", 100L);
+        eventService.startFlusher();
+        eventService.startTracking(SESSION_ID);
+
+        SessionEvent.Type[] types = SessionEvent.Type.values();
+        events = new ArrayList<>();
+        ByteBuffer packed = ByteBuffer.allocate(batchSize * SessionEventService.BINARY_EVENT_BYTES);
+        for (int i = 0; i < batchSize; i++) {
+            SessionEvent.Type type = types[i % types.length];
+            int amount = type == SessionEvent.Type.SCORE ? 100 : 1;
+            events.add(new SessionEvent(type, amount));
+            packed.put((byte) type.ordinal()).putInt(amount);
+        }
+        packedEvents = packed.array();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        eventService.stopFlusher();
+    }
+
+    @Benchmark
+    public int recordEvents() {
+        return eventService.recordEvents(SESSION_ID, events);
+    }
+
+    @Benchmark
+    public int recordPackedEvents() {
+        return eventService.recordEvents(SESSION_ID, packedEvents);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int recordEventsContended() {
+        return eventService.recordEvents(SESSION_ID, events);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int recordPackedEventsContended() {
+        return eventService.recordEvents(SESSION_ID, packedEvents);
+    }
+}
@@ -0,0 +1,106 @@
+package com.gamertools.jmh;
+
+import com.gamertools.benchmark.SyntheticDataset;
+import com.gamertools.model.Game;
+import com.gamertools.model.GamingSchedule;
+import com.gamertools.model.GamingSession;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Deterministic session and schedule sets for the benchmarks, drawn from the same
+ * {@link SyntheticDataset} the database benchmarks seed, so both suites see data of one shape.
+ * The same seed and size always produce the same data, so runs on different builds are
+ * comparable.
+ */
+final class SyntheticData {
+
+    static final long SEED = 20231013L;
+
+    // Games the schedules are spread over, the head of the dataset's catalog
+    private static final int SCHEDULE_GAMES = 20;
+
+    private SyntheticData() {
+    }
+
+    static Game game(long id) {
+        // Games depend on the seed alone, not on the date or history window
+        Game game = new SyntheticDataset(SEED, LocalDateTime.now(), 1).game((int) id - 1);
+        game.setId(id);
+        return game;
+    }
+
+    /**
+     * Finished, rated sessions for one game spread over the {@code days} before {@code now},
+     * newest first as the repository returns them. The sessions are allocated in that order,
+     * as Hibernate does when it reads a result set, so their memory layout does not depend
+     * on whether a garbage collection happened to run during the benchmark.
+     */
+    static List<GamingSession> sessions(Game game, int count, int days, LocalDateTime now) {
+        SyntheticDataset dataset = new SyntheticDataset(SEED, now, days);
+        List<Game> games = List.of(game);
+
+        // Find the rated rows and their order first, holding each row's dataset index in its id
+        List<GamingSession> rated = new ArrayList<>(count);
+        for (long index = 0; rated.size() < count; index++) {
+            GamingSession session = dataset.session(index, games);
+            if (session.getPerformanceRating() != null) {
+                session.setId(index);
+                rated.add(session);
+            }
+        }
+        rated.sort(Comparator.comparing(GamingSession::getStartTime).reversed());
+
+        // A row comes out the same however often it is generated, so generate them again in order
+        List<GamingSession> ordered = new ArrayList<>(count);
+        for (GamingSession session : rated) {
+            GamingSession copy = dataset.session(session.getId(), games);
+            copy.setId((long) ordered.size() + 1);
+            ordered.add(copy);
+        }
+        return ordered;
+    }
+
+    /**
+     * One-time schedules from {@code days} before {@code now} to two months ahead, in time
+     * order. Past schedules are mostly completed.
+     */
+    static List<GamingSchedule> schedules(int count, int days, LocalDateTime now) {
+        List<GamingSchedule> schedules = generate(count, days, now, schedule -> !schedule.getType().isRecurring());
+        schedules.sort(Comparator.comparing(GamingSchedule::getScheduledTime));
+        return schedules;
+    }
+
+    /**
+     * Running DAILY and WEEKLY schedules that started up to {@code days} before {@code now},
+     * ordered by id as the repository returns them.
+     */
+    static List<GamingSchedule> recurringSchedules(int count, int days, LocalDateTime now) {
+        return generate(count, days, now, schedule -> schedule.getType().isRecurring()
+                && schedule.getScheduledTime().isBefore(now));
+    }
+
+    // The first count dataset schedules that match, numbered from 1 in dataset order
+    private static List<GamingSchedule> generate(int count, int days, LocalDateTime now, Predicate<GamingSchedule> filter) {
+        // The dataset's schedules reach back a quarter of its history window
+        SyntheticDataset dataset = new SyntheticDataset(SEED, now, 4 * days);
+        List<Game> games = new ArrayList<>(SCHEDULE_GAMES);
+        for (long id = 1; id <= SCHEDULE_GAMES; id++) {
+            games.add(game(id));
+        }
+
+        List<GamingSchedule> schedules = new ArrayList<>(count);
+        for (long index = 0; schedules.size() < count; index++) {
+            GamingSchedule schedule = dataset.schedule(index, games);
+            if (filter.test(schedule)) {
+                schedule.setId((long) schedules.size() + 1);
+                schedules.add(schedule);
+            }
+        }
+        return schedules;
+    }
+}
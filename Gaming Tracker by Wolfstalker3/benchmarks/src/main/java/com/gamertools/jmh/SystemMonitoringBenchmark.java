@@ -0,0 +1,52 @@
+package com.gamertools.jmh;
+
+import com.gamertools.service.SystemMonitoringService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request-side cost of the system metrics endpoints. Sampling itself runs on the
+ * service's background thread and is not part of a request.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SystemMonitoringBenchmark {
+
+    private SystemMonitoringService monitoringService;
+    private Map<String, Object> snapshot;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        monitoringService = new SystemMonitoringService();
+        Fakes.inject(monitoringService, "sampleIntervalMs", 1000L);
+        monitoringService.startSampler();
+        snapshot = monitoringService.getCurrentSystemMetrics();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        monitoringService.stopSampler();
+    }
+
+    @Benchmark
+    public Map<String, Object> currentSystemMetrics() {
+        return monitoringService.getCurrentSystemMetrics();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Map<String, Object> currentSystemMetricsContended() {
+        return monitoringService.getCurrentSystemMetrics();
+    }
+
+    @Benchmark
+    public Map<String, String> optimizationRecommendations() {
+        return monitoringService.getOptimizationRecommendations(snapshot);
+    }
+}
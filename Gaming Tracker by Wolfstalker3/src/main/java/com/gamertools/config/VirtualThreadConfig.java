@@ -0,0 +1,56 @@
+package com.gamertools.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Runs Tomcat request handling, {@code @Scheduled} jobs and Spring's async work (such as
+ * streamed session exports) on virtual threads, so a request blocked on the database or the
+ * connection pool no longer holds a platform thread. Enabled with
+ * {@code spring.threads.virtual.enabled=true}, the property Spring Boot 3.2 introduced for the
+ * same purpose; on Boot 3.1 this class provides the wiring. Requires Java 21 at runtime and
+ * refuses to start on anything older rather than silently falling back.
+ *
+ * Services that keep their own worker pools read the same property and switch those pools to
+ * virtual threads themselves.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+    
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+    
+    public VirtualThreadConfig() {
+        if (!VirtualThreads.isAvailable()) {
+            throw new IllegalStateException("spring.threads.virtual.enabled=true needs Java 21 or later, running on Java "
+                    + Runtime.version().feature());
+        }
+        log.info("Virtual thread execution mode enabled");
+    }
+    
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(VirtualThreads.newThreadPerTaskExecutor("tomcat-handler-"));
+    }
+    
+    // Replaces Boot's pooled applicationTaskExecutor, which MVC uses for async requests
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, "taskExecutor"})
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(VirtualThreads.newThreadPerTaskExecutor("task-"));
+    }
+    
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setThreadFactory(VirtualThreads.factory("scheduling-"));
+        return scheduler;
+    }
+}
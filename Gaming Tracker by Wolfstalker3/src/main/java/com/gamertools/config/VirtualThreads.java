@@ -0,0 +1,55 @@
+package com.gamertools.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Virtual thread factories and executors, looked up reflectively so the application still
+ * compiles for and runs on Java 17. Only call these when {@link #isAvailable()} is true.
+ */
+public final class VirtualThreads {
+    
+    private VirtualThreads() {
+    }
+    
+    public static boolean isAvailable() {
+        return Runtime.version().feature() >= 21;
+    }
+    
+    /**
+     * A factory for virtual threads named {@code namePrefix1}, {@code namePrefix2}, and so on.
+     */
+    public static ThreadFactory factory(String namePrefix) {
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 1L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw unavailable(e);
+        }
+    }
+    
+    /**
+     * An executor that starts a new virtual thread for every task, the Java 21
+     * {@code Executors.newThreadPerTaskExecutor} with a {@link #factory(String) named factory}.
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+        ThreadFactory factory = factory(namePrefix);
+        try {
+            Method method = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) method.invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            throw unavailable(e);
+        }
+    }
+    
+    private static IllegalStateException unavailable(ReflectiveOperationException e) {
+        Throwable cause = e instanceof InvocationTargetException ? e.getCause() : e;
+        return new IllegalStateException("Virtual threads need Java 21 or later, running on Java "
+                + Runtime.version().feature(), cause);
+    }
+}
@@ -0,0 +1,52 @@
+package com.gamertools.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed-size worker pools for services that fan work out and wait on it with a deadline.
+ * The queue is bounded, so a pool that cannot keep up rejects new tasks with
+ * {@link java.util.concurrent.RejectedExecutionException} instead of queueing without limit.
+ */
+public final class WorkerPools {
+    
+    private WorkerPools() {
+    }
+    
+    /**
+     * A pool of {@code threads} workers named {@code namePrefix1}, {@code namePrefix2}, and so on,
+     * holding up to {@code queueCapacity} waiting tasks. The workers are daemon platform threads,
+     * or virtual threads when {@code virtual} is set; virtual workers park instead of holding a
+     * carrier while they wait on the database, and the pool size still caps how many run at once.
+     */
+    public static ThreadPoolExecutor newBoundedPool(String namePrefix, int threads, int queueCapacity, boolean virtual) {
+        ThreadFactory threadFactory;
+        if (virtual) {
+            threadFactory = VirtualThreads.factory(namePrefix);
+        } else {
+            AtomicInteger count = new AtomicInteger();
+            threadFactory = runnable -> {
+                Thread thread = new Thread(runnable, namePrefix + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+        int size = Math.max(1, threads);
+        return new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), threadFactory);
+    }
+    
+    /**
+     * Stops a pool from {@code @PreDestroy}, interrupting running tasks. Does nothing if the pool
+     * was never started.
+     */
+    public static void shutdown(ExecutorService pool) {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+}
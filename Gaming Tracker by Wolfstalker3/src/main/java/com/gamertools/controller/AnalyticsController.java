@@ -1,12 +1,18 @@
 package com.gamertools.controller;
 
+import com.gamertools.dto.CursorPage;
 import com.gamertools.model.Game;
 import com.gamertools.service.GameService;
 import com.gamertools.service.PerformanceAnalyticsService;
+import com.gamertools.service.DailyRollupService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -20,6 +26,9 @@ public class AnalyticsController {
     @Autowired
     private GameService gameService;
     
+    @Autowired
+    private DailyRollupService rollupService;
+    
     @GetMapping("/game/{gameId}")
     public ResponseEntity<?> getGameAnalytics(@PathVariable Long gameId) {
         return gameService.getGameById(gameId)
@@ -30,6 +39,55 @@ public class AnalyticsController {
                 .orElse(ResponseEntity.notFound().build());
     }
     
+    // Pages through games like /api/games; each page's games are analysed concurrently
+    @GetMapping("/games")
+    public ResponseEntity<?> getAllGamesAnalytics(@RequestParam(required = false) String cursor,
+                                                  @RequestParam(required = false) Integer limit) {
+        CursorPage<Game> page;
+        try {
+            page = gameService.getGamesPage(cursor, limit);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("{\"error\": \"" + e.getMessage() + "\"}");
+        }
+        
+        List<Map<String, Object>> games = analyticsService.getPerformanceAnalyticsForGames(page.getItems());
+        long complete = games.stream().filter(game -> "ok".equals(game.get("status"))).count();
+        
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("totalGames", games.size());
+        response.put("completeGames", complete);
+        response.put("partial", complete < games.size());
+        response.put("games", games);
+        return PagedResponses.of(page, response);
+    }
+    
+    @GetMapping("/range")
+    public ResponseEntity<?> getRangeAnalytics(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (to.isBefore(from)) {
+            return ResponseEntity.badRequest().body("{\"error\": \"'to' must not be before 'from'\"}");
+        }
+        return ResponseEntity.ok(rollupService.getRangeAnalytics(from, to));
+    }
+    
+    @PostMapping("/rebuild")
+    public ResponseEntity<Void> rebuildAnalytics() {
+        analyticsService.rebuildAggregates();
+        rollupService.rebuild();
+        return ResponseEntity.ok().build();
+    }
+    
+    @PostMapping("/game/{gameId}/rebuild")
+    public ResponseEntity<Void> rebuildGameAnalytics(@PathVariable Long gameId) {
+        return gameService.getGameById(gameId)
+                .map(game -> {
+                    analyticsService.rebuildAggregate(game);
+                    return ResponseEntity.ok().<Void>build();
+                })
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
     @GetMapping("/overall")
     public ResponseEntity<Map<String, Object>> getOverallAnalytics() {
         Map<String, Object> analytics = analyticsService.getOverallStats();
@@ -0,0 +1,35 @@
+package com.gamertools.controller;
+
+import com.gamertools.dto.GameSummary;
+import com.gamertools.dto.ScheduleOccurrence;
+import com.gamertools.dto.ScheduleView;
+import com.gamertools.dto.SessionView;
+import com.gamertools.model.Game;
+import com.gamertools.model.GamingSession;
+import com.gamertools.service.DashboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@CrossOrigin(origins = "*")
+public class DashboardController {
+    
+    @Autowired
+    private DashboardService dashboardService;
+    
+    // Same sections as the dashboard page; a section that timed out is empty and flagged in "status"
+    @GetMapping
+    @SuppressWarnings("unchecked")
+    public ResponseEntity<Map<String, Object>> getDashboard() {
+        Map<String, Object> dashboard = dashboardService.getDashboard();
+        dashboard.put("games", ((List<Game>) dashboard.get("games")).stream().map(GameSummary::of).toList());
+        dashboard.put("activeSessions", ((List<GamingSession>) dashboard.get("activeSessions")).stream().map(SessionView::of).toList());
+        dashboard.put("todaySchedules", ((List<ScheduleOccurrence>) dashboard.get("todaySchedules")).stream().map(ScheduleView::of).toList());
+        return ResponseEntity.ok(dashboard);
+    }
+}
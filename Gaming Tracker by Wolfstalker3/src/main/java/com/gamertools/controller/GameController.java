@@ -1,5 +1,6 @@
 package com.gamertools.controller;
 
+import com.gamertools.dto.GameSummary;
 import com.gamertools.model.Game;
 import com.gamertools.service.GameService;
 import jakarta.validation.Valid;
@@ -12,22 +13,26 @@ import java.util.List;
 
 @RestController
 @RequestMapping("/api/games")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = PagedResponses.NEXT_CURSOR_HEADER)
 public class GameController {
     
     @Autowired
     private GameService gameService;
     
     @GetMapping
-    public ResponseEntity<List<Game>> getAllGames() {
-        List<Game> games = gameService.getAllGames();
-        return ResponseEntity.ok(games);
+    public ResponseEntity<?> getAllGames(@RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer limit) {
+        try {
+            return PagedResponses.of(gameService.getGamesPage(cursor, limit).map(GameSummary::of));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("{\"error\": \"" + e.getMessage() + "\"}");
+        }
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<Game> getGameById(@PathVariable Long id) {
+    public ResponseEntity<GameSummary> getGameById(@PathVariable Long id) {
         return gameService.getGameById(id)
-                .map(game -> ResponseEntity.ok(game))
+                .map(game -> ResponseEntity.ok(GameSummary.of(game)))
                 .orElse(ResponseEntity.notFound().build());
     }
     
@@ -35,7 +40,7 @@ public class GameController {
     public ResponseEntity<?> createGame(@Valid @RequestBody Game game) {
         try {
             Game createdGame = gameService.createGame(game);
-            return ResponseEntity.status(HttpStatus.CREATED).body(createdGame);
+            return ResponseEntity.status(HttpStatus.CREATED).body(GameSummary.of(createdGame));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body("{\"error\": \"" + e.getMessage() + "\"}");
         }
@@ -45,7 +50,7 @@ public class GameController {
     public ResponseEntity<?> updateGame(@PathVariable Long id, @Valid @RequestBody Game game) {
         try {
             Game updatedGame = gameService.updateGame(id, game);
-            return ResponseEntity.ok(updatedGame);
+            return ResponseEntity.ok(GameSummary.of(updatedGame));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body("{\"error\": \"" + e.getMessage() + "\"}");
         }
@@ -58,15 +63,25 @@ public class GameController {
     }
     
     @GetMapping("/genre/{genre}")
-    public ResponseEntity<List<Game>> getGamesByGenre(@PathVariable String genre) {
-        List<Game> games = gameService.getGamesByGenre(genre);
-        return ResponseEntity.ok(games);
+    public ResponseEntity<?> getGamesByGenre(@PathVariable String genre,
+                                             @RequestParam(required = false) String cursor,
+                                             @RequestParam(required = false) Integer limit) {
+        try {
+            return PagedResponses.of(gameService.getGamesByGenre(genre, cursor, limit).map(GameSummary::of));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("{\"error\": \"" + e.getMessage() + "\"}");
+        }
     }
     
     @GetMapping("/platform/{platform}")
-    public ResponseEntity<List<Game>> getGamesByPlatform(@PathVariable String platform) {
-        List<Game> games = gameService.getGamesByPlatform(platform);
-        return ResponseEntity.ok(games);
+    public ResponseEntity<?> getGamesByPlatform(@PathVariable String platform,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(required = false) Integer limit) {
+        try {
+            return PagedResponses.of(gameService.getGamesByPlatform(platform, cursor, limit).map(GameSummary::of));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("{\"error\": \"" + e.getMessage() + "\"}");
+        }
     }
     
     @GetMapping("/genres")
@@ -82,8 +97,8 @@ public class GameController {
     }
     
     @GetMapping("/most-played")
-    public ResponseEntity<List<Game>> getMostPlayedGames() {
-        List<Game> games = gameService.getMostPlayedGames();
+    public ResponseEntity<List<GameSummary>> getMostPlayedGames(@RequestParam(required = false) Integer limit) {
+        List<GameSummary> games = gameService.getMostPlayedGames(limit).stream().map(GameSummary::of).toList();
         return ResponseEntity.ok(games);
     }
 }
@@ -1,53 +1,75 @@
 package com.gamertools.controller;
 
+import com.gamertools.dto.ScheduleView;
 import com.gamertools.model.GamingSchedule;
 import com.gamertools.service.GamingScheduleService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.List;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/api/schedules")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = PagedResponses.NEXT_CURSOR_HEADER)
 public class GamingScheduleController {
     
     @Autowired
     private GamingScheduleService scheduleService;
     
     @GetMapping
-    public ResponseEntity<List<GamingSchedule>> getAllUpcomingSchedules() {
-        List<GamingSchedule> schedules = scheduleService.getAllUpcomingSchedules();
-        return ResponseEntity.ok(schedules);
+    public ResponseEntity<?> getAllUpcomingSchedules(@RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false) Integer limit) {
+        try {
+            return PagedResponses.of(scheduleService.getUpcomingSchedules(cursor, limit).map(ScheduleView::of));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("{\"error\": \"" + e.getMessage() + "\"}");
+        }
     }
     
     @GetMapping("/today")
-    public ResponseEntity<List<GamingSchedule>> getSchedulesForToday() {
-        List<GamingSchedule> schedules = scheduleService.getSchedulesForToday();
+    public ResponseEntity<List<ScheduleView>> getSchedulesForToday() {
+        List<ScheduleView> schedules = scheduleService.getSchedulesForToday().stream().map(ScheduleView::of).toList();
         return ResponseEntity.ok(schedules);
     }
     
     @GetMapping("/week")
-    public ResponseEntity<List<GamingSchedule>> getSchedulesForWeek() {
-        List<GamingSchedule> schedules = scheduleService.getSchedulesForWeek();
+    public ResponseEntity<List<ScheduleView>> getSchedulesForWeek() {
+        List<ScheduleView> schedules = scheduleService.getSchedulesForWeek().stream().map(ScheduleView::of).toList();
         return ResponseEntity.ok(schedules);
     }
     
+    // One-time schedules and every occurrence of recurring ones between two dates, inclusive
+    @GetMapping("/occurrences")
+    public ResponseEntity<List<ScheduleView>> getOccurrences(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (to.isBefore(from)) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<ScheduleView> occurrences = scheduleService.getOccurrences(from.atStartOfDay(), to.atTime(LocalTime.MAX))
+                .stream().map(ScheduleView::of).toList();
+        return ResponseEntity.ok(occurrences);
+    }
+    
     @PostMapping
     public ResponseEntity<?> createSchedule(@Valid @RequestBody GamingSchedule schedule) {
         try {
             // Check for conflicts
-            List<GamingSchedule> conflicts = scheduleService.getConflictingSchedules(schedule);
+            List<Long> conflicts = scheduleService.getConflictingScheduleIds(schedule);
             if (!conflicts.isEmpty()) {
                 return ResponseEntity.badRequest().body("{\"error\": \"Schedule conflicts with existing sessions\", \"conflicts\": " + conflicts.size() + "}");
             }
             
             GamingSchedule createdSchedule = scheduleService.createSchedule(schedule);
-            return ResponseEntity.status(HttpStatus.CREATED).body(createdSchedule);
+            return ResponseEntity.status(HttpStatus.CREATED).body(ScheduleView.of(createdSchedule));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body("{\"error\": \"" + e.getMessage() + "\"}");
         }
@@ -57,7 +79,7 @@ public class GamingScheduleController {
     public ResponseEntity<?> updateSchedule(@PathVariable Long id, @Valid @RequestBody GamingSchedule schedule) {
         try {
             GamingSchedule updatedSchedule = scheduleService.updateSchedule(id, schedule);
-            return ResponseEntity.ok(updatedSchedule);
+            return ResponseEntity.ok(ScheduleView.of(updatedSchedule));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body("{\"error\": \"" + e.getMessage() + "\"}");
         }
@@ -69,6 +91,39 @@ public class GamingScheduleController {
         return ResponseEntity.ok().build();
     }
     
+    @PostMapping("/{id}/occurrences/{date}/complete")
+    public ResponseEntity<?> completeOccurrence(@PathVariable Long id,
+                                                @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            return ResponseEntity.ok(ScheduleView.of(scheduleService.completeOccurrence(id, date)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("{\"error\": \"" + e.getMessage() + "\"}");
+        }
+    }
+    
+    @PostMapping("/{id}/occurrences/{date}/reschedule")
+    public ResponseEntity<?> rescheduleOccurrence(@PathVariable Long id,
+                                                  @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime time) {
+        try {
+            return ResponseEntity.ok(ScheduleView.of(scheduleService.rescheduleOccurrence(id, date, time)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("{\"error\": \"" + e.getMessage() + "\"}");
+        }
+    }
+    
+    // Skips a single occurrence; the rest of the series is unchanged
+    @DeleteMapping("/{id}/occurrences/{date}")
+    public ResponseEntity<?> cancelOccurrence(@PathVariable Long id,
+                                              @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            scheduleService.cancelOccurrence(id, date);
+            return ResponseEntity.noContent().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("{\"error\": \"" + e.getMessage() + "\"}");
+        }
+    }
+    
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteSchedule(@PathVariable Long id) {
         scheduleService.deleteSchedule(id);
@@ -88,9 +143,12 @@ public class GamingScheduleController {
     }
     
     @GetMapping("/{id}/conflicts")
-    public ResponseEntity<List<GamingSchedule>> getConflictingSchedules(@PathVariable Long id) {
-        // This would require getting the schedule first, then checking conflicts
-        // For simplicity, we'll return empty list for now
-        return ResponseEntity.ok(List.of());
+    public ResponseEntity<?> getConflictingSchedules(@PathVariable Long id) {
+        try {
+            List<ScheduleView> conflicts = scheduleService.getConflictingSchedules(id).stream().map(ScheduleView::of).toList();
+            return ResponseEntity.ok(conflicts);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("{\"error\": \"" + e.getMessage() + "\"}");
+        }
     }
 }
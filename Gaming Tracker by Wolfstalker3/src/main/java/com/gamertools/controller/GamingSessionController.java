@@ -1,19 +1,36 @@
 package com.gamertools.controller;
 
+import com.gamertools.dto.ImportResult;
+import com.gamertools.dto.SessionEvent;
+import com.gamertools.dto.SessionView;
 import com.gamertools.model.GamingSession;
+import com.gamertools.service.FrameTimeService;
 import com.gamertools.service.GamingSessionService;
 import com.gamertools.service.PerformanceAnalyticsService;
+import com.gamertools.service.SessionEventService;
+import com.gamertools.service.SessionExportService;
+import com.gamertools.service.SessionImportService;
+import com.gamertools.service.SessionTelemetryService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/sessions")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = PagedResponses.NEXT_CURSOR_HEADER)
 public class GamingSessionController {
     
     @Autowired
@@ -22,11 +39,26 @@ public class GamingSessionController {
     @Autowired
     private PerformanceAnalyticsService analyticsService;
     
+    @Autowired
+    private SessionTelemetryService telemetryService;
+    
+    @Autowired
+    private SessionImportService importService;
+    
+    @Autowired
+    private SessionExportService exportService;
+    
+    @Autowired
+    private SessionEventService eventService;
+    
+    @Autowired
+    private FrameTimeService frameTimeService;
+    
     @PostMapping("/start/{gameId}")
     public ResponseEntity<?> startSession(@PathVariable Long gameId) {
         try {
             GamingSession session = sessionService.startSession(gameId);
-            return ResponseEntity.status(HttpStatus.CREATED).body(session);
+            return ResponseEntity.status(HttpStatus.CREATED).body(SessionView.of(session));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body("{\"error\": \"" + e.getMessage() + "\"}");
         }
@@ -36,49 +68,209 @@ public class GamingSessionController {
     public ResponseEntity<?> endSession(@PathVariable Long sessionId) {
         try {
             GamingSession session = sessionService.endSession(sessionId);
-            return ResponseEntity.ok(session);
+            return ResponseEntity.ok(SessionView.of(session));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body("{\"error\": \"" + e.getMessage() + "\"}");
         }
     }
     
+    /**
+     * Bulk-loads finished sessions from a CSV (with header row) or NDJSON body. The body is
+     * read as a stream, so payloads of any size can be posted.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<?> importSessions(HttpServletRequest request,
+                                            @RequestParam(defaultValue = "false") boolean createMissingGames) {
+        SessionImportService.Format format = request.getContentType().startsWith("text/csv")
+                ? SessionImportService.Format.CSV
+                : SessionImportService.Format.NDJSON;
+        try {
+            ImportResult result = importService.importSessions(request.getReader(), format, createMissingGames);
+            return ResponseEntity.ok(result);
+        } catch (IOException | RuntimeException e) {
+            return ResponseEntity.badRequest().body("{\"error\": \"" + e.getMessage() + "\"}");
+        }
+    }
+    
+    /**
+     * Streams sessions as NDJSON (default) or CSV, optionally limited to one game and a
+     * start-time range. With gzip=true the body is a gzip file of the same content.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportSessions(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) Long gameId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        SessionExportService.Format exportFormat;
+        try {
+            exportFormat = SessionExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        String fileName = "sessions." + exportFormat.name().toLowerCase(Locale.ROOT) + (gzip ? ".gz" : "");
+        MediaType contentType = gzip ? MediaType.parseMediaType("application/gzip")
+                : exportFormat == SessionExportService.Format.CSV ? MediaType.parseMediaType("text/csv")
+                : MediaType.parseMediaType("application/x-ndjson");
+        
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024);
+                exportService.exportSessions(compressed, exportFormat, gameId, from, to);
+                compressed.finish();
+            } else {
+                exportService.exportSessions(out, exportFormat, gameId, from, to);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+    
     @PutMapping("/{sessionId}")
     public ResponseEntity<?> updateSession(@PathVariable Long sessionId, @RequestBody GamingSession session) {
         try {
             GamingSession updatedSession = sessionService.updateSessionStats(sessionId, session);
-            return ResponseEntity.ok(updatedSession);
+            return ResponseEntity.ok(SessionView.of(updatedSession));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("{\"error\": \"" + e.getMessage() + "\"}");
+        }
+    }
+    
+    /**
+     * Records a batch of in-game events for an active session, as a JSON array such as
+     * [{"type": "KILL"}, {"type": "SCORE", "amount": 150}]. The session's totals pick the
+     * events up within one flush interval.
+     */
+    @PostMapping(value = "/{id}/events", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> recordEvents(@PathVariable Long id, @RequestBody List<SessionEvent> events) {
+        try {
+            int recorded = eventService.recordEvents(id, events);
+            return ResponseEntity.accepted().body(Map.of("sessionId", id, "recorded", recorded));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("{\"error\": \"" + e.getMessage() + "\"}");
+        }
+    }
+    
+    /**
+     * The same as the JSON form, packed five bytes per event: the type (0 kill, 1 death,
+     * 2 assist, 3 score) followed by the amount as a big-endian 32-bit integer.
+     */
+    @PostMapping(value = "/{id}/events", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<?> recordPackedEvents(@PathVariable Long id, @RequestBody byte[] events) {
+        try {
+            int recorded = eventService.recordEvents(id, events);
+            return ResponseEntity.accepted().body(Map.of("sessionId", id, "recorded", recorded));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body("{\"error\": \"" + e.getMessage() + "\"}");
         }
     }
     
+    /**
+     * Adds a PresentMon or MangoHud CSV log to the session's frame time histogram. The body
+     * is read as a stream and only the frame time column is kept, so whole logs can be posted,
+     * while the session runs or after it has ended.
+     */
+    @PostMapping(value = "/{id}/frames", consumes = {"text/csv", "text/plain"})
+    public ResponseEntity<?> recordFrameLog(@PathVariable Long id, HttpServletRequest request) {
+        try {
+            Map<String, Object> frames = sessionService.recordFrameTimes(id, FrameTimeService.parseLog(request.getReader()));
+            return ResponseEntity.ok(frames);
+        } catch (IOException | RuntimeException e) {
+            return ResponseEntity.badRequest().body("{\"error\": \"" + e.getMessage() + "\"}");
+        }
+    }
+    
+    /**
+     * Adds a batch of frame times as a JSON array of milliseconds, for clients tailing a log.
+     */
+    @PostMapping(value = "/{id}/frames", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> recordFrameTimes(@PathVariable Long id, @RequestBody List<Double> frameTimes) {
+        try {
+            Map<String, Object> frames = sessionService.recordFrameTimes(id, FrameTimeService.parseMillis(frameTimes));
+            return ResponseEntity.ok(frames);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("{\"error\": \"" + e.getMessage() + "\"}");
+        }
+    }
+    
+    /**
+     * The same as the JSON form, packed four bytes per frame as big-endian 32-bit floats.
+     */
+    @PostMapping(value = "/{id}/frames", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<?> recordPackedFrameTimes(@PathVariable Long id, @RequestBody byte[] frameTimes) {
+        try {
+            Map<String, Object> frames = sessionService.recordFrameTimes(id, FrameTimeService.parsePacked(frameTimes));
+            return ResponseEntity.ok(frames);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("{\"error\": \"" + e.getMessage() + "\"}");
+        }
+    }
+    
+    @GetMapping("/{id}/frames")
+    public ResponseEntity<Map<String, Object>> getFrameTimes(@PathVariable Long id) {
+        return frameTimeService.getSessionSummary(id)
+                .map(frames -> ResponseEntity.ok(frames))
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
     @GetMapping("/{id}")
-    public ResponseEntity<GamingSession> getSessionById(@PathVariable Long id) {
+    public ResponseEntity<SessionView> getSessionById(@PathVariable Long id) {
         return sessionService.getSessionById(id)
-                .map(session -> ResponseEntity.ok(session))
+                .map(session -> ResponseEntity.ok(SessionView.of(session)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @GetMapping("/{id}/live-stats")
+    public ResponseEntity<Map<String, Object>> getLiveSessionStats(@PathVariable Long id) {
+        return telemetryService.getLiveStats(id)
+                .map(stats -> ResponseEntity.ok(stats))
                 .orElse(ResponseEntity.notFound().build());
     }
     
+    @GetMapping("/{id}/telemetry")
+    public ResponseEntity<?> getSessionTelemetry(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "1") long step) {
+        try {
+            Map<String, Object> telemetry = sessionService.getSessionTelemetry(id, from, to, Math.max(1, step));
+            return ResponseEntity.ok(telemetry);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("{\"error\": \"" + e.getMessage() + "\"}");
+        }
+    }
+    
     @GetMapping("/game/{gameId}")
-    public ResponseEntity<List<GamingSession>> getSessionsForGame(@PathVariable Long gameId) {
+    public ResponseEntity<List<SessionView>> getSessionsForGame(@PathVariable Long gameId,
+                                                                  @RequestParam(required = false) String cursor,
+                                                                  @RequestParam(required = false) Integer limit) {
         try {
-            List<GamingSession> sessions = sessionService.getSessionsForGame(gameId);
-            return ResponseEntity.ok(sessions);
+            return PagedResponses.of(sessionService.getSessionsForGame(gameId, cursor, limit).map(SessionView::of));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
     }
     
     @GetMapping("/active")
-    public ResponseEntity<List<GamingSession>> getActiveSessions() {
-        List<GamingSession> activeSessions = sessionService.getActiveSessions();
+    public ResponseEntity<List<SessionView>> getActiveSessions() {
+        List<SessionView> activeSessions = sessionService.getActiveSessions().stream().map(SessionView::of).toList();
         return ResponseEntity.ok(activeSessions);
     }
     
     @GetMapping("/recent/{days}")
-    public ResponseEntity<List<GamingSession>> getRecentSessions(@PathVariable int days) {
-        List<GamingSession> sessions = sessionService.getRecentSessions(days);
-        return ResponseEntity.ok(sessions);
+    public ResponseEntity<?> getRecentSessions(@PathVariable int days,
+                                               @RequestParam(required = false) String cursor,
+                                               @RequestParam(required = false) Integer limit) {
+        try {
+            return PagedResponses.of(sessionService.getRecentSessions(days, cursor, limit).map(SessionView::of));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("{\"error\": \"" + e.getMessage() + "\"}");
+        }
     }
     
     @DeleteMapping("/{id}")
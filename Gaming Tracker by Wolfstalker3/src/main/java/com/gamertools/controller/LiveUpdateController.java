@@ -0,0 +1,21 @@
+package com.gamertools.controller;
+
+import com.gamertools.service.LiveUpdateService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/live")
+@CrossOrigin(origins = "*")
+public class LiveUpdateController {
+    
+    @Autowired
+    private LiveUpdateService liveUpdateService;
+    
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe() {
+        return liveUpdateService.connect();
+    }
+}
@@ -0,0 +1,33 @@
+package com.gamertools.controller;
+
+import com.gamertools.dto.CursorPage;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Writes a cursor page as a plain JSON array, so existing clients keep working, and
+ * hands the continuation token back in a response header.
+ */
+final class PagedResponses {
+    
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    
+    private PagedResponses() {
+    }
+    
+    static <T> ResponseEntity<List<T>> of(CursorPage<T> page) {
+        return of(page, page.getItems());
+    }
+    
+    /**
+     * Responds with {@code body}, computed from the page's items, and the page's continuation token.
+     */
+    static <B> ResponseEntity<B> of(CursorPage<?> page, B body) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasMore()) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(body);
+    }
+}
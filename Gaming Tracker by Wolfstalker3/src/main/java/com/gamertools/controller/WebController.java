@@ -1,10 +1,12 @@
 package com.gamertools.controller;
 
 import com.gamertools.service.*;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 
 @Controller
@@ -25,19 +27,25 @@ public class WebController {
     @Autowired
     private PerformanceAnalyticsService analyticsService;
     
+    @Autowired
+    private DashboardService dashboardService;
+    
+    // Thymeleaf 3.1 no longer exposes #httpServletRequest, so the layout reads the URI from the model
+    @ModelAttribute("requestURI")
+    public String requestURI(HttpServletRequest request) {
+        return request.getRequestURI();
+    }
+    
     @GetMapping("/")
     public String dashboard(Model model) {
-        model.addAttribute("games", gameService.getAllGames());
-        model.addAttribute("activeSessions", sessionService.getActiveSessions());
-        model.addAttribute("todaySchedules", scheduleService.getSchedulesForToday());
-        model.addAttribute("systemMetrics", systemMonitoringService.getCurrentSystemMetrics());
-        model.addAttribute("overallStats", analyticsService.getOverallStats());
+        model.addAllAttributes(dashboardService.getDashboard());
         return "dashboard";
     }
     
     @GetMapping("/games")
     public String games(Model model) {
         model.addAttribute("games", gameService.getAllGames());
+        model.addAttribute("gameCount", gameService.getGameCount());
         model.addAttribute("genres", gameService.getAllGenres());
         model.addAttribute("platforms", gameService.getAllPlatforms());
         return "games";
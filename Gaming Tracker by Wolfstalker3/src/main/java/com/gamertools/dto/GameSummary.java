@@ -0,0 +1,16 @@
+package com.gamertools.dto;
+
+import com.gamertools.model.Game;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of a game for REST responses. Deliberately leaves out the session
+ * collection so serializing a game never triggers a lazy load.
+ */
+public record GameSummary(Long id, String name, String genre, String platform, LocalDateTime createdAt) {
+    
+    public static GameSummary of(Game game) {
+        return new GameSummary(game.getId(), game.getName(), game.getGenre(), game.getPlatform(), game.getCreatedAt());
+    }
+}
@@ -0,0 +1,59 @@
+package com.gamertools.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import: row counts, throughput and the first few rejected rows.
+ */
+public class ImportResult {
+    
+    public static final int MAX_REPORTED_ERRORS = 1000;
+    
+    private long imported;
+    private long failed;
+    private long elapsedMillis;
+    private final List<RowError> errors = new ArrayList<>();
+    
+    public record RowError(long line, String message) {
+    }
+    
+    public void addImported(long rows) {
+        imported += rows;
+    }
+    
+    public void addError(long line, String message) {
+        failed++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(line, message));
+        }
+    }
+    
+    public long getImported() {
+        return imported;
+    }
+    
+    public long getFailed() {
+        return failed;
+    }
+    
+    public List<RowError> getErrors() {
+        return errors;
+    }
+    
+    public boolean isErrorsTruncated() {
+        return failed > errors.size();
+    }
+    
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+    
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+    
+    public long getRowsPerSecond() {
+        return elapsedMillis > 0 ? (imported + failed) * 1000 / elapsedMillis : imported + failed;
+    }
+}
@@ -0,0 +1,60 @@
+package com.gamertools.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a page for keyset pagination, encoded as an opaque token.
+ * Lists are ordered by (time, id); the id breaks ties between rows with the same time.
+ */
+public record PageCursor(LocalDateTime time, long id) {
+    
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    
+    // Sentinels that sort before/after every stored row, so the first page uses the same query
+    public static final PageCursor FIRST_DESCENDING = new PageCursor(LocalDateTime.of(9999, 12, 31, 23, 59), Long.MAX_VALUE);
+    public static final PageCursor FIRST_ASCENDING = new PageCursor(LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+    // Lists ordered by id alone carry no time
+    public static final PageCursor FIRST_BY_ID = new PageCursor(null, 0L);
+    
+    private static final String VERSION = "v1";
+    
+    public String encode() {
+        String raw = VERSION + "|" + (time != null ? time.toString() : "") + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Decodes a token, or returns {@code whenAbsent} if the token is null or blank.
+     * A token from a list of the other kind (with or without a time, unlike {@code whenAbsent})
+     * is rejected like a malformed one.
+     */
+    public static PageCursor decode(String token, PageCursor whenAbsent) {
+        if (token == null || token.isBlank()) {
+            return whenAbsent;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            LocalDateTime time = parts[1].isEmpty() ? null : LocalDateTime.parse(parts[1]);
+            if (whenAbsent != null && (time == null) != (whenAbsent.time() == null)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new PageCursor(time, Long.parseLong(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+    
+    public static int clampLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+}
@@ -0,0 +1,81 @@
+package com.gamertools.dto;
+
+import com.gamertools.model.Game;
+import com.gamertools.model.GamingSchedule;
+import com.gamertools.model.ScheduleType;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One occurrence of a schedule in a queried window: a one-time schedule itself, or a
+ * single date of a recurring one, with that occurrence's own time and completion. Exposes
+ * the same getters as {@link GamingSchedule} that lists and templates read.
+ */
+public final class ScheduleOccurrence {
+    
+    private final GamingSchedule schedule;
+    private final LocalDate occurrenceDate;
+    private final LocalDateTime scheduledTime;
+    private final boolean completed;
+    
+    public ScheduleOccurrence(GamingSchedule schedule, LocalDate occurrenceDate, LocalDateTime scheduledTime, boolean completed) {
+        this.schedule = schedule;
+        this.occurrenceDate = occurrenceDate;
+        this.scheduledTime = scheduledTime;
+        this.completed = completed;
+    }
+    
+    public static ScheduleOccurrence of(GamingSchedule schedule) {
+        return new ScheduleOccurrence(schedule, null, schedule.getScheduledTime(), schedule.isCompleted());
+    }
+    
+    public GamingSchedule getSchedule() {
+        return schedule;
+    }
+    
+    public Long getId() {
+        return schedule.getId();
+    }
+    
+    public String getTitle() {
+        return schedule.getTitle();
+    }
+    
+    public Game getGame() {
+        return schedule.getGame();
+    }
+    
+    public ScheduleType getType() {
+        return schedule.getType();
+    }
+    
+    public Integer getEstimatedDurationMinutes() {
+        return schedule.getEstimatedDurationMinutes();
+    }
+    
+    // The date the recurrence puts this occurrence on; null for one-time schedules
+    public LocalDate getOccurrenceDate() {
+        return occurrenceDate;
+    }
+    
+    public LocalDateTime getScheduledTime() {
+        return scheduledTime;
+    }
+    
+    public boolean isCompleted() {
+        return completed;
+    }
+    
+    public boolean isRecurring() {
+        return occurrenceDate != null;
+    }
+    
+    public boolean isUpcoming() {
+        return scheduledTime.isAfter(LocalDateTime.now()) && !completed;
+    }
+    
+    public boolean isOverdue() {
+        return scheduledTime.isBefore(LocalDateTime.now()) && !completed;
+    }
+}
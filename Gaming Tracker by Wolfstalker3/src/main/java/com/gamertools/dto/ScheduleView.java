@@ -0,0 +1,62 @@
+package com.gamertools.dto;
+
+import com.gamertools.model.Game;
+import com.gamertools.model.GamingSchedule;
+import com.gamertools.model.ScheduleType;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of a schedule for REST responses, with the optional game flattened to
+ * its id and name. Views of a recurring schedule's occurrence carry the occurrence's date,
+ * time and completion; {@code occurrenceDate} is null otherwise.
+ */
+public record ScheduleView(Long id, String title, Long gameId, String gameName,
+                           LocalDateTime scheduledTime, Integer estimatedDurationMinutes,
+                           ScheduleType type, DayOfWeek dayOfWeek, String description,
+                           boolean completed, boolean reminderSent, LocalDateTime createdAt,
+                           boolean upcoming, boolean overdue, LocalDate occurrenceDate) {
+    
+    public static ScheduleView of(GamingSchedule schedule) {
+        Game game = schedule.getGame();
+        return new ScheduleView(
+                schedule.getId(),
+                schedule.getTitle(),
+                game != null ? game.getId() : null,
+                game != null ? game.getName() : null,
+                schedule.getScheduledTime(),
+                schedule.getEstimatedDurationMinutes(),
+                schedule.getType(),
+                schedule.getDayOfWeek(),
+                schedule.getDescription(),
+                schedule.isCompleted(),
+                schedule.isReminderSent(),
+                schedule.getCreatedAt(),
+                schedule.isUpcoming(),
+                schedule.isOverdue(),
+                null);
+    }
+    
+    public static ScheduleView of(ScheduleOccurrence occurrence) {
+        GamingSchedule schedule = occurrence.getSchedule();
+        Game game = schedule.getGame();
+        return new ScheduleView(
+                schedule.getId(),
+                schedule.getTitle(),
+                game != null ? game.getId() : null,
+                game != null ? game.getName() : null,
+                occurrence.getScheduledTime(),
+                schedule.getEstimatedDurationMinutes(),
+                schedule.getType(),
+                schedule.getDayOfWeek(),
+                schedule.getDescription(),
+                occurrence.isCompleted(),
+                schedule.isReminderSent(),
+                schedule.getCreatedAt(),
+                occurrence.isUpcoming(),
+                occurrence.isOverdue(),
+                occurrence.getOccurrenceDate());
+    }
+}
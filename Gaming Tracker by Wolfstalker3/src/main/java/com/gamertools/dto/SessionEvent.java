@@ -0,0 +1,17 @@
+package com.gamertools.dto;
+
+/**
+ * One in-game event posted while a session is running. {@code amount} defaults to 1, so
+ * a kill is just {@code {"type": "KILL"}}; score events carry the points gained or lost.
+ */
+public record SessionEvent(Type type, Integer amount) {
+    
+    // Ordinals double as the type byte of the binary event format, so only append
+    public enum Type {
+        KILL, DEATH, ASSIST, SCORE
+    }
+    
+    public int amountOrDefault() {
+        return amount != null ? amount : 1;
+    }
+}
@@ -0,0 +1,51 @@
+package com.gamertools.dto;
+
+import com.gamertools.model.Game;
+import com.gamertools.model.GamingSession;
+import com.gamertools.model.MoodLevel;
+import com.gamertools.model.PerformanceRating;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of a session for REST responses. The game is flattened to its id and
+ * name, which the queries behind the session endpoints fetch in the same statement.
+ */
+public record SessionView(Long id, Long gameId, String gameName,
+                          LocalDateTime startTime, LocalDateTime endTime, Long durationMinutes,
+                          Integer kills, Integer deaths, Integer assists, Double accuracy, Integer score, Double kdRatio,
+                          Double avgFps, Double medianFps, Double onePercentLowFps, Double pointOnePercentLowFps,
+                          Double avgCpuUsage, Double avgGpuUsage, Double avgMemoryUsage, Double avgTemperature,
+                          MoodLevel moodBefore, MoodLevel moodAfter, PerformanceRating performanceRating,
+                          String notes, boolean active) {
+    
+    public static SessionView of(GamingSession session) {
+        Game game = session.getGame();
+        return new SessionView(
+                session.getId(),
+                game != null ? game.getId() : null,
+                game != null ? game.getName() : null,
+                session.getStartTime(),
+                session.getEndTime(),
+                session.getDurationMinutes(),
+                session.getKills(),
+                session.getDeaths(),
+                session.getAssists(),
+                session.getAccuracy(),
+                session.getScore(),
+                session.getKdRatio(),
+                session.getAvgFps(),
+                session.getMedianFps(),
+                session.getOnePercentLowFps(),
+                session.getPointOnePercentLowFps(),
+                session.getAvgCpuUsage(),
+                session.getAvgGpuUsage(),
+                session.getAvgMemoryUsage(),
+                session.getAvgTemperature(),
+                session.getMoodBefore(),
+                session.getMoodAfter(),
+                session.getPerformanceRating(),
+                session.getNotes(),
+                session.isActive());
+    }
+}
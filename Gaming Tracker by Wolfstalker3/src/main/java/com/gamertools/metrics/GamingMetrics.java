@@ -0,0 +1,108 @@
+package com.gamertools.metrics;
+
+import com.gamertools.service.ActiveSessionRegistry;
+import com.gamertools.service.FrameTimeService;
+import com.gamertools.service.GamingScheduleService;
+import com.gamertools.service.PerformanceAnalyticsService;
+import com.gamertools.service.SessionEventService;
+import com.gamertools.service.SystemMonitoringService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Application gauges: active sessions, live session events and frames, system sampler lag, pending schedule
+ * reminders and the analytics aggregate cache. Values are read when the registry is scraped, so nothing here
+ * runs on the request path.
+ */
+@Component
+public class GamingMetrics implements MeterBinder {
+    
+    private static final String AGGREGATE_CACHE = "analytics-aggregates";
+    
+    @Autowired
+    private ActiveSessionRegistry activeSessions;
+    
+    @Autowired
+    private SystemMonitoringService systemMonitoringService;
+    
+    @Autowired
+    private PerformanceAnalyticsService analyticsService;
+    
+    @Autowired
+    private GamingScheduleService scheduleService;
+    
+    @Autowired
+    private SessionEventService eventService;
+    
+    @Autowired
+    private FrameTimeService frameTimeService;
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        // Read the services directly so scrapes do not show up in the service timers
+        SystemMonitoringService systemMonitoringService = unwrap(this.systemMonitoringService);
+        PerformanceAnalyticsService analyticsService = unwrap(this.analyticsService);
+        GamingScheduleService scheduleService = unwrap(this.scheduleService);
+        SessionEventService eventService = unwrap(this.eventService);
+        FrameTimeService frameTimeService = unwrap(this.frameTimeService);
+        
+        Gauge.builder("gaming.sessions.active", activeSessions, ActiveSessionRegistry::size)
+                .description("Sessions started and not yet ended")
+                .register(registry);
+        
+        FunctionCounter.builder("gaming.sessions.events", eventService, SessionEventService::getEventsRecorded)
+                .description("In-game events recorded for active sessions")
+                .register(registry);
+        
+        FunctionCounter.builder("gaming.sessions.frames", frameTimeService, FrameTimeService::getFramesRecorded)
+                .description("Frame times recorded into session histograms")
+                .register(registry);
+        
+        TimeGauge.builder("gaming.monitoring.sampler.lag", systemMonitoringService, TimeUnit.MILLISECONDS,
+                        SystemMonitoringService::getSamplerLagMillis)
+                .description("How far the latest system metrics sample is overdue")
+                .register(registry);
+        
+        Gauge.builder("gaming.reminders.pending", scheduleService, GamingScheduleService::getPendingReminderCount)
+                .description("Schedule reminders waiting in the reminder wheel")
+                .register(registry);
+        
+        // Same names and tags as Micrometer's cache binders, so cache dashboards work unchanged
+        FunctionCounter.builder("cache.gets", analyticsService, PerformanceAnalyticsService::getAggregateCacheHits)
+                .tags("cache", AGGREGATE_CACHE, "result", "hit")
+                .description("Cache lookups that found an entry")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", analyticsService, PerformanceAnalyticsService::getAggregateCacheMisses)
+                .tags("cache", AGGREGATE_CACHE, "result", "miss")
+                .description("Cache lookups that had to load the entry")
+                .register(registry);
+        Gauge.builder("cache.size", analyticsService, PerformanceAnalyticsService::getAggregateCacheSize)
+                .tag("cache", AGGREGATE_CACHE)
+                .description("Entries in the cache")
+                .register(registry);
+        Gauge.builder("gaming.cache.hit.ratio", analyticsService, GamingMetrics::aggregateHitRatio)
+                .tag("cache", AGGREGATE_CACHE)
+                .description("Share of cache lookups served from the cache since startup")
+                .register(registry);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static <T> T unwrap(T bean) {
+        Object target = AopProxyUtils.getSingletonTarget(bean);
+        return target != null ? (T) target : bean;
+    }
+    
+    private static double aggregateHitRatio(PerformanceAnalyticsService service) {
+        long hits = service.getAggregateCacheHits();
+        long total = hits + service.getAggregateCacheMisses();
+        return total == 0 ? Double.NaN : (double) hits / total;
+    }
+}
@@ -0,0 +1,76 @@
+package com.gamertools.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "daily_game_rollups", uniqueConstraints = @UniqueConstraint(columnNames = {"rollup_date", "game_id"}))
+public class DailyGameRollup {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate day;
+    
+    // Plain id rather than an association so rollups never load or cascade with games
+    @Column(name = "game_id", nullable = false)
+    private Long gameId;
+    
+    @Column(name = "session_count", nullable = false)
+    private long sessionCount;
+    
+    @Column(name = "playtime_minutes", nullable = false)
+    private long playtimeMinutes;
+    
+    // Constructors
+    public DailyGameRollup() {
+    }
+    
+    public DailyGameRollup(LocalDate day, Long gameId) {
+        this.day = day;
+        this.gameId = gameId;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public LocalDate getDay() {
+        return day;
+    }
+    
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+    
+    public Long getGameId() {
+        return gameId;
+    }
+    
+    public void setGameId(Long gameId) {
+        this.gameId = gameId;
+    }
+    
+    public long getSessionCount() {
+        return sessionCount;
+    }
+    
+    public void setSessionCount(long sessionCount) {
+        this.sessionCount = sessionCount;
+    }
+    
+    public long getPlaytimeMinutes() {
+        return playtimeMinutes;
+    }
+    
+    public void setPlaytimeMinutes(long playtimeMinutes) {
+        this.playtimeMinutes = playtimeMinutes;
+    }
+}
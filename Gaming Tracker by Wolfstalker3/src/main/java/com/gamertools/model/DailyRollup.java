@@ -0,0 +1,74 @@
+package com.gamertools.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "daily_rollups")
+public class DailyRollup {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "rollup_date", nullable = false, unique = true)
+    private LocalDate day;
+    
+    @Column(name = "session_count", nullable = false)
+    private long sessionCount;
+    
+    @Column(name = "playtime_minutes", nullable = false)
+    private long playtimeMinutes;
+    
+    @Column(name = "completed_schedules", nullable = false)
+    private long completedSchedules;
+    
+    // Constructors
+    public DailyRollup() {
+    }
+    
+    public DailyRollup(LocalDate day) {
+        this.day = day;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public LocalDate getDay() {
+        return day;
+    }
+    
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+    
+    public long getSessionCount() {
+        return sessionCount;
+    }
+    
+    public void setSessionCount(long sessionCount) {
+        this.sessionCount = sessionCount;
+    }
+    
+    public long getPlaytimeMinutes() {
+        return playtimeMinutes;
+    }
+    
+    public void setPlaytimeMinutes(long playtimeMinutes) {
+        this.playtimeMinutes = playtimeMinutes;
+    }
+    
+    public long getCompletedSchedules() {
+        return completedSchedules;
+    }
+    
+    public void setCompletedSchedules(long completedSchedules) {
+        this.completedSchedules = completedSchedules;
+    }
+}
@@ -7,7 +7,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "games")
+@Table(name = "games", indexes = @Index(name = "idx_games_name_key", columnList = "name_key"))
 public class Game {
     
     @Id
@@ -18,6 +18,11 @@ public class Game {
     @Column(nullable = false)
     private String name;
     
+    // Upper-cased copy of the name maintained by the database, so case-insensitive lookups can use an index
+    @Column(name = "name_key", insertable = false, updatable = false,
+            columnDefinition = "VARCHAR(255) GENERATED ALWAYS AS (UPPER(name))")
+    private String nameKey;
+    
     @NotBlank(message = "Genre is required")
     private String genre;
     
@@ -7,7 +7,11 @@ import java.time.LocalDateTime;
 import java.time.DayOfWeek;
 
 @Entity
-@Table(name = "gaming_schedules")
+@Table(name = "gaming_schedules", indexes = {
+        @Index(name = "idx_schedules_scheduled_time", columnList = "scheduled_time, id"),
+        @Index(name = "idx_schedules_completed_time", columnList = "is_completed, scheduled_time, id"),
+        @Index(name = "idx_schedules_type_completed", columnList = "type, is_completed")
+})
 public class GamingSchedule {
     
     @Id
@@ -2,11 +2,19 @@ package com.gamertools.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDateTime;
 import java.time.Duration;
 
+// Saves write only the columns that changed, so ending or editing a session cannot overwrite
+// the kill, death, assist and score totals that live events add to in place
 @Entity
-@Table(name = "gaming_sessions")
+@DynamicUpdate
+@Table(name = "gaming_sessions", indexes = {
+        @Index(name = "idx_sessions_start_time", columnList = "start_time DESC, id DESC"),
+        @Index(name = "idx_sessions_game_start_time", columnList = "game_id, start_time DESC, id DESC"),
+        @Index(name = "idx_sessions_end_time", columnList = "end_time")
+})
 public class GamingSession {
     
     @Id
@@ -38,6 +46,16 @@ public class GamingSession {
     @Column(name = "avg_fps")
     private Double avgFps;
     
+    // From recorded frame times; the lows are the frame rates at the 99th and 99.9th percentile frame time
+    @Column(name = "median_fps")
+    private Double medianFps;
+    
+    @Column(name = "one_percent_low_fps")
+    private Double onePercentLowFps;
+    
+    @Column(name = "point_one_percent_low_fps")
+    private Double pointOnePercentLowFps;
+    
     @Column(name = "avg_cpu_usage")
     private Double avgCpuUsage;
     
@@ -184,6 +202,30 @@ public class GamingSession {
         this.avgFps = avgFps;
     }
     
+    public Double getMedianFps() {
+        return medianFps;
+    }
+    
+    public void setMedianFps(Double medianFps) {
+        this.medianFps = medianFps;
+    }
+    
+    public Double getOnePercentLowFps() {
+        return onePercentLowFps;
+    }
+    
+    public void setOnePercentLowFps(Double onePercentLowFps) {
+        this.onePercentLowFps = onePercentLowFps;
+    }
+    
+    public Double getPointOnePercentLowFps() {
+        return pointOnePercentLowFps;
+    }
+    
+    public void setPointOnePercentLowFps(Double pointOnePercentLowFps) {
+        this.pointOnePercentLowFps = pointOnePercentLowFps;
+    }
+    
     public Double getAvgCpuUsage() {
         return avgCpuUsage;
     }
@@ -0,0 +1,95 @@
+package com.gamertools.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A change to one occurrence of a recurring schedule: completed, cancelled, or moved to
+ * another time. Occurrences without an override follow the schedule's recurrence.
+ */
+@Entity
+@Table(name = "schedule_occurrence_overrides",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"schedule_id", "occurrence_date"}),
+        indexes = @Index(name = "idx_occurrence_overrides_rescheduled", columnList = "rescheduled_time"))
+public class ScheduleOccurrenceOverride {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    // Plain id like the rollups; the schedule service removes overrides along with their schedule
+    @Column(name = "schedule_id", nullable = false)
+    private Long scheduleId;
+    
+    // The date the recurrence puts the occurrence on, which identifies it even after it is moved
+    @Column(name = "occurrence_date", nullable = false)
+    private LocalDate occurrenceDate;
+    
+    @Column(nullable = false)
+    private boolean completed;
+    
+    @Column(nullable = false)
+    private boolean cancelled;
+    
+    @Column(name = "rescheduled_time")
+    private LocalDateTime rescheduledTime;
+    
+    // Constructors
+    public ScheduleOccurrenceOverride() {
+    }
+    
+    public ScheduleOccurrenceOverride(Long scheduleId, LocalDate occurrenceDate) {
+        this.scheduleId = scheduleId;
+        this.occurrenceDate = occurrenceDate;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getScheduleId() {
+        return scheduleId;
+    }
+    
+    public void setScheduleId(Long scheduleId) {
+        this.scheduleId = scheduleId;
+    }
+    
+    public LocalDate getOccurrenceDate() {
+        return occurrenceDate;
+    }
+    
+    public void setOccurrenceDate(LocalDate occurrenceDate) {
+        this.occurrenceDate = occurrenceDate;
+    }
+    
+    public boolean isCompleted() {
+        return completed;
+    }
+    
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+    
+    public boolean isCancelled() {
+        return cancelled;
+    }
+    
+    public void setCancelled(boolean cancelled) {
+        this.cancelled = cancelled;
+    }
+    
+    public LocalDateTime getRescheduledTime() {
+        return rescheduledTime;
+    }
+    
+    public void setRescheduledTime(LocalDateTime rescheduledTime) {
+        this.rescheduledTime = rescheduledTime;
+    }
+}
@@ -17,4 +17,9 @@ public enum ScheduleType {
     public String getDisplayName() {
         return displayName;
     }
+    
+    // Recurring schedules repeat from their scheduled time rather than happening once
+    public boolean isRecurring() {
+        return this == DAILY || this == WEEKLY;
+    }
 }
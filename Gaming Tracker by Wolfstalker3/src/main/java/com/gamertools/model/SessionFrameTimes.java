@@ -0,0 +1,70 @@
+package com.gamertools.model;
+
+import jakarta.persistence.*;
+
+/**
+ * A session's frame time histogram, in the sparse encoding of
+ * {@link com.gamertools.service.FrameTimeHistogram#toBytes()}. Kept apart from the session
+ * row so session queries never load it.
+ */
+@Entity
+@Table(name = "session_frame_times", indexes = @Index(name = "idx_session_frame_times_game", columnList = "game_id"))
+public class SessionFrameTimes {
+    
+    // Plain ids like the rollups; the session service removes these along with their session or game
+    @Id
+    @Column(name = "session_id")
+    private Long sessionId;
+    
+    // Copied from the session so a game's histograms load without a join
+    @Column(name = "game_id", nullable = false)
+    private Long gameId;
+    
+    @Column(name = "frame_count", nullable = false)
+    private long frameCount;
+    
+    @Column(nullable = false, length = 65535)
+    private byte[] histogram;
+    
+    // Constructors
+    public SessionFrameTimes() {
+    }
+    
+    public SessionFrameTimes(Long sessionId, Long gameId) {
+        this.sessionId = sessionId;
+        this.gameId = gameId;
+    }
+    
+    // Getters and Setters
+    public Long getSessionId() {
+        return sessionId;
+    }
+    
+    public void setSessionId(Long sessionId) {
+        this.sessionId = sessionId;
+    }
+    
+    public Long getGameId() {
+        return gameId;
+    }
+    
+    public void setGameId(Long gameId) {
+        this.gameId = gameId;
+    }
+    
+    public long getFrameCount() {
+        return frameCount;
+    }
+    
+    public void setFrameCount(long frameCount) {
+        this.frameCount = frameCount;
+    }
+    
+    public byte[] getHistogram() {
+        return histogram;
+    }
+    
+    public void setHistogram(byte[] histogram) {
+        this.histogram = histogram;
+    }
+}
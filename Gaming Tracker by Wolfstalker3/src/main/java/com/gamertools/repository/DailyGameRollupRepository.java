@@ -0,0 +1,25 @@
+package com.gamertools.repository;
+
+import com.gamertools.model.DailyGameRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyGameRollupRepository extends JpaRepository<DailyGameRollup, Long> {
+    
+    List<DailyGameRollup> findByDayBetween(LocalDate from, LocalDate to);
+    
+    List<DailyGameRollup> findByGameId(Long gameId);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE DailyGameRollup r SET r.sessionCount = r.sessionCount + :sessions, r.playtimeMinutes = r.playtimeMinutes + :playtime " +
+           "WHERE r.day = :day AND r.gameId = :gameId")
+    int increment(@Param("day") LocalDate day, @Param("gameId") Long gameId, @Param("sessions") long sessions, @Param("playtime") long playtime);
+}
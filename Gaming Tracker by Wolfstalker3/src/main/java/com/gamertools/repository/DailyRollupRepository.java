@@ -0,0 +1,23 @@
+package com.gamertools.repository;
+
+import com.gamertools.model.DailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyRollupRepository extends JpaRepository<DailyRollup, Long> {
+    
+    List<DailyRollup> findByDayBetweenOrderByDayAsc(LocalDate from, LocalDate to);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE DailyRollup r SET r.sessionCount = r.sessionCount + :sessions, r.playtimeMinutes = r.playtimeMinutes + :playtime, " +
+           "r.completedSchedules = r.completedSchedules + :completed WHERE r.day = :day")
+    int increment(@Param("day") LocalDate day, @Param("sessions") long sessions, @Param("playtime") long playtime, @Param("completed") long completed);
+}
@@ -1,8 +1,10 @@
 package com.gamertools.repository;
 
 import com.gamertools.model.Game;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
@@ -10,11 +12,16 @@ import java.util.Optional;
 @Repository
 public interface GameRepository extends JpaRepository<Game, Long> {
     
-    Optional<Game> findByNameIgnoreCase(String name);
+    // Compares against the indexed upper-case name column rather than UPPER(name), which cannot use an index
+    @Query("SELECT g FROM Game g WHERE g.nameKey = UPPER(:name)")
+    Optional<Game> findByNameIgnoreCase(@Param("name") String name);
     
-    List<Game> findByGenreIgnoreCase(String genre);
+    // Keyset pages ordered by id; callers pass a Pageable of size limit + 1 to detect a further page
+    List<Game> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
     
-    List<Game> findByPlatformIgnoreCase(String platform);
+    List<Game> findByGenreIgnoreCaseAndIdGreaterThanOrderByIdAsc(String genre, Long id, Pageable pageable);
+    
+    List<Game> findByPlatformIgnoreCaseAndIdGreaterThanOrderByIdAsc(String platform, Long id, Pageable pageable);
     
     @Query("SELECT DISTINCT g.genre FROM Game g ORDER BY g.genre")
     List<String> findAllGenres();
@@ -23,5 +30,5 @@ public interface GameRepository extends JpaRepository<Game, Long> {
     List<String> findAllPlatforms();
     
     @Query("SELECT g FROM Game g JOIN g.sessions s GROUP BY g ORDER BY COUNT(s) DESC")
-    List<Game> findMostPlayedGames();
+    List<Game> findMostPlayedGames(Pageable pageable);
 }
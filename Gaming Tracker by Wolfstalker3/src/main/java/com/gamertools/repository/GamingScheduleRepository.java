@@ -2,32 +2,73 @@ package com.gamertools.repository;
 
 import com.gamertools.model.GamingSchedule;
 import com.gamertools.model.ScheduleType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.time.DayOfWeek;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface GamingScheduleRepository extends JpaRepository<GamingSchedule, Long> {
     
-    List<GamingSchedule> findByIsCompletedFalseOrderByScheduledTimeAsc();
+    // Keyset page of upcoming schedules, soonest first. Ordering by the constant isCompleted column too
+    // matches the (is_completed, scheduled_time, id) index, so the database reads it in order without sorting.
+    @Query("SELECT s FROM GamingSchedule s LEFT JOIN FETCH s.game WHERE s.isCompleted = false " +
+           "AND s.scheduledTime >= :cursorTime AND (s.scheduledTime > :cursorTime OR s.id > :cursorId) " +
+           "ORDER BY s.isCompleted, s.scheduledTime, s.id")
+    List<GamingSchedule> findUpcomingPage(@Param("cursorTime") LocalDateTime cursorTime, @Param("cursorId") Long cursorId,
+                                          Pageable pageable);
+    
+    long countByIsCompletedFalse();
+    
+    @Query("SELECT s.type, COUNT(s) FROM GamingSchedule s WHERE s.isCompleted = false GROUP BY s.type")
+    List<Object[]> countUpcomingByType();
     
     List<GamingSchedule> findByTypeAndIsCompletedFalse(ScheduleType type);
     
-    @Query("SELECT s FROM GamingSchedule s WHERE s.scheduledTime >= :startTime AND s.scheduledTime <= :endTime ORDER BY s.scheduledTime")
+    List<GamingSchedule> findByTypeInAndIsCompletedFalse(Collection<ScheduleType> types);
+    
+    @Query("SELECT s FROM GamingSchedule s LEFT JOIN FETCH s.game WHERE s.scheduledTime >= :startTime AND s.scheduledTime <= :endTime ORDER BY s.scheduledTime")
     List<GamingSchedule> findSchedulesBetween(@Param("startTime") LocalDateTime startTime, @Param("endTime") LocalDateTime endTime);
     
+    // Recurring series still running that began by the end of a window; their occurrences are computed, not stored
+    @Query("SELECT s FROM GamingSchedule s LEFT JOIN FETCH s.game WHERE s.type IN :types AND s.isCompleted = false " +
+           "AND s.scheduledTime <= :endTime ORDER BY s.id")
+    List<GamingSchedule> findRecurringSeries(@Param("types") Collection<ScheduleType> types, @Param("endTime") LocalDateTime endTime);
+    
+    @Query("SELECT s FROM GamingSchedule s LEFT JOIN FETCH s.game WHERE s.id IN :ids ORDER BY s.scheduledTime, s.id")
+    List<GamingSchedule> findWithGameByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // id, scheduled time and estimated duration of every uncompleted one-time schedule, for the in-memory conflict index
+    @Query("SELECT s.id, s.scheduledTime, s.estimatedDurationMinutes FROM GamingSchedule s " +
+           "WHERE s.isCompleted = false AND (s.type IS NULL OR s.type NOT IN :recurringTypes)")
+    List<Object[]> findUncompletedIntervals(@Param("recurringTypes") Collection<ScheduleType> recurringTypes);
+    
     @Query("SELECT s FROM GamingSchedule s WHERE s.scheduledTime <= :currentTime AND s.isCompleted = false AND s.reminderSent = false")
     List<GamingSchedule> findOverdueSchedules(@Param("currentTime") LocalDateTime currentTime);
     
-    @Query("SELECT s FROM GamingSchedule s WHERE s.scheduledTime BETWEEN :now AND :reminderTime AND s.reminderSent = false AND s.isCompleted = false")
-    List<GamingSchedule> findSchedulesNeedingReminder(@Param("now") LocalDateTime now, @Param("reminderTime") LocalDateTime reminderTime);
+    // id and scheduled time of every upcoming one-time schedule still owed a reminder, for the in-memory reminder wheel
+    @Query("SELECT s.id, s.scheduledTime FROM GamingSchedule s WHERE s.scheduledTime >= :now AND s.reminderSent = false " +
+           "AND s.isCompleted = false AND (s.type IS NULL OR s.type NOT IN :recurringTypes)")
+    List<Object[]> findPendingReminders(@Param("now") LocalDateTime now, @Param("recurringTypes") Collection<ScheduleType> recurringTypes);
+    
+    // Returns how many were still unsent; a reminder is only ever marked once
+    @Modifying
+    @Transactional
+    @Query("UPDATE GamingSchedule s SET s.reminderSent = true WHERE s.id IN :ids AND s.reminderSent = false")
+    int markRemindersSent(@Param("ids") Collection<Long> ids);
     
     List<GamingSchedule> findByDayOfWeekAndType(DayOfWeek dayOfWeek, ScheduleType type);
     
     @Query("SELECT COUNT(s) FROM GamingSchedule s WHERE s.isCompleted = true AND s.scheduledTime >= :startDate")
     Long countCompletedSchedulesSince(@Param("startDate") LocalDateTime startDate);
+    
+    @Query("SELECT CAST(s.scheduledTime AS LocalDate), COUNT(s) FROM GamingSchedule s WHERE s.isCompleted = true GROUP BY CAST(s.scheduledTime AS LocalDate)")
+    List<Object[]> countCompletedSchedulesByDay();
 }
@@ -2,26 +2,65 @@ package com.gamertools.repository;
 
 import com.gamertools.model.GamingSession;
 import com.gamertools.model.Game;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import jakarta.persistence.QueryHint;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface GamingSessionRepository extends JpaRepository<GamingSession, Long> {
     
-    List<GamingSession> findByGameOrderByStartTimeDesc(Game game);
+    // Keyset pages, newest first; callers pass a Pageable of size limit + 1 to detect a further page.
+    // The plain bound on startTime ahead of the tie-break lets the database seek the descending
+    // (start_time, id) indexes, and the ORDER BY mirrors the index so no sort is needed. Left joins
+    // keep the session table as the driving side of the plan, and filtering on s.game.id targets the
+    // foreign key column rather than the joined games row.
+    @Query("SELECT s FROM GamingSession s LEFT JOIN FETCH s.game WHERE s.game.id = :gameId " +
+           "AND s.startTime <= :cursorTime AND (s.startTime < :cursorTime OR s.id < :cursorId) " +
+           "ORDER BY s.game.id, s.startTime DESC, s.id DESC")
+    List<GamingSession> findPageByGame(@Param("gameId") Long gameId, @Param("cursorTime") LocalDateTime cursorTime,
+                                       @Param("cursorId") Long cursorId, Pageable pageable);
+    
+    @Query("SELECT s FROM GamingSession s JOIN FETCH s.game WHERE s.id = :id")
+    Optional<GamingSession> findWithGameById(@Param("id") Long id);
+    
+    // Only read at startup; ActiveSessionRegistry serves active sessions after that
+    @Query("SELECT s.id FROM GamingSession s WHERE s.game.id = :gameId")
+    List<Long> findIdsByGameId(@Param("gameId") Long gameId);
+    
+    @Query("SELECT s FROM GamingSession s JOIN FETCH s.game WHERE s.endTime IS NULL")
+    List<GamingSession> findActiveSessionsWithGame();
     
-    Optional<GamingSession> findByGameAndEndTimeIsNull(Game game);
+    // The cursor doubles as the upper end of the range, so the index seek gets a single upper bound
+    @Query("SELECT s FROM GamingSession s LEFT JOIN FETCH s.game WHERE s.startTime >= :startDate " +
+           "AND s.startTime <= :cursorTime AND (s.startTime < :cursorTime OR s.id < :cursorId) " +
+           "ORDER BY s.startTime DESC, s.id DESC")
+    List<GamingSession> findPageSince(@Param("startDate") LocalDateTime startDate, @Param("cursorTime") LocalDateTime cursorTime,
+                                      @Param("cursorId") Long cursorId, Pageable pageable);
     
-    @Query("SELECT s FROM GamingSession s WHERE s.endTime IS NULL")
-    List<GamingSession> findActiveSessions();
+    // Export scans are read through a JDBC cursor; callers must consume them inside a transaction
+    // and close the stream
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT s FROM GamingSession s LEFT JOIN FETCH s.game WHERE s.startTime >= :from AND s.startTime < :to ORDER BY s.id")
+    Stream<GamingSession> streamForExport(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
     
-    @Query("SELECT s FROM GamingSession s WHERE s.startTime >= :startDate AND s.startTime <= :endDate ORDER BY s.startTime DESC")
-    List<GamingSession> findSessionsBetweenDates(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT s FROM GamingSession s LEFT JOIN FETCH s.game WHERE s.game.id = :gameId " +
+           "AND s.startTime >= :from AND s.startTime < :to ORDER BY s.id")
+    Stream<GamingSession> streamForExportByGame(@Param("gameId") Long gameId, @Param("from") LocalDateTime from,
+                                                @Param("to") LocalDateTime to);
     
     @Query("SELECT AVG(s.durationMinutes) FROM GamingSession s WHERE s.game = :game AND s.durationMinutes IS NOT NULL")
     Double findAverageSessionDurationByGame(@Param("game") Game game);
@@ -35,6 +74,29 @@ public interface GamingSessionRepository extends JpaRepository<GamingSession, Lo
     @Query("SELECT SUM(s.durationMinutes) FROM GamingSession s WHERE s.startTime >= :date AND s.durationMinutes IS NOT NULL")
     Long getTotalPlaytimeSince(@Param("date") LocalDateTime date);
     
+    @Query("SELECT CAST(s.startTime AS LocalDate), s.game.id, COUNT(s), COALESCE(SUM(s.durationMinutes), 0) FROM GamingSession s " +
+           "GROUP BY CAST(s.startTime AS LocalDate), s.game.id")
+    List<Object[]> summarizeSessionsByDayAndGame();
+    
     @Query("SELECT s FROM GamingSession s WHERE s.game = :game AND s.performanceRating IS NOT NULL ORDER BY s.startTime DESC")
     List<GamingSession> findSessionsWithPerformanceRating(@Param("game") Game game);
+    
+    // Adds to the stored totals in place; a stat with no change keeps its value, even when null
+    @Modifying
+    @Transactional
+    @Query("UPDATE GamingSession s SET " +
+           "s.kills = CASE WHEN :kills = 0 THEN s.kills ELSE COALESCE(s.kills, 0) + :kills END, " +
+           "s.deaths = CASE WHEN :deaths = 0 THEN s.deaths ELSE COALESCE(s.deaths, 0) + :deaths END, " +
+           "s.assists = CASE WHEN :assists = 0 THEN s.assists ELSE COALESCE(s.assists, 0) + :assists END, " +
+           "s.score = CASE WHEN :score = 0 THEN s.score ELSE COALESCE(s.score, 0) + :score END " +
+           "WHERE s.id = :id")
+    int addStats(@Param("id") Long id, @Param("kills") int kills, @Param("deaths") int deaths,
+                 @Param("assists") int assists, @Param("score") int score);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE GamingSession s SET s.avgFps = :avgFps, s.medianFps = :medianFps, " +
+           "s.onePercentLowFps = :onePercentLowFps, s.pointOnePercentLowFps = :pointOnePercentLowFps WHERE s.id = :id")
+    int setFrameStats(@Param("id") Long id, @Param("avgFps") Double avgFps, @Param("medianFps") Double medianFps,
+                      @Param("onePercentLowFps") Double onePercentLowFps, @Param("pointOnePercentLowFps") Double pointOnePercentLowFps);
 }
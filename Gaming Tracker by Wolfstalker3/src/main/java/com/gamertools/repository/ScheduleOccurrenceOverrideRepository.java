@@ -0,0 +1,45 @@
+package com.gamertools.repository;
+
+import com.gamertools.model.ScheduleOccurrenceOverride;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ScheduleOccurrenceOverrideRepository extends JpaRepository<ScheduleOccurrenceOverride, Long> {
+    
+    Optional<ScheduleOccurrenceOverride> findByScheduleIdAndOccurrenceDate(Long scheduleId, LocalDate occurrenceDate);
+    
+    List<ScheduleOccurrenceOverride> findByScheduleIdAndCompletedTrue(Long scheduleId);
+    
+    // Overrides for occurrences falling in a window, plus occurrences moved into it from outside
+    @Query("SELECT o FROM ScheduleOccurrenceOverride o WHERE o.scheduleId IN :scheduleIds AND " +
+           "((o.occurrenceDate >= :fromDate AND o.occurrenceDate <= :toDate) OR " +
+           "(o.rescheduledTime >= :fromTime AND o.rescheduledTime <= :toTime))")
+    List<ScheduleOccurrenceOverride> findForWindow(@Param("scheduleIds") Collection<Long> scheduleIds,
+                                                   @Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate,
+                                                   @Param("fromTime") LocalDateTime fromTime, @Param("toTime") LocalDateTime toTime);
+    
+    // Overrides of occurrences on or after a date, or moved to a time on or after it
+    @Query("SELECT o FROM ScheduleOccurrenceOverride o WHERE o.scheduleId IN :scheduleIds AND " +
+           "(o.occurrenceDate >= :fromDate OR o.rescheduledTime >= :fromTime)")
+    List<ScheduleOccurrenceOverride> findUpcoming(@Param("scheduleIds") Collection<Long> scheduleIds,
+                                                  @Param("fromDate") LocalDate fromDate, @Param("fromTime") LocalDateTime fromTime);
+    
+    // Occurrence date and new time of every completed occurrence, for rebuilding the daily rollups
+    @Query("SELECT o.occurrenceDate, o.rescheduledTime FROM ScheduleOccurrenceOverride o WHERE o.completed = true")
+    List<Object[]> findCompletedOccurrenceDays();
+    
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ScheduleOccurrenceOverride o WHERE o.scheduleId = :scheduleId")
+    int deleteByScheduleId(@Param("scheduleId") Long scheduleId);
+}
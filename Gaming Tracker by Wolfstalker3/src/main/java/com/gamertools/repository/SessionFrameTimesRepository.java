@@ -0,0 +1,22 @@
+package com.gamertools.repository;
+
+import com.gamertools.model.SessionFrameTimes;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
+
+@Repository
+public interface SessionFrameTimesRepository extends JpaRepository<SessionFrameTimes, Long> {
+    
+    @Query("SELECT f.histogram FROM SessionFrameTimes f WHERE f.gameId = :gameId")
+    List<byte[]> findHistogramsByGameId(@Param("gameId") Long gameId);
+    
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM SessionFrameTimes f WHERE f.gameId = :gameId")
+    int deleteByGameId(@Param("gameId") Long gameId);
+}
@@ -0,0 +1,221 @@
+package com.gamertools.service;
+
+import com.gamertools.model.Game;
+import com.gamertools.model.GamingSession;
+import com.gamertools.repository.GamingSessionRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * The running sessions, one per game, held in memory so active-session reads never query
+ * the table. Loaded from the database when the application starts and kept current by the
+ * session writes. A game's slot is claimed before its session row is inserted, and a
+ * session is claimed before it is ended, so concurrent starts for one game or concurrent
+ * ends of one session let exactly one caller through.
+ *
+ * Sessions are held as detached copies that are replaced, never changed, so readers can use
+ * them without locking; callers must treat them as read-only.
+ */
+@Component
+public class ActiveSessionRegistry {
+    
+    // Fills a game's slot between the claim and the insert
+    private static final GamingSession STARTING = new GamingSession();
+    
+    @Autowired
+    private GamingSessionRepository sessionRepository;
+    
+    private final Map<Long, GamingSession> sessionsByGame = new ConcurrentHashMap<>();
+    private final Map<Long, Long> gamesBySession = new ConcurrentHashMap<>();
+    private final Set<Long> ending = ConcurrentHashMap.newKeySet();
+    
+    @PostConstruct
+    public void rebuild() {
+        for (GamingSession session : sessionRepository.findActiveSessionsWithGame()) {
+            started(session);
+        }
+    }
+    
+    /**
+     * Claims the game for a new session. Returns false when the game already has one
+     * running or being started.
+     */
+    public boolean reserve(Long gameId) {
+        return sessionsByGame.putIfAbsent(gameId, STARTING) == null;
+    }
+    
+    /**
+     * Gives up a claim whose session could not be created.
+     */
+    public void release(Long gameId) {
+        sessionsByGame.remove(gameId, STARTING);
+    }
+    
+    public void started(GamingSession session) {
+        Long gameId = session.getGame().getId();
+        gamesBySession.put(session.getId(), gameId);
+        sessionsByGame.put(gameId, copy(session));
+    }
+    
+    /**
+     * Claims an active session for ending it. Returns false when the session is not active
+     * or another caller is already ending it.
+     */
+    public boolean beginEnd(Long sessionId) {
+        return gamesBySession.containsKey(sessionId) && ending.add(sessionId);
+    }
+    
+    /**
+     * Gives up a claim whose session could not be ended; the session stays active.
+     */
+    public void endAborted(Long sessionId) {
+        ending.remove(sessionId);
+    }
+    
+    public void ended(Long sessionId) {
+        Long gameId = gamesBySession.remove(sessionId);
+        if (gameId != null) {
+            sessionsByGame.computeIfPresent(gameId, (id, current) -> sessionId.equals(current.getId()) ? null : current);
+        }
+        ending.remove(sessionId);
+    }
+    
+    /**
+     * Replaces the held copy after an edit. Sessions that are not active are ignored.
+     */
+    public void update(GamingSession session) {
+        replace(session.getId(), current -> copy(session));
+    }
+    
+    /**
+     * Adds live event counts to the held copy, the same way the in-place update adds them
+     * to the row.
+     */
+    public void addStats(Long sessionId, int kills, int deaths, int assists, int score) {
+        replace(sessionId, current -> {
+            GamingSession updated = copy(current);
+            updated.setKills(add(current.getKills(), kills));
+            updated.setDeaths(add(current.getDeaths(), deaths));
+            updated.setAssists(add(current.getAssists(), assists));
+            updated.setScore(add(current.getScore(), score));
+            return updated;
+        });
+    }
+    
+    /**
+     * Sets the FPS figures derived from the session's frame times, as they were written to
+     * the row.
+     */
+    public void setFrameStats(Long sessionId, Double avgFps, Double medianFps, Double onePercentLowFps, Double pointOnePercentLowFps) {
+        replace(sessionId, current -> {
+            GamingSession updated = copy(current);
+            updated.setAvgFps(avgFps);
+            updated.setMedianFps(medianFps);
+            updated.setOnePercentLowFps(onePercentLowFps);
+            updated.setPointOnePercentLowFps(pointOnePercentLowFps);
+            return updated;
+        });
+    }
+    
+    public void gameChanged(Game game) {
+        sessionsByGame.computeIfPresent(game.getId(), (id, current) -> {
+            if (current == STARTING) {
+                return current;
+            }
+            GamingSession updated = copy(current);
+            updated.setGame(copy(game));
+            return updated;
+        });
+    }
+    
+    // Deleting a game deletes its sessions with it
+    public void gameDeleted(Long gameId) {
+        GamingSession removed = sessionsByGame.remove(gameId);
+        if (removed != null && removed != STARTING) {
+            gamesBySession.remove(removed.getId());
+            ending.remove(removed.getId());
+        }
+    }
+    
+    public boolean isActive(Long sessionId) {
+        return gamesBySession.containsKey(sessionId);
+    }
+    
+    public List<GamingSession> getActiveSessions() {
+        List<GamingSession> sessions = new ArrayList<>(sessionsByGame.size());
+        for (GamingSession session : sessionsByGame.values()) {
+            if (session != STARTING) {
+                sessions.add(session);
+            }
+        }
+        sessions.sort(Comparator.comparing(GamingSession::getId));
+        return sessions;
+    }
+    
+    // The game of an active session, or null when the session is not active
+    public Long getGameId(Long sessionId) {
+        return gamesBySession.get(sessionId);
+    }
+    
+    public int size() {
+        return gamesBySession.size();
+    }
+    
+    private void replace(Long sessionId, UnaryOperator<GamingSession> change) {
+        Long gameId = gamesBySession.get(sessionId);
+        if (gameId == null) {
+            return;
+        }
+        sessionsByGame.computeIfPresent(gameId, (id, current) -> sessionId.equals(current.getId()) ? change.apply(current) : current);
+    }
+    
+    private static Integer add(Integer value, int delta) {
+        if (delta == 0) {
+            return value;
+        }
+        return (value != null ? value : 0) + delta;
+    }
+    
+    private static GamingSession copy(GamingSession session) {
+        GamingSession copy = new GamingSession(copy(session.getGame()));
+        copy.setId(session.getId());
+        copy.setStartTime(session.getStartTime());
+        copy.setEndTime(session.getEndTime());
+        copy.setDurationMinutes(session.getDurationMinutes());
+        copy.setKills(session.getKills());
+        copy.setDeaths(session.getDeaths());
+        copy.setAssists(session.getAssists());
+        copy.setAccuracy(session.getAccuracy());
+        copy.setScore(session.getScore());
+        copy.setAvgFps(session.getAvgFps());
+        copy.setMedianFps(session.getMedianFps());
+        copy.setOnePercentLowFps(session.getOnePercentLowFps());
+        copy.setPointOnePercentLowFps(session.getPointOnePercentLowFps());
+        copy.setAvgCpuUsage(session.getAvgCpuUsage());
+        copy.setAvgGpuUsage(session.getAvgGpuUsage());
+        copy.setAvgMemoryUsage(session.getAvgMemoryUsage());
+        copy.setAvgTemperature(session.getAvgTemperature());
+        copy.setMoodBefore(session.getMoodBefore());
+        copy.setMoodAfter(session.getMoodAfter());
+        copy.setPerformanceRating(session.getPerformanceRating());
+        copy.setNotes(session.getNotes());
+        return copy;
+    }
+    
+    // A plain copy of the columns, free of the persistence context and the lazy session list
+    private static Game copy(Game game) {
+        Game copy = new Game(game.getName(), game.getGenre(), game.getPlatform());
+        copy.setId(game.getId());
+        copy.setCreatedAt(game.getCreatedAt());
+        return copy;
+    }
+}
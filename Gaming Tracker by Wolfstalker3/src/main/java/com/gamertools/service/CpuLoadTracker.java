@@ -0,0 +1,113 @@
+package com.gamertools.service;
+
+import oshi.hardware.CentralProcessor;
+
+/**
+ * Tracks CPU load between successive samples by keeping the previous tick counters.
+ * Not thread-safe: it is meant to be driven by a single sampler thread.
+ */
+public class CpuLoadTracker {
+
+    // Windows shorter than this are dominated by tick granularity and are ignored
+    private static final long MIN_WINDOW_NANOS = 200_000_000L;
+
+    private static final double ONE_SECOND_NANOS = 1_000_000_000.0;
+    private static final double TEN_SECONDS_NANOS = 10 * ONE_SECOND_NANOS;
+    private static final double SIXTY_SECONDS_NANOS = 60 * ONE_SECOND_NANOS;
+
+    private final CentralProcessor processor;
+
+    private long[] previousSystemTicks;
+    private long[][] previousProcessorTicks;
+    private long previousSampleNanos;
+
+    private double systemLoad;
+    private double[] perCoreLoad;
+    private double load1s;
+    private double load10s;
+    private double load60s;
+    private boolean seeded;
+
+    public CpuLoadTracker(CentralProcessor processor) {
+        this.processor = processor;
+        this.previousSystemTicks = processor.getSystemCpuLoadTicks();
+        this.previousProcessorTicks = processor.getProcessorCpuLoadTicks();
+        this.previousSampleNanos = System.nanoTime();
+        this.perCoreLoad = new double[processor.getLogicalProcessorCount()];
+    }
+
+    /**
+     * Measures load since the previous call and folds it into the moving averages.
+     * Returns false if too little time has passed for a meaningful reading.
+     */
+    public boolean update() {
+        long now = System.nanoTime();
+        long elapsed = now - previousSampleNanos;
+        if (elapsed < MIN_WINDOW_NANOS) {
+            return false;
+        }
+
+        systemLoad = processor.getSystemCpuLoadBetweenTicks(previousSystemTicks) * 100;
+        perCoreLoad = processor.getProcessorCpuLoadBetweenTicks(previousProcessorTicks);
+        for (int i = 0; i < perCoreLoad.length; i++) {
+            perCoreLoad[i] *= 100;
+        }
+
+        previousSystemTicks = processor.getSystemCpuLoadTicks();
+        previousProcessorTicks = processor.getProcessorCpuLoadTicks();
+        previousSampleNanos = now;
+
+        if (!seeded) {
+            load1s = systemLoad;
+            load10s = systemLoad;
+            load60s = systemLoad;
+            seeded = true;
+        } else {
+            load1s = decay(load1s, elapsed, ONE_SECOND_NANOS);
+            load10s = decay(load10s, elapsed, TEN_SECONDS_NANOS);
+            load60s = decay(load60s, elapsed, SIXTY_SECONDS_NANOS);
+        }
+        return true;
+    }
+
+    // Exponential moving average whose weight depends on the actual sample spacing
+    private double decay(double average, long elapsedNanos, double windowNanos) {
+        double alpha = 1 - Math.exp(-elapsedNanos / windowNanos);
+        return average + alpha * (systemLoad - average);
+    }
+
+    /**
+     * Whether a full window has been measured yet. Until then every load reads as zero.
+     */
+    public boolean hasReading() {
+        return seeded;
+    }
+
+    public double getSystemLoad() {
+        return systemLoad;
+    }
+
+    public double[] getPerCoreLoad() {
+        return perCoreLoad.clone();
+    }
+
+    public double getMaxCoreLoad() {
+        double max = 0;
+        for (double load : perCoreLoad) {
+            max = Math.max(max, load);
+        }
+        return max;
+    }
+
+    public double getLoad1s() {
+        return load1s;
+    }
+
+    public double getLoad10s() {
+        return load10s;
+    }
+
+    public double getLoad60s() {
+        return load60s;
+    }
+}
@@ -0,0 +1,266 @@
+package com.gamertools.service;
+
+import com.gamertools.model.DailyGameRollup;
+import com.gamertools.model.DailyRollup;
+import com.gamertools.model.Game;
+import com.gamertools.model.GamingSession;
+import com.gamertools.repository.DailyGameRollupRepository;
+import com.gamertools.repository.DailyRollupRepository;
+import com.gamertools.repository.GameRepository;
+import com.gamertools.repository.GamingScheduleRepository;
+import com.gamertools.repository.GamingSessionRepository;
+import com.gamertools.repository.ScheduleOccurrenceOverrideRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Maintains one row per day (and per day and game) of session counts, playtime and
+ * completed schedules, so range statistics are a sum over a few small rows instead of
+ * aggregate queries over the full session and schedule tables.
+ */
+@Service
+public class DailyRollupService {
+    
+    @Autowired
+    private DailyRollupRepository rollupRepository;
+    
+    @Autowired
+    private DailyGameRollupRepository gameRollupRepository;
+    
+    @Autowired
+    private GamingSessionRepository sessionRepository;
+    
+    @Autowired
+    private GamingScheduleRepository scheduleRepository;
+    
+    @Autowired
+    private GameRepository gameRepository;
+    
+    @Autowired
+    private ScheduleOccurrenceOverrideRepository overrideRepository;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeRollups() {
+        if (rollupRepository.count() == 0) {
+            rebuild();
+        }
+    }
+    
+    public void recordSessionStarted(GamingSession session) {
+        LocalDate day = session.getStartTime().toLocalDate();
+        incrementDay(day, 1, 0, 0);
+        incrementGameDay(day, session.getGame().getId(), 1, 0);
+    }
+    
+    public void recordSessionEnded(GamingSession session) {
+        if (session.getDurationMinutes() == null || session.getDurationMinutes() == 0) {
+            return;
+        }
+        LocalDate day = session.getStartTime().toLocalDate();
+        incrementDay(day, 0, session.getDurationMinutes(), 0);
+        incrementGameDay(day, session.getGame().getId(), 0, session.getDurationMinutes());
+    }
+    
+    public void recordSessionDeleted(GamingSession session) {
+        LocalDate day = session.getStartTime().toLocalDate();
+        long playtime = session.getDurationMinutes() != null ? session.getDurationMinutes() : 0;
+        incrementDay(day, -1, -playtime, 0);
+        incrementGameDay(day, session.getGame().getId(), -1, -playtime);
+    }
+    
+    /**
+     * Adds sessions written in bulk, summed by the caller into {sessions, playtimeMinutes}
+     * per day and game. Existing rows for the covered days are loaded and updated in one
+     * transaction instead of one increment per key.
+     */
+    @Transactional
+    public void recordImportedSessions(Map<LocalDate, Map<Long, long[]>> totals) {
+        if (totals.isEmpty()) {
+            return;
+        }
+        LocalDate from = Collections.min(totals.keySet());
+        LocalDate to = Collections.max(totals.keySet());
+        
+        Map<LocalDate, DailyRollup> days = new HashMap<>();
+        for (DailyRollup rollup : rollupRepository.findByDayBetweenOrderByDayAsc(from, to)) {
+            days.put(rollup.getDay(), rollup);
+        }
+        Map<LocalDate, Map<Long, DailyGameRollup>> gameDays = new HashMap<>();
+        for (DailyGameRollup gameRollup : gameRollupRepository.findByDayBetween(from, to)) {
+            gameDays.computeIfAbsent(gameRollup.getDay(), day -> new HashMap<>()).put(gameRollup.getGameId(), gameRollup);
+        }
+        
+        List<DailyRollup> changedDays = new ArrayList<>();
+        List<DailyGameRollup> changedGameDays = new ArrayList<>();
+        totals.forEach((day, games) -> {
+            DailyRollup rollup = days.computeIfAbsent(day, DailyRollup::new);
+            games.forEach((gameId, gameTotals) -> {
+                DailyGameRollup gameRollup = gameDays.computeIfAbsent(day, d -> new HashMap<>())
+                        .computeIfAbsent(gameId, id -> new DailyGameRollup(day, id));
+                gameRollup.setSessionCount(gameRollup.getSessionCount() + gameTotals[0]);
+                gameRollup.setPlaytimeMinutes(gameRollup.getPlaytimeMinutes() + gameTotals[1]);
+                changedGameDays.add(gameRollup);
+                
+                rollup.setSessionCount(rollup.getSessionCount() + gameTotals[0]);
+                rollup.setPlaytimeMinutes(rollup.getPlaytimeMinutes() + gameTotals[1]);
+            });
+            changedDays.add(rollup);
+        });
+        rollupRepository.saveAll(changedDays);
+        gameRollupRepository.saveAll(changedGameDays);
+    }
+    
+    public void recordScheduleCompleted(LocalDateTime scheduledTime, int delta) {
+        incrementDay(scheduledTime.toLocalDate(), 0, 0, delta);
+    }
+    
+    /**
+     * Subtracts a deleted game's sessions, which the database removes by cascade.
+     */
+    @Transactional
+    public void removeGame(Long gameId) {
+        for (DailyGameRollup gameRollup : gameRollupRepository.findByGameId(gameId)) {
+            rollupRepository.increment(gameRollup.getDay(), -gameRollup.getSessionCount(), -gameRollup.getPlaytimeMinutes(), 0);
+            gameRollupRepository.delete(gameRollup);
+        }
+    }
+    
+    /**
+     * Recomputes every rollup row from the session and schedule tables.
+     */
+    @Transactional
+    public void rebuild() {
+        gameRollupRepository.deleteAllInBatch();
+        rollupRepository.deleteAllInBatch();
+        
+        Map<LocalDate, DailyRollup> days = new HashMap<>();
+        List<DailyGameRollup> gameDays = new ArrayList<>();
+        
+        for (Object[] row : sessionRepository.summarizeSessionsByDayAndGame()) {
+            LocalDate day = (LocalDate) row[0];
+            DailyGameRollup gameRollup = new DailyGameRollup(day, (Long) row[1]);
+            gameRollup.setSessionCount(((Number) row[2]).longValue());
+            gameRollup.setPlaytimeMinutes(((Number) row[3]).longValue());
+            gameDays.add(gameRollup);
+            
+            DailyRollup rollup = days.computeIfAbsent(day, DailyRollup::new);
+            rollup.setSessionCount(rollup.getSessionCount() + gameRollup.getSessionCount());
+            rollup.setPlaytimeMinutes(rollup.getPlaytimeMinutes() + gameRollup.getPlaytimeMinutes());
+        }
+        
+        for (Object[] row : scheduleRepository.countCompletedSchedulesByDay()) {
+            DailyRollup rollup = days.computeIfAbsent((LocalDate) row[0], DailyRollup::new);
+            rollup.setCompletedSchedules(((Number) row[1]).longValue());
+        }
+        
+        // Completed occurrences of recurring schedules count on the day they were held
+        for (Object[] row : overrideRepository.findCompletedOccurrenceDays()) {
+            LocalDate day = row[1] != null ? ((LocalDateTime) row[1]).toLocalDate() : (LocalDate) row[0];
+            DailyRollup rollup = days.computeIfAbsent(day, DailyRollup::new);
+            rollup.setCompletedSchedules(rollup.getCompletedSchedules() + 1);
+        }
+        
+        rollupRepository.saveAll(days.values());
+        gameRollupRepository.saveAll(gameDays);
+    }
+    
+    public RangeTotals getTotals(LocalDate from, LocalDate to) {
+        RangeTotals totals = new RangeTotals();
+        for (DailyRollup rollup : rollupRepository.findByDayBetweenOrderByDayAsc(from, to)) {
+            totals.sessions += rollup.getSessionCount();
+            totals.playtimeMinutes += rollup.getPlaytimeMinutes();
+            totals.completedSchedules += rollup.getCompletedSchedules();
+        }
+        return totals;
+    }
+    
+    public Map<String, Object> getRangeAnalytics(LocalDate from, LocalDate to) {
+        Map<String, Object> analytics = new HashMap<>();
+        
+        List<Map<String, Object>> daily = new ArrayList<>();
+        long sessions = 0;
+        long playtime = 0;
+        long completed = 0;
+        for (DailyRollup rollup : rollupRepository.findByDayBetweenOrderByDayAsc(from, to)) {
+            Map<String, Object> day = new HashMap<>();
+            day.put("day", rollup.getDay());
+            day.put("sessions", rollup.getSessionCount());
+            day.put("playtimeMinutes", rollup.getPlaytimeMinutes());
+            day.put("completedSchedules", rollup.getCompletedSchedules());
+            daily.add(day);
+            
+            sessions += rollup.getSessionCount();
+            playtime += rollup.getPlaytimeMinutes();
+            completed += rollup.getCompletedSchedules();
+        }
+        
+        Map<Long, long[]> perGameTotals = new HashMap<>();
+        for (DailyGameRollup gameRollup : gameRollupRepository.findByDayBetween(from, to)) {
+            long[] gameTotals = perGameTotals.computeIfAbsent(gameRollup.getGameId(), id -> new long[2]);
+            gameTotals[0] += gameRollup.getSessionCount();
+            gameTotals[1] += gameRollup.getPlaytimeMinutes();
+        }
+        
+        Map<Long, String> gameNames = new HashMap<>();
+        for (Game game : gameRepository.findAllById(perGameTotals.keySet())) {
+            gameNames.put(game.getId(), game.getName());
+        }
+        
+        List<Map<String, Object>> perGame = new ArrayList<>();
+        perGameTotals.forEach((gameId, gameTotals) -> {
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("gameId", gameId);
+            entry.put("gameName", gameNames.get(gameId));
+            entry.put("sessions", gameTotals[0]);
+            entry.put("playtimeMinutes", gameTotals[1]);
+            perGame.add(entry);
+        });
+        perGame.sort(Comparator.comparing((Map<String, Object> entry) -> (Long) entry.get("playtimeMinutes")).reversed());
+        
+        analytics.put("from", from);
+        analytics.put("to", to);
+        analytics.put("sessions", sessions);
+        analytics.put("playtimeHours", Math.round((playtime / 60.0) * 100.0) / 100.0);
+        analytics.put("completedSchedules", completed);
+        analytics.put("daily", daily);
+        analytics.put("games", perGame);
+        
+        return analytics;
+    }
+    
+    private void incrementDay(LocalDate day, long sessions, long playtime, long completed) {
+        if (rollupRepository.increment(day, sessions, playtime, completed) == 0) {
+            try {
+                rollupRepository.save(new DailyRollup(day));
+            } catch (DataIntegrityViolationException e) {
+                // Another writer created the row first; fall through to the increment
+            }
+            rollupRepository.increment(day, sessions, playtime, completed);
+        }
+    }
+    
+    private void incrementGameDay(LocalDate day, Long gameId, long sessions, long playtime) {
+        if (gameRollupRepository.increment(day, gameId, sessions, playtime) == 0) {
+            try {
+                gameRollupRepository.save(new DailyGameRollup(day, gameId));
+            } catch (DataIntegrityViolationException e) {
+                // Another writer created the row first; fall through to the increment
+            }
+            gameRollupRepository.increment(day, gameId, sessions, playtime);
+        }
+    }
+    
+    public static class RangeTotals {
+        public long sessions;
+        public long playtimeMinutes;
+        public long completedSchedules;
+    }
+}
@@ -0,0 +1,138 @@
+package com.gamertools.service;
+
+import com.gamertools.config.WorkerPools;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Loads the dashboard's independent sections concurrently. Every section has the same
+ * deadline, counted from when the dashboard was requested; a section that misses it or
+ * fails is replaced by an empty value and reported in {@code status}, so one slow query
+ * degrades its own section instead of holding up the page.
+ */
+@Service
+public class DashboardService {
+    
+    private static final Logger log = LoggerFactory.getLogger(DashboardService.class);
+    
+    @Autowired
+    private GameService gameService;
+    
+    @Autowired
+    private GamingSessionService sessionService;
+    
+    @Autowired
+    private GamingScheduleService scheduleService;
+    
+    @Autowired
+    private SystemMonitoringService systemMonitoringService;
+    
+    @Autowired
+    private PerformanceAnalyticsService analyticsService;
+    
+    @Value("${gaming.dashboard.threads:8}")
+    private int workerThreads;
+    
+    @Value("${gaming.dashboard.queue-capacity:500}")
+    private int queueCapacity;
+    
+    @Value("${gaming.dashboard.part-timeout-ms:1000}")
+    private long partTimeoutMs;
+    
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+    
+    private ThreadPoolExecutor workers;
+    
+    @PostConstruct
+    public void startWorkers() {
+        workers = WorkerPools.newBoundedPool("dashboard-worker-", workerThreads, queueCapacity, virtualThreads);
+    }
+    
+    @PreDestroy
+    public void stopWorkers() {
+        WorkerPools.shutdown(workers);
+    }
+    
+    /**
+     * The dashboard sections, keyed by name, plus {@code status} (each section's ok, timeout,
+     * rejected or error) and {@code partial}, true when any section fell back to empty.
+     */
+    public Map<String, Object> getDashboard() {
+        Map<String, CompletableFuture<?>> parts = new LinkedHashMap<>();
+        parts.put("games", submit(gameService::getAllGames));
+        parts.put("gameCount", submit(gameService::getGameCount));
+        parts.put("activeSessions", submit(sessionService::getActiveSessions));
+        parts.put("todaySchedules", submit(scheduleService::getSchedulesForToday));
+        parts.put("systemMetrics", submit(systemMonitoringService::getCurrentSystemMetrics));
+        parts.put("overallStats", submit(analyticsService::getOverallStats));
+        
+        Map<String, Object> dashboard = new LinkedHashMap<>();
+        Map<String, String> status = new LinkedHashMap<>();
+        for (Map.Entry<String, CompletableFuture<?>> part : parts.entrySet()) {
+            String name = part.getKey();
+            try {
+                dashboard.put(name, part.getValue().join());
+                status.put(name, "ok");
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                if (cause instanceof TimeoutException) {
+                    status.put(name, "timeout");
+                } else if (cause instanceof RejectedExecutionException) {
+                    status.put(name, "rejected");
+                } else {
+                    status.put(name, "error");
+                    log.warn("Dashboard section {} failed", name, cause);
+                }
+                dashboard.put(name, fallback(name));
+            }
+        }
+        dashboard.put("status", status);
+        dashboard.put("partial", !status.values().stream().allMatch("ok"::equals));
+        return dashboard;
+    }
+    
+    // A queued section whose deadline has already passed is skipped rather than run for nobody
+    private <T> CompletableFuture<T> submit(Supplier<T> section) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            workers.execute(() -> {
+                if (future.isDone()) {
+                    return;
+                }
+                try {
+                    future.complete(section.get());
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future.orTimeout(partTimeoutMs, TimeUnit.MILLISECONDS);
+    }
+    
+    private static Object fallback(String name) {
+        return switch (name) {
+            case "gameCount" -> 0L;
+            case "systemMetrics", "overallStats" -> Map.of();
+            default -> List.of();
+        };
+    }
+}
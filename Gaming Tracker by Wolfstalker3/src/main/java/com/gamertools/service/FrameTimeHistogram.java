@@ -0,0 +1,198 @@
+package com.gamertools.service;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Counts of frame times in microseconds, in the log-linear layout of an HDR histogram:
+ * exact below 256 us, then 128 buckets per power of two, so every bucket is within 0.8%
+ * of the values in it. Memory is fixed at {@link #BUCKETS} counters however many frames
+ * are recorded, and histograms add and subtract bucket by bucket, so sessions merge into
+ * a game's distribution without their raw samples.
+ *
+ * Not thread-safe; callers hold their own lock.
+ */
+public class FrameTimeHistogram {
+    
+    private static final int SUB_BUCKET_BITS = 8;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+    // Frames longer than 2^25 us (about 33.5 s) are counted as 33.5 s
+    private static final int MAX_EXPONENT = 25;
+    public static final long MAX_FRAME_MICROS = (1L << MAX_EXPONENT) - 1;
+    public static final int BUCKETS = SUB_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS) * HALF_SUB_BUCKETS;
+    
+    private static final byte FORMAT_VERSION = 1;
+    
+    private final long[] counts = new long[BUCKETS];
+    private long totalCount;
+    private long totalMicros;
+    
+    public void recordMicros(long micros) {
+        long value = Math.max(1, Math.min(micros, MAX_FRAME_MICROS));
+        counts[index(value)]++;
+        totalCount++;
+        totalMicros += value;
+    }
+    
+    /**
+     * Records a frame time in milliseconds, the unit PresentMon and MangoHud log in.
+     * Returns false, recording nothing, for a value that is not a positive number.
+     */
+    public boolean recordMillis(double millis) {
+        if (!(millis > 0) || Double.isInfinite(millis)) {
+            return false;
+        }
+        recordMicros(Math.round(millis * 1000));
+        return true;
+    }
+    
+    public void add(FrameTimeHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        totalMicros += other.totalMicros;
+    }
+    
+    /**
+     * Takes out frames previously added with {@link #add}.
+     */
+    public void subtract(FrameTimeHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] -= other.counts[i];
+        }
+        totalCount -= other.totalCount;
+        totalMicros -= other.totalMicros;
+    }
+    
+    public FrameTimeHistogram copy() {
+        FrameTimeHistogram copy = new FrameTimeHistogram();
+        copy.add(this);
+        return copy;
+    }
+    
+    public long getTotalCount() {
+        return totalCount;
+    }
+    
+    public long getTotalMicros() {
+        return totalMicros;
+    }
+    
+    /**
+     * The frame time that {@code percentile} percent of frames are at or below, as the
+     * midpoint of its bucket; 0 when nothing has been recorded. The percentile is taken to
+     * three decimals.
+     */
+    public long getMicrosAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        // In whole thousandths of a percent, so 99.9 of 1000 frames is rank 999 and not 1000
+        long thousandths = Math.max(0, Math.min(100_000, Math.round(percentile * 1000)));
+        long rank = Math.max(1, -Math.floorDiv(-thousandths * totalCount, 100_000));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return lowestValue(i) + (bucketWidth(i) >> 1);
+            }
+        }
+        return MAX_FRAME_MICROS;
+    }
+    
+    // Frames over total time, which weights a long frame by how long it was on screen
+    public Double getAverageFps() {
+        return totalMicros > 0 ? totalCount * 1_000_000.0 / totalMicros : null;
+    }
+    
+    /**
+     * The frame rate matching the frame time at {@code percentile}: 50 gives the median FPS,
+     * 99 the "1% low" and 99.9 the "0.1% low".
+     */
+    public Double getFpsAtPercentile(double percentile) {
+        long micros = getMicrosAtPercentile(percentile);
+        return micros > 0 ? 1_000_000.0 / micros : null;
+    }
+    
+    /**
+     * Sparse encoding for storage: the totals, then each non-empty bucket as the gap from the
+     * previous one and its count, all as variable-length integers. A session's frames rarely
+     * spread over more than a few hundred buckets, so this is usually well under a kilobyte.
+     */
+    public byte[] toBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        out.write(FORMAT_VERSION);
+        writeVarLong(out, totalCount);
+        writeVarLong(out, totalMicros);
+        int previous = -1;
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts[i] != 0) {
+                writeVarLong(out, i - previous);
+                writeVarLong(out, counts[i]);
+                previous = i;
+            }
+        }
+        return out.toByteArray();
+    }
+    
+    public static FrameTimeHistogram fromBytes(byte[] bytes) {
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        if (in.get() != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unknown frame time histogram format: " + bytes[0]);
+        }
+        FrameTimeHistogram histogram = new FrameTimeHistogram();
+        histogram.totalCount = readVarLong(in);
+        histogram.totalMicros = readVarLong(in);
+        int index = -1;
+        while (in.hasRemaining()) {
+            index += (int) readVarLong(in);
+            histogram.counts[index] = readVarLong(in);
+        }
+        return histogram;
+    }
+    
+    static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        // Keep the top SUB_BUCKET_BITS bits; the leading one is implied by the shift
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        int mantissa = (int) (value >>> shift);
+        return SUB_BUCKETS + (shift - 1) * HALF_SUB_BUCKETS + (mantissa - HALF_SUB_BUCKETS);
+    }
+    
+    static long lowestValue(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int offset = index - SUB_BUCKETS;
+        int shift = offset / HALF_SUB_BUCKETS + 1;
+        return (long) (HALF_SUB_BUCKETS + offset % HALF_SUB_BUCKETS) << shift;
+    }
+    
+    static long bucketWidth(int index) {
+        return index < SUB_BUCKETS ? 1 : 1L << ((index - SUB_BUCKETS) / HALF_SUB_BUCKETS + 1);
+    }
+    
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+    
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+}
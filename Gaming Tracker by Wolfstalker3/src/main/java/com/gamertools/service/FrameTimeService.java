@@ -0,0 +1,439 @@
+package com.gamertools.service;
+
+import com.gamertools.model.GamingSession;
+import com.gamertools.model.SessionFrameTimes;
+import com.gamertools.repository.GamingSessionRepository;
+import com.gamertools.repository.SessionFrameTimesRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Frame time histograms per session, and merged per game. A running session's histogram is
+ * held in memory and written out, with the FPS figures derived from it, every flush interval
+ * and when the session ends. Frames sent for an ended session, such as a log uploaded after
+ * playing, are merged straight into its stored histogram. Game histograms are the sum of
+ * their sessions' stored histograms, loaded on first read and kept current by every write.
+ */
+@Service
+public class FrameTimeService {
+    
+    private static final Logger log = LoggerFactory.getLogger(FrameTimeService.class);
+    
+    // One big-endian 32-bit float of milliseconds per frame
+    public static final int BINARY_FRAME_BYTES = 4;
+    
+    // Frame time columns in PresentMon and MangoHud logs, in order of preference
+    private static final List<String> FRAME_TIME_COLUMNS = List.of("msbetweenpresents", "frametime");
+    
+    @Autowired
+    private GamingSessionRepository sessionRepository;
+    
+    @Autowired
+    private SessionFrameTimesRepository frameTimesRepository;
+    
+    @Autowired
+    private ActiveSessionRegistry activeSessions;
+    
+    @Value("${gaming.frame-times.flush-interval-ms:10000}")
+    private long flushIntervalMs;
+    
+    private final Map<Long, SessionFrames> activeFrames = new ConcurrentHashMap<>();
+    private final Map<Long, FrameTimeHistogram> gameHistograms = new ConcurrentHashMap<>();
+    // Serialises read-merge-write of stored histograms for ended sessions
+    private final Object storedWrites = new Object();
+    private final LongAdder framesRecorded = new LongAdder();
+    private ScheduledExecutorService flusher;
+    
+    private static final class SessionFrames {
+        final Long gameId;
+        final FrameTimeHistogram histogram;
+        // What the stored row holds, so a write can pass just the change on to the game
+        FrameTimeHistogram written;
+        // Totals at the last telemetry sample, so each sample sees only the frames since
+        long sampledCount;
+        long sampledMicros;
+        boolean dirty;
+        boolean closed;
+        
+        SessionFrames(Long gameId, FrameTimeHistogram stored) {
+            this.gameId = gameId;
+            this.histogram = stored.copy();
+            this.written = stored;
+            this.sampledCount = stored.getTotalCount();
+            this.sampledMicros = stored.getTotalMicros();
+        }
+    }
+    
+    @PostConstruct
+    public void startFlusher() {
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "frame-time-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushAll, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    public void stopFlusher() {
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        flushAll();
+    }
+    
+    // Sessions left running by a previous run carry on from their stored histograms
+    @EventListener(ApplicationReadyEvent.class)
+    public void trackActiveSessions() {
+        for (GamingSession session : activeSessions.getActiveSessions()) {
+            startTracking(session.getId());
+        }
+    }
+    
+    public void startTracking(Long sessionId) {
+        Long gameId = activeSessions.getGameId(sessionId);
+        if (gameId == null || activeFrames.containsKey(sessionId)) {
+            return;
+        }
+        FrameTimeHistogram stored = frameTimesRepository.findById(sessionId)
+                .map(row -> FrameTimeHistogram.fromBytes(row.getHistogram()))
+                .orElseGet(FrameTimeHistogram::new);
+        activeFrames.putIfAbsent(sessionId, new SessionFrames(gameId, stored));
+    }
+    
+    /**
+     * Writes the session's frames and stops holding them in memory, so the row read after
+     * this returns has the final FPS figures.
+     */
+    public void stopTracking(Long sessionId) {
+        SessionFrames frames = activeFrames.remove(sessionId);
+        if (frames == null) {
+            return;
+        }
+        synchronized (frames) {
+            frames.closed = true;
+            try {
+                write(sessionId, frames);
+            } catch (RuntimeException e) {
+                // Keep the frames for the next attempt to end the session
+                frames.closed = false;
+                activeFrames.putIfAbsent(sessionId, frames);
+                throw e;
+            }
+        }
+    }
+    
+    /**
+     * Drops a deleted session's frames, held and stored, and takes them out of its game.
+     */
+    public void discard(Long sessionId) {
+        SessionFrames frames = activeFrames.remove(sessionId);
+        if (frames != null) {
+            synchronized (frames) {
+                frames.closed = true;
+            }
+        }
+        synchronized (storedWrites) {
+            frameTimesRepository.findById(sessionId).ifPresent(stored -> {
+                frameTimesRepository.delete(stored);
+                changeGame(stored.getGameId(), FrameTimeHistogram.fromBytes(stored.getHistogram()), false);
+            });
+        }
+    }
+    
+    // Deleting a game deletes its sessions with it
+    public void gameDeleted(Long gameId) {
+        activeFrames.entrySet().removeIf(entry -> {
+            if (!gameId.equals(entry.getValue().gameId)) {
+                return false;
+            }
+            synchronized (entry.getValue()) {
+                entry.getValue().closed = true;
+            }
+            return true;
+        });
+        frameTimesRepository.deleteByGameId(gameId);
+        gameHistograms.remove(gameId);
+    }
+    
+    /**
+     * Adds frames to a running session. Returns the session's frame statistics, or empty
+     * when the session is not running.
+     */
+    public Optional<Map<String, Object>> recordActive(Long sessionId, FrameTimeHistogram batch) {
+        SessionFrames frames = activeFrames.get(sessionId);
+        if (frames == null) {
+            return Optional.empty();
+        }
+        synchronized (frames) {
+            // Ended while this batch was on its way; it goes to the stored histogram instead
+            if (frames.closed) {
+                return Optional.empty();
+            }
+            frames.histogram.add(batch);
+            frames.dirty = true;
+            framesRecorded.add(batch.getTotalCount());
+            return Optional.of(summary(frames.histogram));
+        }
+    }
+    
+    /**
+     * Merges frames into the stored histogram of a session that is not running, and sets the
+     * FPS figures on {@code session} as they are now stored.
+     */
+    public Map<String, Object> recordStored(GamingSession session, FrameTimeHistogram batch) {
+        synchronized (storedWrites) {
+            SessionFrameTimes stored = frameTimesRepository.findById(session.getId())
+                    .orElseGet(() -> new SessionFrameTimes(session.getId(), session.getGame().getId()));
+            FrameTimeHistogram histogram = stored.getHistogram() != null
+                    ? FrameTimeHistogram.fromBytes(stored.getHistogram())
+                    : new FrameTimeHistogram();
+            histogram.add(batch);
+            store(stored, histogram);
+            changeGame(stored.getGameId(), batch, true);
+            framesRecorded.add(batch.getTotalCount());
+            session.setAvgFps(histogram.getAverageFps());
+            session.setMedianFps(histogram.getFpsAtPercentile(50));
+            session.setOnePercentLowFps(histogram.getFpsAtPercentile(99));
+            session.setPointOnePercentLowFps(histogram.getFpsAtPercentile(99.9));
+            return summary(histogram);
+        }
+    }
+    
+    /**
+     * Average FPS of the frames a running session has received since the previous call, for
+     * its per-second telemetry; null when none have arrived or the session is not running.
+     */
+    public Double sampleFps(Long sessionId) {
+        SessionFrames frames = activeFrames.get(sessionId);
+        if (frames == null) {
+            return null;
+        }
+        synchronized (frames) {
+            long count = frames.histogram.getTotalCount() - frames.sampledCount;
+            long micros = frames.histogram.getTotalMicros() - frames.sampledMicros;
+            frames.sampledCount = frames.histogram.getTotalCount();
+            frames.sampledMicros = frames.histogram.getTotalMicros();
+            return micros > 0 ? count * 1_000_000.0 / micros : null;
+        }
+    }
+    
+    public Optional<Map<String, Object>> getSessionSummary(Long sessionId) {
+        SessionFrames frames = activeFrames.get(sessionId);
+        if (frames != null) {
+            synchronized (frames) {
+                return Optional.of(summary(frames.histogram));
+            }
+        }
+        return frameTimesRepository.findById(sessionId)
+                .map(stored -> summary(FrameTimeHistogram.fromBytes(stored.getHistogram())));
+    }
+    
+    /**
+     * Frame statistics over every stored frame of the game's sessions, or empty when none
+     * have frames.
+     */
+    public Optional<Map<String, Object>> getGameSummary(Long gameId) {
+        FrameTimeHistogram merged = gameHistograms.computeIfAbsent(gameId, this::loadGameHistogram);
+        synchronized (merged) {
+            return merged.getTotalCount() > 0 ? Optional.of(summary(merged)) : Optional.empty();
+        }
+    }
+    
+    public long getFramesRecorded() {
+        return framesRecorded.sum();
+    }
+    
+    /**
+     * Reads frame times in milliseconds from a PresentMon or MangoHud CSV log. Lines before
+     * the header row, such as MangoHud's system summary, and rows without a usable frame
+     * time are skipped.
+     */
+    public static FrameTimeHistogram parseLog(Reader reader) throws IOException {
+        BufferedReader lines = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader, 64 * 1024);
+        FrameTimeHistogram histogram = new FrameTimeHistogram();
+        int column = -1;
+        String line;
+        while ((line = lines.readLine()) != null) {
+            if (column < 0) {
+                column = frameTimeColumn(line);
+                continue;
+            }
+            String field = field(line, column);
+            if (field == null) {
+                continue;
+            }
+            try {
+                histogram.recordMillis(Double.parseDouble(field));
+            } catch (NumberFormatException e) {
+                // Trailing summary lines and blank fields carry no frame
+            }
+        }
+        if (column < 0) {
+            throw new RuntimeException("No frame time column found; expected MsBetweenPresents or frametime");
+        }
+        return histogram;
+    }
+    
+    public static FrameTimeHistogram parseMillis(List<Double> frameTimes) {
+        FrameTimeHistogram histogram = new FrameTimeHistogram();
+        for (Double millis : frameTimes) {
+            if (millis == null || !histogram.recordMillis(millis)) {
+                throw new RuntimeException("Frame times must be positive numbers of milliseconds: " + millis);
+            }
+        }
+        return histogram;
+    }
+    
+    /**
+     * Reads the binary form, {@link #BINARY_FRAME_BYTES} bytes per frame.
+     */
+    public static FrameTimeHistogram parsePacked(byte[] packedFrames) {
+        if (packedFrames.length % BINARY_FRAME_BYTES != 0) {
+            throw new RuntimeException("Binary frame times are " + BINARY_FRAME_BYTES + " bytes each, got " + packedFrames.length + " bytes");
+        }
+        FrameTimeHistogram histogram = new FrameTimeHistogram();
+        ByteBuffer buffer = ByteBuffer.wrap(packedFrames);
+        while (buffer.hasRemaining()) {
+            float millis = buffer.getFloat();
+            if (!histogram.recordMillis(millis)) {
+                throw new RuntimeException("Frame times must be positive numbers of milliseconds: " + millis);
+            }
+        }
+        return histogram;
+    }
+    
+    public static Map<String, Object> summary(FrameTimeHistogram histogram) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("frames", histogram.getTotalCount());
+        summary.put("averageFps", round(histogram.getAverageFps()));
+        summary.put("medianFps", round(histogram.getFpsAtPercentile(50)));
+        summary.put("onePercentLowFps", round(histogram.getFpsAtPercentile(99)));
+        summary.put("pointOnePercentLowFps", round(histogram.getFpsAtPercentile(99.9)));
+        Map<String, Object> frameTimes = new LinkedHashMap<>();
+        for (double percentile : new double[] {50, 90, 99, 99.9}) {
+            frameTimes.put("p" + (percentile == Math.rint(percentile) ? String.valueOf((int) percentile) : String.valueOf(percentile)),
+                    round(histogram.getMicrosAtPercentile(percentile) / 1000.0));
+        }
+        summary.put("frameTimeMs", frameTimes);
+        return summary;
+    }
+    
+    private void flushAll() {
+        for (Map.Entry<Long, SessionFrames> entry : activeFrames.entrySet()) {
+            SessionFrames frames = entry.getValue();
+            synchronized (frames) {
+                // A closed session has had its last write; a later upload may have added to the row since
+                if (frames.closed || !frames.dirty) {
+                    continue;
+                }
+                try {
+                    write(entry.getKey(), frames);
+                } catch (RuntimeException e) {
+                    log.warn("Could not write frame times for session {}", entry.getKey(), e);
+                }
+            }
+        }
+    }
+    
+    // Caller holds the session's lock
+    private void write(Long sessionId, SessionFrames frames) {
+        if (!frames.dirty) {
+            return;
+        }
+        FrameTimeHistogram current = frames.histogram.copy();
+        store(new SessionFrameTimes(sessionId, frames.gameId), current);
+        
+        FrameTimeHistogram change = current.copy();
+        change.subtract(frames.written);
+        changeGame(frames.gameId, change, true);
+        frames.written = current;
+        frames.dirty = false;
+    }
+    
+    private void store(SessionFrameTimes row, FrameTimeHistogram histogram) {
+        row.setFrameCount(histogram.getTotalCount());
+        row.setHistogram(histogram.toBytes());
+        frameTimesRepository.save(row);
+        
+        Double averageFps = histogram.getAverageFps();
+        Double medianFps = histogram.getFpsAtPercentile(50);
+        Double onePercentLowFps = histogram.getFpsAtPercentile(99);
+        Double pointOnePercentLowFps = histogram.getFpsAtPercentile(99.9);
+        sessionRepository.setFrameStats(row.getSessionId(), averageFps, medianFps, onePercentLowFps, pointOnePercentLowFps);
+        activeSessions.setFrameStats(row.getSessionId(), averageFps, medianFps, onePercentLowFps, pointOnePercentLowFps);
+    }
+    
+    private void changeGame(Long gameId, FrameTimeHistogram change, boolean add) {
+        FrameTimeHistogram merged = gameHistograms.get(gameId);
+        if (merged == null) {
+            return;
+        }
+        synchronized (merged) {
+            if (add) {
+                merged.add(change);
+            } else {
+                merged.subtract(change);
+            }
+        }
+    }
+    
+    private FrameTimeHistogram loadGameHistogram(Long gameId) {
+        FrameTimeHistogram merged = new FrameTimeHistogram();
+        for (byte[] stored : frameTimesRepository.findHistogramsByGameId(gameId)) {
+            merged.add(FrameTimeHistogram.fromBytes(stored));
+        }
+        return merged;
+    }
+    
+    private static int frameTimeColumn(String header) {
+        String[] columns = header.split(",");
+        for (String wanted : FRAME_TIME_COLUMNS) {
+            for (int i = 0; i < columns.length; i++) {
+                if (columns[i].trim().toLowerCase(Locale.ROOT).equals(wanted)) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+    
+    // The column'th comma-separated field, without splitting the whole line
+    private static String field(String line, int column) {
+        int start = 0;
+        for (int i = 0; i < column; i++) {
+            start = line.indexOf(',', start) + 1;
+            if (start == 0) {
+                return null;
+            }
+        }
+        int end = line.indexOf(',', start);
+        return line.substring(start, end < 0 ? line.length() : end).trim();
+    }
+    
+    private static Double round(Double value) {
+        return value != null ? Math.round(value * 100.0) / 100.0 : null;
+    }
+}
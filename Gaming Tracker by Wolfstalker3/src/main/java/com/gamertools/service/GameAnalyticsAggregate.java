@@ -0,0 +1,365 @@
+package com.gamertools.service;
+
+import com.gamertools.model.GamingSession;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Running per-game totals over rated sessions, kept up to date as sessions change so
+ * analytics can be answered without reloading the game's history.
+ */
+public class GameAnalyticsAggregate {
+
+    static final int TREND_WINDOW = 10;
+
+    // One bucket per hour for the last week, used for the "recent" figures
+    private static final int RECENT_HOURS = 7 * 24 + 1;
+
+    private long sessionCount;
+
+    private long durationCount;
+    private long durationSum;
+    private double durationSumSquares;
+
+    private long ratingSum;
+    private long ratingSumSquares;
+
+    private long moodCount;
+    private long moodBeforeSum;
+    private long moodAfterSum;
+
+    private long fpsCount;
+    private double fpsSum;
+    private long cpuCount;
+    private double cpuSum;
+
+    private final int[] hourlyHistogram = new int[24];
+
+    // Most recent ratings ordered by start time, oldest first
+    private final SessionSample[] latestRatings = new SessionSample[TREND_WINDOW];
+    private int latestRatingsSize;
+    private boolean trendIncomplete;
+
+    private final long[] recentBucketHour = new long[RECENT_HOURS];
+    private final int[] recentCount = new int[RECENT_HOURS];
+    private final long[] recentDurationCount = new long[RECENT_HOURS];
+    private final long[] recentDurationSum = new long[RECENT_HOURS];
+    private final long[] recentMoodCount = new long[RECENT_HOURS];
+    private final long[] recentMoodDeltaSum = new long[RECENT_HOURS];
+    private final long[] recentFpsCount = new long[RECENT_HOURS];
+    private final double[] recentFpsSum = new double[RECENT_HOURS];
+
+    public GameAnalyticsAggregate() {
+        Arrays.fill(recentBucketHour, Long.MIN_VALUE);
+    }
+
+    /**
+     * Immutable copy of the fields the aggregate depends on, taken before and after an edit.
+     */
+    public record SessionSample(Long sessionId, LocalDateTime startTime, Integer rating, Long durationMinutes,
+                                Integer moodBefore, Integer moodAfter, Double avgFps, Double avgCpuUsage) {
+
+        public static SessionSample of(GamingSession session) {
+            return new SessionSample(
+                    session.getId(),
+                    session.getStartTime(),
+                    session.getPerformanceRating() != null ? session.getPerformanceRating().getValue() : null,
+                    session.getDurationMinutes(),
+                    session.getMoodBefore() != null ? session.getMoodBefore().getValue() : null,
+                    session.getMoodAfter() != null ? session.getMoodAfter().getValue() : null,
+                    session.getAvgFps(),
+                    session.getAvgCpuUsage());
+        }
+
+        boolean isRated() {
+            return rating != null;
+        }
+
+        boolean hasMood() {
+            return moodBefore != null && moodAfter != null;
+        }
+    }
+
+    /**
+     * Builds the aggregate for a game's history in a single pass. Fields are read from the
+     * sessions straight into the accumulators; only sessions that make it into the trend
+     * window are copied, so a long history costs no per-session allocation.
+     */
+    public static GameAnalyticsAggregate of(Iterable<GamingSession> sessions) {
+        GameAnalyticsAggregate aggregate = new GameAnalyticsAggregate();
+        long recentAfterHour = epochHour(LocalDateTime.now()) - RECENT_HOURS;
+        for (GamingSession session : sessions) {
+            if (session.getPerformanceRating() == null) {
+                continue;
+            }
+            aggregate.accumulate(1, session.getStartTime(), session.getPerformanceRating().getValue(),
+                    session.getDurationMinutes(),
+                    session.getMoodBefore() != null ? session.getMoodBefore().getValue() : 0,
+                    session.getMoodAfter() != null ? session.getMoodAfter().getValue() : 0,
+                    session.getAvgFps(), session.getAvgCpuUsage(), recentAfterHour);
+            if (aggregate.entersTrend(session.getStartTime())) {
+                aggregate.insertIntoTrend(SessionSample.of(session));
+            }
+        }
+        return aggregate;
+    }
+
+    public synchronized void add(SessionSample sample) {
+        if (!sample.isRated()) {
+            return;
+        }
+        apply(sample, 1);
+        insertIntoTrend(sample);
+    }
+
+    public synchronized void remove(SessionSample sample) {
+        if (!sample.isRated()) {
+            return;
+        }
+        apply(sample, -1);
+        if (removeFromTrend(sample.sessionId()) && sessionCount >= TREND_WINDOW) {
+            // An older session should slide into the window but is not held in memory
+            trendIncomplete = true;
+        }
+    }
+    
+    /**
+     * Swaps the previous state of an edited session for its new state.
+     */
+    public synchronized void replace(SessionSample before, SessionSample after) {
+        if (before.isRated() && after.isRated()) {
+            apply(before, -1);
+            apply(after, 1);
+            removeFromTrend(before.sessionId());
+            insertIntoTrend(after);
+        } else {
+            remove(before);
+            add(after);
+        }
+    }
+
+    /**
+     * True when a removal left the trend window short of sessions that may exist in
+     * history; the caller should rebuild the aggregate from the database.
+     */
+    public synchronized boolean isTrendIncomplete() {
+        return trendIncomplete;
+    }
+
+    private void apply(SessionSample sample, int sign) {
+        accumulate(sign, sample.startTime(), sample.rating(), sample.durationMinutes(),
+                sample.hasMood() ? sample.moodBefore() : 0, sample.hasMood() ? sample.moodAfter() : 0,
+                sample.avgFps(), sample.avgCpuUsage(), epochHour(LocalDateTime.now()) - RECENT_HOURS);
+    }
+
+    // Moods of 0 mean not recorded; both must be present for the session to count towards mood
+    private void accumulate(int sign, LocalDateTime startTime, int rating, Long durationMinutes, int moodBefore,
+                            int moodAfter, Double avgFps, Double avgCpuUsage, long recentAfterHour) {
+        boolean hasMood = moodBefore > 0 && moodAfter > 0;
+        sessionCount += sign;
+        ratingSum += sign * rating;
+        ratingSumSquares += (long) sign * rating * rating;
+
+        if (durationMinutes != null) {
+            long duration = durationMinutes;
+            durationCount += sign;
+            durationSum += sign * duration;
+            durationSumSquares += sign * (double) duration * duration;
+        }
+        if (hasMood) {
+            moodCount += sign;
+            moodBeforeSum += sign * moodBefore;
+            moodAfterSum += sign * moodAfter;
+        }
+        if (avgFps != null) {
+            fpsCount += sign;
+            fpsSum += sign * avgFps;
+        }
+        if (avgCpuUsage != null) {
+            cpuCount += sign;
+            cpuSum += sign * avgCpuUsage;
+        }
+        hourlyHistogram[startTime.getHour()] += sign;
+
+        long hour = epochHour(startTime);
+        if (hour > recentAfterHour) {
+            int bucket = bucketFor(hour);
+            recentCount[bucket] += sign;
+            if (durationMinutes != null) {
+                recentDurationCount[bucket] += sign;
+                recentDurationSum[bucket] += sign * durationMinutes;
+            }
+            if (hasMood) {
+                recentMoodCount[bucket] += sign;
+                recentMoodDeltaSum[bucket] += sign * (moodAfter - moodBefore);
+            }
+            if (avgFps != null) {
+                recentFpsCount[bucket] += sign;
+                recentFpsSum[bucket] += sign * avgFps;
+            }
+        }
+    }
+
+    private int bucketFor(long hour) {
+        int bucket = (int) Math.floorMod(hour, (long) RECENT_HOURS);
+        if (recentBucketHour[bucket] != hour) {
+            // The slot still holds data from a week ago; recycle it
+            recentBucketHour[bucket] = hour;
+            recentCount[bucket] = 0;
+            recentDurationCount[bucket] = 0;
+            recentDurationSum[bucket] = 0;
+            recentMoodCount[bucket] = 0;
+            recentMoodDeltaSum[bucket] = 0;
+            recentFpsCount[bucket] = 0;
+            recentFpsSum[bucket] = 0;
+        }
+        return bucket;
+    }
+
+    private boolean entersTrend(LocalDateTime startTime) {
+        return latestRatingsSize < TREND_WINDOW || startTime.isAfter(latestRatings[0].startTime());
+    }
+
+    private void insertIntoTrend(SessionSample sample) {
+        if (!entersTrend(sample.startTime())) {
+            return;
+        }
+        if (latestRatingsSize == TREND_WINDOW) {
+            System.arraycopy(latestRatings, 1, latestRatings, 0, TREND_WINDOW - 1);
+            latestRatingsSize--;
+        }
+        int position = latestRatingsSize;
+        while (position > 0 && latestRatings[position - 1].startTime().isAfter(sample.startTime())) {
+            latestRatings[position] = latestRatings[position - 1];
+            position--;
+        }
+        latestRatings[position] = sample;
+        latestRatingsSize++;
+    }
+
+    private boolean removeFromTrend(Long sessionId) {
+        for (int i = 0; i < latestRatingsSize; i++) {
+            if (latestRatings[i].sessionId().equals(sessionId)) {
+                System.arraycopy(latestRatings, i + 1, latestRatings, i, latestRatingsSize - i - 1);
+                latestRatings[--latestRatingsSize] = null;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long epochHour(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 3600;
+    }
+
+    // Accessors used to build the analytics response
+
+    public synchronized long getSessionCount() {
+        return sessionCount;
+    }
+
+    public synchronized double getAverageDuration() {
+        return durationCount > 0 ? (double) durationSum / durationCount : 0.0;
+    }
+
+    public synchronized double getDurationStandardDeviation() {
+        if (durationCount < 2) {
+            return 0.0;
+        }
+        double mean = (double) durationSum / durationCount;
+        double variance = (durationSumSquares - durationCount * mean * mean) / (durationCount - 1);
+        return Math.sqrt(Math.max(0, variance));
+    }
+
+    public synchronized long getTotalPlaytime() {
+        return durationSum;
+    }
+
+    public synchronized double getAverageRating() {
+        return sessionCount > 0 ? (double) ratingSum / sessionCount : 0.0;
+    }
+
+    public synchronized double getRatingStandardDeviation() {
+        if (sessionCount < 2) {
+            return 0.0;
+        }
+        double mean = (double) ratingSum / sessionCount;
+        double variance = (ratingSumSquares - sessionCount * mean * mean) / (sessionCount - 1);
+        return Math.sqrt(Math.max(0, variance));
+    }
+
+    public synchronized int[] getTrendRatings() {
+        int[] ratings = new int[latestRatingsSize];
+        for (int i = 0; i < latestRatingsSize; i++) {
+            ratings[i] = latestRatings[i].rating();
+        }
+        return ratings;
+    }
+
+    public synchronized long getMoodCount() {
+        return moodCount;
+    }
+
+    public synchronized double getAverageMoodBefore() {
+        return moodCount > 0 ? (double) moodBeforeSum / moodCount : 0.0;
+    }
+
+    public synchronized double getAverageMoodAfter() {
+        return moodCount > 0 ? (double) moodAfterSum / moodCount : 0.0;
+    }
+
+    public synchronized Double getAverageFps() {
+        return fpsCount > 0 ? fpsSum / fpsCount : null;
+    }
+
+    public synchronized Double getAverageCpuUsage() {
+        return cpuCount > 0 ? cpuSum / cpuCount : null;
+    }
+
+    public synchronized int getPeakHour() {
+        int peak = -1;
+        int peakCount = 0;
+        for (int hour = 0; hour < 24; hour++) {
+            if (hourlyHistogram[hour] > peakCount) {
+                peak = hour;
+                peakCount = hourlyHistogram[hour];
+            }
+        }
+        return peak;
+    }
+
+    /**
+     * Totals over sessions started in the last seven days.
+     */
+    public synchronized RecentTotals getRecentTotals() {
+        long now = epochHour(LocalDateTime.now());
+        RecentTotals totals = new RecentTotals();
+        for (int i = 0; i < RECENT_HOURS; i++) {
+            long hour = recentBucketHour[i];
+            // Matches the original "started within the last 7 days" window at hour granularity
+            if (hour == Long.MIN_VALUE || hour <= now - RECENT_HOURS + 1 || hour > now) {
+                continue;
+            }
+            totals.count += recentCount[i];
+            totals.durationCount += recentDurationCount[i];
+            totals.durationSum += recentDurationSum[i];
+            totals.moodCount += recentMoodCount[i];
+            totals.moodDeltaSum += recentMoodDeltaSum[i];
+            totals.fpsCount += recentFpsCount[i];
+            totals.fpsSum += recentFpsSum[i];
+        }
+        return totals;
+    }
+
+    public static class RecentTotals {
+        public long count;
+        public long durationCount;
+        public long durationSum;
+        public long moodCount;
+        public long moodDeltaSum;
+        public long fpsCount;
+        public double fpsSum;
+    }
+}
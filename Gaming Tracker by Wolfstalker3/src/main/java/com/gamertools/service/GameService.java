@@ -1,8 +1,12 @@
 package com.gamertools.service;
 
+import com.gamertools.dto.CursorPage;
+import com.gamertools.dto.PageCursor;
 import com.gamertools.model.Game;
 import com.gamertools.repository.GameRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -14,8 +18,35 @@ public class GameService {
     @Autowired
     private GameRepository gameRepository;
     
+    @Autowired
+    private PerformanceAnalyticsService analyticsService;
+    
+    @Autowired
+    private DailyRollupService rollupService;
+    
+    @Autowired
+    private ActiveSessionRegistry activeSessions;
+    
+    @Autowired
+    private FrameTimeService frameTimeService;
+    
+    @Autowired
+    private GamingSessionService sessionService;
+    
+    // The web pages list every game and offer them all in their pickers, so this stays unpaged
     public List<Game> getAllGames() {
-        return gameRepository.findAll();
+        return gameRepository.findAll(Sort.by("id"));
+    }
+    
+    public CursorPage<Game> getGamesPage(String cursor, Integer limit) {
+        int pageSize = PageCursor.clampLimit(limit);
+        long afterId = PageCursor.decode(cursor, PageCursor.FIRST_BY_ID).id();
+        List<Game> games = gameRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(games, pageSize, game -> new PageCursor(null, game.getId()));
+    }
+    
+    public long getGameCount() {
+        return gameRepository.count();
     }
     
     public Optional<Game> getGameById(Long id) {
@@ -38,21 +69,36 @@ public class GameService {
                     game.setName(updatedGame.getName());
                     game.setGenre(updatedGame.getGenre());
                     game.setPlatform(updatedGame.getPlatform());
-                    return gameRepository.save(game);
+                    Game savedGame = gameRepository.save(game);
+                    activeSessions.gameChanged(savedGame);
+                    return savedGame;
                 })
                 .orElseThrow(() -> new RuntimeException("Game not found with id: " + id));
     }
     
     public void deleteGame(Long id) {
+        // The cascade only removes the session rows; their trackers and telemetry files go once it succeeded
+        List<Long> sessionIds = sessionService.getSessionIdsByGame(id);
         gameRepository.deleteById(id);
+        sessionService.discardDeletedSessions(sessionIds);
+        activeSessions.gameDeleted(id);
+        frameTimeService.gameDeleted(id);
+        analyticsService.evictAggregate(id);
+        rollupService.removeGame(id);
     }
     
-    public List<Game> getGamesByGenre(String genre) {
-        return gameRepository.findByGenreIgnoreCase(genre);
+    public CursorPage<Game> getGamesByGenre(String genre, String cursor, Integer limit) {
+        int pageSize = PageCursor.clampLimit(limit);
+        long afterId = PageCursor.decode(cursor, PageCursor.FIRST_BY_ID).id();
+        List<Game> games = gameRepository.findByGenreIgnoreCaseAndIdGreaterThanOrderByIdAsc(genre, afterId, PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(games, pageSize, game -> new PageCursor(null, game.getId()));
     }
     
-    public List<Game> getGamesByPlatform(String platform) {
-        return gameRepository.findByPlatformIgnoreCase(platform);
+    public CursorPage<Game> getGamesByPlatform(String platform, String cursor, Integer limit) {
+        int pageSize = PageCursor.clampLimit(limit);
+        long afterId = PageCursor.decode(cursor, PageCursor.FIRST_BY_ID).id();
+        List<Game> games = gameRepository.findByPlatformIgnoreCaseAndIdGreaterThanOrderByIdAsc(platform, afterId, PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(games, pageSize, game -> new PageCursor(null, game.getId()));
     }
     
     public List<String> getAllGenres() {
@@ -64,7 +110,12 @@ public class GameService {
     }
     
     public List<Game> getMostPlayedGames() {
-        return gameRepository.findMostPlayedGames();
+        return getMostPlayedGames(null);
+    }
+    
+    // A ranking rather than a listing, so it is bounded to the top entries instead of paged
+    public List<Game> getMostPlayedGames(Integer limit) {
+        return gameRepository.findMostPlayedGames(PageRequest.of(0, PageCursor.clampLimit(limit)));
     }
     
     public Optional<Game> findGameByName(String name) {
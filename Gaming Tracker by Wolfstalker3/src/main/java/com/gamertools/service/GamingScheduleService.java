@@ -1,92 +1,443 @@
 package com.gamertools.service;
 
+import com.gamertools.dto.CursorPage;
+import com.gamertools.dto.PageCursor;
+import com.gamertools.dto.ScheduleOccurrence;
 import com.gamertools.model.GamingSchedule;
+import com.gamertools.model.ScheduleOccurrenceOverride;
 import com.gamertools.model.ScheduleType;
 import com.gamertools.repository.GamingScheduleRepository;
+import com.gamertools.repository.ScheduleOccurrenceOverrideRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.DayOfWeek;
+import java.time.ZoneId;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
 public class GamingScheduleService {
     
+    private static final Logger log = LoggerFactory.getLogger(GamingScheduleService.class);
+    
+    // Schedules closer together than this count as conflicting, leaving time for a break
+    private static final int CONFLICT_BUFFER_MINUTES = 15;
+    private static final int DEFAULT_DURATION_MINUTES = 60;
+    // How far ahead a recurring schedule's own occurrences are checked for conflicts; four
+    // weeks is enough for any daily or weekly pair to line up
+    private static final int RECURRING_CONFLICT_DAYS = 28;
+    
+    // Reminders go out this long before a schedule starts
+    private static final int REMINDER_LEAD_MINUTES = 30;
+    // How long a reminder that failed to send waits before it is tried again
+    private static final long REMINDER_RETRY_MILLIS = 5000;
+    
+    private static final List<ScheduleType> RECURRING_TYPES = Arrays.stream(ScheduleType.values())
+            .filter(ScheduleType::isRecurring)
+            .toList();
+    
+    private static final Comparator<ScheduleOccurrence> OCCURRENCE_ORDER =
+            Comparator.comparing(ScheduleOccurrence::getScheduledTime).thenComparing(ScheduleOccurrence::getId);
+    
     @Autowired
     private GamingScheduleRepository scheduleRepository;
     
+    @Autowired
+    private ScheduleOccurrenceOverrideRepository overrideRepository;
+    
+    @Autowired
+    private DailyRollupService rollupService;
+    
+    @Autowired
+    private List<ReminderNotifier> reminderNotifiers;
+    
+    @Value("${gaming.reminders.tick-ms:100}")
+    private long reminderTickMs = 100;
+    
+    // Intervals of uncompleted one-time schedules, kept in step with every write below
+    private volatile ScheduleIntervalIndex openSchedules = new ScheduleIntervalIndex();
+    
+    // Uncompleted DAILY and WEEKLY series, whose occurrences are expanded around each conflict check
+    private volatile Map<Long, OpenSeries> openSeries = new ConcurrentHashMap<>();
+    
+    // The pending reminder of each schedule, keyed by schedule id: one-time schedules not yet
+    // reminded and the next occurrence of each recurring one. Kept in step like the conflict index.
+    private volatile TimingWheel<PendingReminder> reminders = new TimingWheel<>(reminderTickMs, System.currentTimeMillis());
+    
+    // Time of the latest occurrence reminded for each recurring schedule, so a write to the
+    // series does not remind the same occurrence again
+    private final Map<Long, LocalDateTime> remindedOccurrences = new ConcurrentHashMap<>();
+    
+    private ScheduledExecutorService reminderDispatcher;
+    
+    private record PendingReminder(long scheduleId, LocalDate occurrenceDate, LocalDateTime time) {
+    }
+    
+    private record OpenSeries(ScheduleRecurrence recurrence, int durationMinutes) {
+    }
+    
+    @PostConstruct
+    public void startReminderDispatcher() {
+        reminders = new TimingWheel<>(reminderTickMs, System.currentTimeMillis());
+        reminderDispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "schedule-reminders");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reminderDispatcher.scheduleAtFixedRate(this::dispatchReminders, reminderTickMs, reminderTickMs, TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    public void stopReminderDispatcher() {
+        if (reminderDispatcher != null) {
+            reminderDispatcher.shutdownNow();
+        }
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildConflictIndex() {
+        ScheduleIntervalIndex index = new ScheduleIntervalIndex();
+        for (Object[] row : scheduleRepository.findUncompletedIntervals(RECURRING_TYPES)) {
+            LocalDateTime start = (LocalDateTime) row[1];
+            index.put((Long) row[0], start, start.plusMinutes(durationOf((Integer) row[2])));
+        }
+        Map<Long, OpenSeries> series = new ConcurrentHashMap<>();
+        for (GamingSchedule schedule : scheduleRepository.findByTypeInAndIsCompletedFalse(RECURRING_TYPES)) {
+            series.put(schedule.getId(), openSeries(schedule));
+        }
+        openSchedules = index;
+        openSeries = series;
+        log.debug("Conflict index holds {} open schedules and {} recurring series", index.size(), series.size());
+    }
+    
+    /**
+     * Reloads the pending reminders from the tables. The new wheel is published before it is
+     * filled and never overwrites a reminder already in it, so a write racing the reload keeps
+     * its newer reminder; a stale one left by a racing delete is dropped when it comes due.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildReminders() {
+        LocalDateTime now = LocalDateTime.now();
+        TimingWheel<PendingReminder> wheel = new TimingWheel<>(reminderTickMs, System.currentTimeMillis());
+        reminders = wheel;
+        for (Object[] row : scheduleRepository.findPendingReminders(now, RECURRING_TYPES)) {
+            addReminderIfAbsent(wheel, new PendingReminder((Long) row[0], null, (LocalDateTime) row[1]));
+        }
+        
+        List<GamingSchedule> series = scheduleRepository.findByTypeInAndIsCompletedFalse(RECURRING_TYPES);
+        Map<Long, Map<LocalDate, ScheduleOccurrenceOverride>> overrides =
+                upcomingOverrides(series.stream().map(GamingSchedule::getId).toList(), now);
+        for (GamingSchedule schedule : series) {
+            PendingReminder next = nextOccurrence(schedule, overrides.getOrDefault(schedule.getId(), Map.of()),
+                    remindedAfter(schedule.getId(), now));
+            if (next != null) {
+                addReminderIfAbsent(wheel, next);
+            }
+        }
+        log.debug("Reminder wheel holds {} pending reminders", wheel.size());
+    }
+    
+    public int getPendingReminderCount() {
+        return reminders.size();
+    }
+    
     public List<GamingSchedule> getAllUpcomingSchedules() {
-        return scheduleRepository.findByIsCompletedFalseOrderByScheduledTimeAsc();
+        return getUpcomingSchedules(null, PageCursor.DEFAULT_PAGE_SIZE).getItems();
     }
     
-    public List<GamingSchedule> getSchedulesForToday() {
+    public CursorPage<GamingSchedule> getUpcomingSchedules(String cursor, Integer limit) {
+        int pageSize = PageCursor.clampLimit(limit);
+        PageCursor after = PageCursor.decode(cursor, PageCursor.FIRST_ASCENDING);
+        List<GamingSchedule> schedules = scheduleRepository.findUpcomingPage(after.time(), after.id(), PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(schedules, pageSize, schedule -> new PageCursor(schedule.getScheduledTime(), schedule.getId()));
+    }
+    
+    public List<ScheduleOccurrence> getSchedulesForToday() {
         LocalDateTime startOfDay = LocalDateTime.now().toLocalDate().atStartOfDay();
         LocalDateTime endOfDay = startOfDay.plusDays(1).minusSeconds(1);
         
-        return scheduleRepository.findSchedulesBetween(startOfDay, endOfDay);
+        return getOccurrences(startOfDay, endOfDay);
     }
     
-    public List<GamingSchedule> getSchedulesForWeek() {
+    public List<ScheduleOccurrence> getSchedulesForWeek() {
         LocalDateTime startOfWeek = LocalDateTime.now().toLocalDate().atStartOfDay();
         LocalDateTime endOfWeek = startOfWeek.plusDays(7);
         
-        return scheduleRepository.findSchedulesBetween(startOfWeek, endOfWeek);
+        return getOccurrences(startOfWeek, endOfWeek);
+    }
+    
+    /**
+     * Everything scheduled from {@code from} to {@code to}, inclusive, in time order: one-time
+     * schedules as stored, and each occurrence of a running DAILY or WEEKLY schedule, expanded
+     * from its recurrence with its overrides applied. Occurrences are never stored, so the cost
+     * follows the recurring schedules and the occurrences in the window, not the schedules' age.
+     */
+    public List<ScheduleOccurrence> getOccurrences(LocalDateTime from, LocalDateTime to) {
+        // One-time schedules and occurrences moved off their usual time; few, so sorted on their own
+        List<ScheduleOccurrence> others = new ArrayList<>();
+        for (GamingSchedule schedule : scheduleRepository.findSchedulesBetween(from, to)) {
+            if (schedule.getType() == null || !schedule.getType().isRecurring()) {
+                others.add(ScheduleOccurrence.of(schedule));
+            }
+        }
+        
+        List<GamingSchedule> schedules = scheduleRepository.findRecurringSeries(RECURRING_TYPES, to);
+        if (schedules.isEmpty()) {
+            others.sort(OCCURRENCE_ORDER);
+            return others;
+        }
+        
+        Map<Long, Map<LocalDate, ScheduleOccurrenceOverride>> overrides = new HashMap<>();
+        List<Long> ids = schedules.stream().map(GamingSchedule::getId).toList();
+        for (ScheduleOccurrenceOverride override : overrideRepository.findForWindow(ids, from.toLocalDate(), to.toLocalDate(), from, to)) {
+            overrides.computeIfAbsent(override.getScheduleId(), id -> new HashMap<>()).put(override.getOccurrenceDate(), override);
+        }
+        
+        // Ordered by time of day, so walking the window a day at a time yields occurrences already in order
+        Series[] series = new Series[schedules.size()];
+        for (int i = 0; i < series.length; i++) {
+            GamingSchedule schedule = schedules.get(i);
+            series[i] = new Series(schedule, ScheduleRecurrence.of(schedule), overrides.getOrDefault(schedule.getId(), Map.of()));
+        }
+        Arrays.sort(series, Comparator.comparing((Series s) -> s.recurrence().getTime()).thenComparing(s -> s.schedule().getId()));
+        
+        List<ScheduleOccurrence> expanded = new ArrayList<>();
+        LocalDate fromDate = from.toLocalDate();
+        LocalDate toDate = to.toLocalDate();
+        for (LocalDate date = fromDate; !date.isAfter(toDate); date = date.plusDays(1)) {
+            long day = date.toEpochDay();
+            for (Series s : series) {
+                if (!s.recurrence().occursOn(day)) {
+                    continue;
+                }
+                ScheduleOccurrenceOverride override = s.overrides().isEmpty() ? null : s.overrides().get(date);
+                if (override == null || override.getRescheduledTime() == null) {
+                    if (override != null && override.isCancelled()) {
+                        continue;
+                    }
+                    LocalDateTime time = s.recurrence().timeOn(date);
+                    if (!time.isBefore(from) && !time.isAfter(to)) {
+                        expanded.add(new ScheduleOccurrence(s.schedule(), date, time, override != null && override.isCompleted()));
+                    }
+                } else {
+                    addRescheduled(s, override, from, to, others);
+                }
+            }
+        }
+        
+        // Occurrences moved into the window from a date outside it
+        for (Series s : series) {
+            for (ScheduleOccurrenceOverride override : s.overrides().values()) {
+                LocalDate date = override.getOccurrenceDate();
+                if (override.getRescheduledTime() != null && (date.isBefore(fromDate) || date.isAfter(toDate))) {
+                    addRescheduled(s, override, from, to, others);
+                }
+            }
+        }
+        
+        if (others.isEmpty()) {
+            return expanded;
+        }
+        others.sort(OCCURRENCE_ORDER);
+        return merge(expanded, others);
+    }
+    
+    private static void addRescheduled(Series series, ScheduleOccurrenceOverride override,
+                                       LocalDateTime from, LocalDateTime to, List<ScheduleOccurrence> occurrences) {
+        LocalDate date = override.getOccurrenceDate();
+        // An override left behind by a change to the schedule's recurrence no longer applies
+        if (override.isCancelled() || !series.recurrence().occursOn(date.toEpochDay())) {
+            return;
+        }
+        LocalDateTime time = override.getRescheduledTime();
+        if (!time.isBefore(from) && !time.isAfter(to)) {
+            occurrences.add(new ScheduleOccurrence(series.schedule(), date, time, override.isCompleted()));
+        }
+    }
+    
+    private static List<ScheduleOccurrence> merge(List<ScheduleOccurrence> first, List<ScheduleOccurrence> second) {
+        List<ScheduleOccurrence> merged = new ArrayList<>(first.size() + second.size());
+        int i = 0;
+        int j = 0;
+        while (i < first.size() && j < second.size()) {
+            merged.add(OCCURRENCE_ORDER.compare(first.get(i), second.get(j)) <= 0 ? first.get(i++) : second.get(j++));
+        }
+        merged.addAll(first.subList(i, first.size()));
+        merged.addAll(second.subList(j, second.size()));
+        return merged;
+    }
+    
+    private record Series(GamingSchedule schedule, ScheduleRecurrence recurrence,
+                          Map<LocalDate, ScheduleOccurrenceOverride> overrides) {
+    }
+    
+    public ScheduleOccurrence completeOccurrence(Long id, LocalDate date) {
+        GamingSchedule schedule = getRecurringSchedule(id, date);
+        ScheduleOccurrenceOverride override = getOverride(id, date);
+        if (override.isCancelled()) {
+            throw new RuntimeException("Occurrence on " + date + " of schedule " + id + " is cancelled");
+        }
+        LocalDateTime time = occurrenceTime(schedule, override);
+        if (!override.isCompleted()) {
+            override.setCompleted(true);
+            overrideRepository.save(override);
+            rollupService.recordScheduleCompleted(time, 1);
+            remind(schedule);
+        }
+        return new ScheduleOccurrence(schedule, date, time, true);
+    }
+    
+    public void cancelOccurrence(Long id, LocalDate date) {
+        GamingSchedule schedule = getRecurringSchedule(id, date);
+        ScheduleOccurrenceOverride override = getOverride(id, date);
+        if (override.isCancelled()) {
+            return;
+        }
+        if (override.isCompleted()) {
+            override.setCompleted(false);
+            rollupService.recordScheduleCompleted(occurrenceTime(schedule, override), -1);
+        }
+        override.setCancelled(true);
+        overrideRepository.save(override);
+        remind(schedule);
+    }
+    
+    public ScheduleOccurrence rescheduleOccurrence(Long id, LocalDate date, LocalDateTime time) {
+        GamingSchedule schedule = getRecurringSchedule(id, date);
+        ScheduleOccurrenceOverride override = getOverride(id, date);
+        if (override.isCancelled()) {
+            throw new RuntimeException("Occurrence on " + date + " of schedule " + id + " is cancelled");
+        }
+        LocalDateTime previous = occurrenceTime(schedule, override);
+        if (override.isCompleted() && !previous.toLocalDate().equals(time.toLocalDate())) {
+            rollupService.recordScheduleCompleted(previous, -1);
+            rollupService.recordScheduleCompleted(time, 1);
+        }
+        override.setRescheduledTime(time);
+        overrideRepository.save(override);
+        remind(schedule);
+        return new ScheduleOccurrence(schedule, date, time, override.isCompleted());
+    }
+    
+    private GamingSchedule getRecurringSchedule(Long id, LocalDate date) {
+        GamingSchedule schedule = scheduleRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Schedule not found with id: " + id));
+        ScheduleRecurrence recurrence = ScheduleRecurrence.of(schedule);
+        if (recurrence == null) {
+            throw new RuntimeException("Schedule " + id + " is not recurring");
+        }
+        if (!recurrence.occursOn(date)) {
+            throw new RuntimeException("Schedule " + id + " has no occurrence on " + date);
+        }
+        return schedule;
+    }
+    
+    private ScheduleOccurrenceOverride getOverride(Long id, LocalDate date) {
+        return overrideRepository.findByScheduleIdAndOccurrenceDate(id, date)
+                .orElseGet(() -> new ScheduleOccurrenceOverride(id, date));
+    }
+    
+    private static LocalDateTime occurrenceTime(GamingSchedule schedule, ScheduleOccurrenceOverride override) {
+        return override.getRescheduledTime() != null ? override.getRescheduledTime()
+                : ScheduleRecurrence.of(schedule).timeOn(override.getOccurrenceDate());
     }
     
     public GamingSchedule createSchedule(GamingSchedule schedule) {
-        return scheduleRepository.save(schedule);
+        GamingSchedule saved = scheduleRepository.save(schedule);
+        index(saved);
+        remind(saved);
+        return saved;
     }
     
     public GamingSchedule updateSchedule(Long id, GamingSchedule updatedSchedule) {
         return scheduleRepository.findById(id)
                 .map(schedule -> {
+                    if (schedule.isCompleted() && !schedule.getScheduledTime().toLocalDate().equals(updatedSchedule.getScheduledTime().toLocalDate())) {
+                        rollupService.recordScheduleCompleted(schedule.getScheduledTime(), -1);
+                        rollupService.recordScheduleCompleted(updatedSchedule.getScheduledTime(), 1);
+                    }
                     schedule.setTitle(updatedSchedule.getTitle());
                     schedule.setGame(updatedSchedule.getGame());
+                    if (!schedule.getScheduledTime().equals(updatedSchedule.getScheduledTime())) {
+                        // Moved, so the reminder for the old time no longer counts
+                        schedule.setReminderSent(false);
+                    }
                     schedule.setScheduledTime(updatedSchedule.getScheduledTime());
                     schedule.setEstimatedDurationMinutes(updatedSchedule.getEstimatedDurationMinutes());
                     schedule.setType(updatedSchedule.getType());
                     schedule.setDayOfWeek(updatedSchedule.getDayOfWeek());
                     schedule.setDescription(updatedSchedule.getDescription());
-                    return scheduleRepository.save(schedule);
+                    GamingSchedule saved = scheduleRepository.save(schedule);
+                    index(saved);
+                    remind(saved);
+                    return saved;
                 })
                 .orElseThrow(() -> new RuntimeException("Schedule not found with id: " + id));
     }
     
     public void markScheduleCompleted(Long id) {
         scheduleRepository.findById(id)
+                .filter(schedule -> !schedule.isCompleted())
                 .ifPresent(schedule -> {
                     schedule.setCompleted(true);
                     scheduleRepository.save(schedule);
+                    openSchedules.remove(id);
+                    openSeries.remove(id);
+                    cancelReminder(id);
+                    rollupService.recordScheduleCompleted(schedule.getScheduledTime(), 1);
                 });
     }
     
     public void deleteSchedule(Long id) {
-        scheduleRepository.deleteById(id);
+        scheduleRepository.findById(id).ifPresent(schedule -> {
+            for (ScheduleOccurrenceOverride override : overrideRepository.findByScheduleIdAndCompletedTrue(id)) {
+                rollupService.recordScheduleCompleted(occurrenceTime(schedule, override), -1);
+            }
+            overrideRepository.deleteByScheduleId(id);
+            scheduleRepository.delete(schedule);
+            openSchedules.remove(id);
+            openSeries.remove(id);
+            cancelReminder(id);
+            if (schedule.isCompleted()) {
+                rollupService.recordScheduleCompleted(schedule.getScheduledTime(), -1);
+            }
+        });
     }
     
     public Map<String, Object> getScheduleAnalytics() {
         Map<String, Object> analytics = new HashMap<>();
         
-        LocalDateTime weekAgo = LocalDateTime.now().minus(7, java.time.temporal.ChronoUnit.DAYS);
-        LocalDateTime monthAgo = LocalDateTime.now().minus(30, java.time.temporal.ChronoUnit.DAYS);
-        
-        Long completedThisWeek = scheduleRepository.countCompletedSchedulesSince(weekAgo);
-        Long completedThisMonth = scheduleRepository.countCompletedSchedulesSince(monthAgo);
+        LocalDate today = LocalDate.now();
+        long completedThisWeek = rollupService.getTotals(today.minusDays(6), today).completedSchedules;
+        long completedThisMonth = rollupService.getTotals(today.minusDays(29), today).completedSchedules;
         
-        List<GamingSchedule> upcomingSchedules = getAllUpcomingSchedules();
         List<GamingSchedule> overdueSchedules = scheduleRepository.findOverdueSchedules(LocalDateTime.now());
         
-        analytics.put("completedThisWeek", completedThisWeek != null ? completedThisWeek : 0);
-        analytics.put("completedThisMonth", completedThisMonth != null ? completedThisMonth : 0);
-        analytics.put("upcomingSchedules", upcomingSchedules.size());
+        analytics.put("completedThisWeek", completedThisWeek);
+        analytics.put("completedThisMonth", completedThisMonth);
+        analytics.put("upcomingSchedules", scheduleRepository.countByIsCompletedFalse());
         analytics.put("overdueSchedules", overdueSchedules.size());
         
         // Schedule type distribution
-        Map<ScheduleType, Long> typeDistribution = upcomingSchedules.stream()
-                .collect(Collectors.groupingBy(GamingSchedule::getType, Collectors.counting()));
+        Map<ScheduleType, Long> typeDistribution = new HashMap<>();
+        for (Object[] row : scheduleRepository.countUpcomingByType()) {
+            typeDistribution.put((ScheduleType) row[0], (Long) row[1]);
+        }
         analytics.put("scheduleTypeDistribution", typeDistribution);
         
         return analytics;
@@ -95,22 +446,22 @@ public class GamingScheduleService {
     public List<String> generateScheduleRecommendations() {
         List<String> recommendations = new ArrayList<>();
         
-        List<GamingSchedule> upcomingSchedules = getAllUpcomingSchedules();
+        long upcomingSchedules = scheduleRepository.countByIsCompletedFalse();
         List<GamingSchedule> overdueSchedules = scheduleRepository.findOverdueSchedules(LocalDateTime.now());
         
         if (overdueSchedules.size() > 0) {
             recommendations.add("You have " + overdueSchedules.size() + " overdue gaming sessions. Consider rescheduling or marking them as completed.");
         }
         
-        if (upcomingSchedules.isEmpty()) {
+        if (upcomingSchedules == 0) {
             recommendations.add("No upcoming gaming sessions scheduled. Plan your gaming time to maintain consistency!");
         }
         
         // Check for scheduling conflicts (sessions too close together)
-        List<GamingSchedule> todaySchedules = getSchedulesForToday();
+        List<ScheduleOccurrence> todaySchedules = getSchedulesForToday();
         for (int i = 0; i < todaySchedules.size() - 1; i++) {
-            GamingSchedule current = todaySchedules.get(i);
-            GamingSchedule next = todaySchedules.get(i + 1);
+            ScheduleOccurrence current = todaySchedules.get(i);
+            ScheduleOccurrence next = todaySchedules.get(i + 1);
             
             if (current.getEstimatedDurationMinutes() != null) {
                 LocalDateTime currentEnd = current.getScheduledTime().plusMinutes(current.getEstimatedDurationMinutes());
@@ -122,7 +473,7 @@ public class GamingScheduleService {
         }
         
         // Weekly gaming balance
-        List<GamingSchedule> weekSchedules = getSchedulesForWeek();
+        List<ScheduleOccurrence> weekSchedules = getSchedulesForWeek();
         Map<DayOfWeek, Long> dailyDistribution = weekSchedules.stream()
                 .collect(Collectors.groupingBy(
                     s -> s.getScheduledTime().getDayOfWeek(),
@@ -141,35 +492,299 @@ public class GamingScheduleService {
         return recommendations;
     }
     
-    // Scheduled task to send reminders (runs every 15 minutes)
-    @Scheduled(fixedRate = 900000) // 15 minutes in milliseconds
-    public void checkForReminders() {
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime reminderTime = now.plusMinutes(30); // 30 minutes before
+    // Runs every tick on the dispatcher thread; an exception escaping here would stop it
+    private void dispatchReminders() {
+        List<PendingReminder> due = reminders.advance(System.currentTimeMillis());
+        if (due.isEmpty()) {
+            return;
+        }
+        try {
+            sendReminders(due);
+        } catch (RuntimeException e) {
+            log.warn("Failed to send {} reminders, retrying in {} ms", due.size(), REMINDER_RETRY_MILLIS, e);
+            TimingWheel<PendingReminder> wheel = reminders;
+            for (PendingReminder reminder : due) {
+                wheel.schedule(reminder.scheduleId(), System.currentTimeMillis() + REMINDER_RETRY_MILLIS, reminder);
+            }
+        }
+    }
+    
+    /**
+     * Checks the due reminders against the current rows, marks the one-time schedules' reminders
+     * sent in a single update, passes every reminder to the notifiers and then queues the next
+     * occurrence of each recurring schedule.
+     */
+    private void sendReminders(List<PendingReminder> due) {
+        List<Long> ids = due.stream().map(PendingReminder::scheduleId).toList();
+        Map<Long, GamingSchedule> schedules = new HashMap<>();
+        for (GamingSchedule schedule : scheduleRepository.findWithGameByIdIn(ids)) {
+            schedules.put(schedule.getId(), schedule);
+        }
         
-        List<GamingSchedule> schedules = scheduleRepository.findSchedulesNeedingReminder(now, reminderTime);
+        List<ScheduleOccurrence> occurrences = new ArrayList<>();
+        List<Long> sent = new ArrayList<>();
+        List<PendingReminder> recurring = new ArrayList<>();
+        for (PendingReminder reminder : due) {
+            GamingSchedule schedule = schedules.get(reminder.scheduleId());
+            if (schedule == null || schedule.isCompleted()) {
+                continue;
+            }
+            if (reminder.occurrenceDate() != null) {
+                if (ScheduleRecurrence.of(schedule) != null) {
+                    occurrences.add(new ScheduleOccurrence(schedule, reminder.occurrenceDate(), reminder.time(), false));
+                    recurring.add(reminder);
+                }
+            } else if (!schedule.isReminderSent() && schedule.getScheduledTime().equals(reminder.time())) {
+                occurrences.add(ScheduleOccurrence.of(schedule));
+                sent.add(schedule.getId());
+            }
+        }
+        if (!sent.isEmpty()) {
+            scheduleRepository.markRemindersSent(sent);
+        }
         
-        for (GamingSchedule schedule : schedules) {
-            // In a real application, you would send notifications here
-            // For now, we'll just mark the reminder as sent
-            schedule.setReminderSent(true);
-            scheduleRepository.save(schedule);
-            
-            System.out.println("Reminder: Gaming session '" + schedule.getTitle() + 
-                             "' is scheduled in 30 minutes at " + schedule.getScheduledTime());
+        for (ScheduleOccurrence occurrence : occurrences) {
+            for (ReminderNotifier notifier : reminderNotifiers) {
+                try {
+                    notifier.sendReminder(occurrence);
+                } catch (RuntimeException e) {
+                    // One failing notifier must not starve the others
+                    log.warn("Reminder notifier {} failed for schedule {}", notifier.getClass().getSimpleName(), occurrence.getId(), e);
+                }
+            }
+        }
+        
+        if (!recurring.isEmpty()) {
+            LocalDateTime earliest = recurring.stream().map(PendingReminder::time).min(Comparator.naturalOrder()).get();
+            Map<Long, Map<LocalDate, ScheduleOccurrenceOverride>> overrides =
+                    upcomingOverrides(recurring.stream().map(PendingReminder::scheduleId).toList(), earliest);
+            TimingWheel<PendingReminder> wheel = reminders;
+            for (PendingReminder reminder : recurring) {
+                remindedOccurrences.merge(reminder.scheduleId(), reminder.time(), (a, b) -> a.isAfter(b) ? a : b);
+                PendingReminder next = nextOccurrence(schedules.get(reminder.scheduleId()),
+                        overrides.getOrDefault(reminder.scheduleId(), Map.of()), reminder.time());
+                if (next != null) {
+                    addReminder(wheel, next);
+                }
+            }
+        }
+    }
+    
+    // Queues the schedule's next reminder, or drops its pending one if nothing is left to remind
+    private void remind(GamingSchedule schedule) {
+        LocalDateTime now = LocalDateTime.now();
+        PendingReminder next = null;
+        if (schedule.isCompleted()) {
+            // Nothing left to remind
+        } else if (ScheduleRecurrence.of(schedule) != null) {
+            next = nextOccurrence(schedule, upcomingOverrides(List.of(schedule.getId()), now).getOrDefault(schedule.getId(), Map.of()),
+                    remindedAfter(schedule.getId(), now));
+        } else if (!schedule.isReminderSent() && !schedule.getScheduledTime().isBefore(now)) {
+            next = new PendingReminder(schedule.getId(), null, schedule.getScheduledTime());
+        }
+        
+        if (next != null) {
+            addReminder(reminders, next);
+        } else {
+            cancelReminder(schedule.getId());
+        }
+    }
+    
+    private void cancelReminder(Long id) {
+        reminders.cancel(id);
+        remindedOccurrences.remove(id);
+    }
+    
+    private LocalDateTime remindedAfter(Long id, LocalDateTime now) {
+        LocalDateTime reminded = remindedOccurrences.get(id);
+        return reminded != null && reminded.isAfter(now) ? reminded : now;
+    }
+    
+    private static void addReminder(TimingWheel<PendingReminder> wheel, PendingReminder reminder) {
+        wheel.schedule(reminder.scheduleId(), dueMillis(reminder), reminder);
+    }
+    
+    private static void addReminderIfAbsent(TimingWheel<PendingReminder> wheel, PendingReminder reminder) {
+        wheel.scheduleIfAbsent(reminder.scheduleId(), dueMillis(reminder), reminder);
+    }
+    
+    private static long dueMillis(PendingReminder reminder) {
+        LocalDateTime due = reminder.time().minusMinutes(REMINDER_LEAD_MINUTES);
+        return due.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+    
+    private Map<Long, Map<LocalDate, ScheduleOccurrenceOverride>> upcomingOverrides(List<Long> ids, LocalDateTime from) {
+        Map<Long, Map<LocalDate, ScheduleOccurrenceOverride>> overrides = new HashMap<>();
+        if (ids.isEmpty()) {
+            return overrides;
+        }
+        for (ScheduleOccurrenceOverride override : overrideRepository.findUpcoming(ids, from.toLocalDate(), from)) {
+            overrides.computeIfAbsent(override.getScheduleId(), id -> new HashMap<>()).put(override.getOccurrenceDate(), override);
+        }
+        return overrides;
+    }
+    
+    /**
+     * The first occurrence of a recurring schedule after {@code after} that is neither cancelled
+     * nor completed, at its rescheduled time if it was moved; null if there is none.
+     */
+    private static PendingReminder nextOccurrence(GamingSchedule schedule, Map<LocalDate, ScheduleOccurrenceOverride> overrides,
+                                                  LocalDateTime after) {
+        ScheduleRecurrence recurrence = ScheduleRecurrence.of(schedule);
+        PendingReminder next = null;
+        for (ScheduleOccurrenceOverride override : overrides.values()) {
+            LocalDateTime time = override.getRescheduledTime();
+            if (time != null && time.isAfter(after) && !override.isCancelled() && !override.isCompleted()
+                    && recurrence.occursOn(override.getOccurrenceDate()) && (next == null || time.isBefore(next.time()))) {
+                next = new PendingReminder(schedule.getId(), override.getOccurrenceDate(), time);
+            }
         }
+        // Every override passed on the way uses up one date, so this ends at the first date without one
+        for (long day = recurrence.nextOnOrAfter(after.toLocalDate().toEpochDay()); ; day = recurrence.nextOnOrAfter(day + 1)) {
+            LocalDate date = LocalDate.ofEpochDay(day);
+            LocalDateTime time = recurrence.timeOn(date);
+            if (next != null && !time.isBefore(next.time())) {
+                return next;
+            }
+            ScheduleOccurrenceOverride override = overrides.get(date);
+            boolean usual = override == null
+                    || (override.getRescheduledTime() == null && !override.isCancelled() && !override.isCompleted());
+            if (usual && time.isAfter(after)) {
+                return new PendingReminder(schedule.getId(), date, time);
+            }
+        }
+    }
+    
+    public List<GamingSchedule> getConflictingSchedules(Long id) {
+        GamingSchedule schedule = scheduleRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Schedule not found with id: " + id));
+        return getConflictingSchedules(schedule);
     }
     
     public List<GamingSchedule> getConflictingSchedules(GamingSchedule newSchedule) {
-        LocalDateTime startTime = newSchedule.getScheduledTime();
-        LocalDateTime endTime = startTime.plusMinutes(
-            newSchedule.getEstimatedDurationMinutes() != null ? 
-            newSchedule.getEstimatedDurationMinutes() : 60
-        );
-        
-        return scheduleRepository.findSchedulesBetween(startTime.minusMinutes(15), endTime.plusMinutes(15))
-                .stream()
-                .filter(s -> !s.getId().equals(newSchedule.getId()) && !s.isCompleted())
-                .collect(Collectors.toList());
+        List<Long> ids = getConflictingScheduleIds(newSchedule);
+        return ids.isEmpty() ? new ArrayList<>() : scheduleRepository.findWithGameByIdIn(ids);
+    }
+    
+    /**
+     * Ids of the uncompleted schedules overlapping {@code newSchedule}, or starting or ending
+     * within the buffer around it, soonest first. A recurring schedule is checked occurrence by
+     * occurrence over the next {@value #RECURRING_CONFLICT_DAYS} days. One-time schedules are
+     * answered from the interval index; recurring series are expanded from their recurrence
+     * around each occurrence checked, with one query for their overrides.
+     */
+    public List<Long> getConflictingScheduleIds(GamingSchedule newSchedule) {
+        int duration = durationOf(newSchedule.getEstimatedDurationMinutes());
+        ScheduleRecurrence recurrence = ScheduleRecurrence.of(newSchedule);
+        LocalDateTime ownFrom = newSchedule.getScheduledTime();
+        LocalDateTime ownTo = ownFrom;
+        if (recurrence != null) {
+            LocalDateTime now = LocalDateTime.now();
+            ownFrom = (ownFrom.isAfter(now) ? ownFrom : now).toLocalDate().atStartOfDay();
+            ownTo = ownFrom.plusDays(RECURRING_CONFLICT_DAYS);
+        }
+        
+        // Occurrences of other series that start this far ahead of an interval can still reach into it
+        Map<Long, OpenSeries> series = openSeries;
+        int longest = series.values().stream().mapToInt(OpenSeries::durationMinutes).max().orElse(0);
+        LocalDateTime from = ownFrom.minusMinutes(CONFLICT_BUFFER_MINUTES + longest);
+        LocalDateTime to = ownTo.plusMinutes(duration + CONFLICT_BUFFER_MINUTES);
+        
+        Set<Long> seriesIds = new HashSet<>(series.keySet());
+        if (recurrence != null && newSchedule.getId() != null) {
+            seriesIds.add(newSchedule.getId());
+        }
+        Map<Long, Map<LocalDate, ScheduleOccurrenceOverride>> overrides = new HashMap<>();
+        if (!seriesIds.isEmpty()) {
+            for (ScheduleOccurrenceOverride override : overrideRepository.findForWindow(seriesIds, from.toLocalDate(), to.toLocalDate(), from, to)) {
+                overrides.computeIfAbsent(override.getScheduleId(), id -> new HashMap<>()).put(override.getOccurrenceDate(), override);
+            }
+        }
+        
+        List<LocalDateTime> ownStarts = recurrence == null ? List.of(newSchedule.getScheduledTime())
+                : occurrenceTimes(recurrence, overrides.getOrDefault(newSchedule.getId(), Map.of()), ownFrom, ownTo);
+        
+        List<ConflictCandidate> occurrences = new ArrayList<>();
+        for (Map.Entry<Long, OpenSeries> entry : series.entrySet()) {
+            if (entry.getKey().equals(newSchedule.getId())) {
+                continue;
+            }
+            OpenSeries open = entry.getValue();
+            for (LocalDateTime start : occurrenceTimes(open.recurrence(), overrides.getOrDefault(entry.getKey(), Map.of()), from, to)) {
+                occurrences.add(new ConflictCandidate(entry.getKey(), start, start.plusMinutes(open.durationMinutes())));
+            }
+        }
+        occurrences.sort(Comparator.comparing(ConflictCandidate::start).thenComparing(ConflictCandidate::id));
+        
+        Set<Long> ids = new LinkedHashSet<>();
+        for (LocalDateTime start : ownStarts) {
+            LocalDateTime windowStart = start.minusMinutes(CONFLICT_BUFFER_MINUTES);
+            LocalDateTime windowEnd = start.plusMinutes(duration + CONFLICT_BUFFER_MINUTES);
+            List<Long> matches = openSchedules.overlapping(windowStart, windowEnd);
+            for (ConflictCandidate occurrence : occurrences) {
+                if (occurrence.start().isBefore(windowEnd) && occurrence.end().isAfter(windowStart)) {
+                    matches.add(occurrence.id());
+                }
+            }
+            ids.addAll(matches);
+        }
+        if (newSchedule.getId() != null) {
+            ids.remove(newSchedule.getId());
+        }
+        return new ArrayList<>(ids);
+    }
+    
+    private record ConflictCandidate(Long id, LocalDateTime start, LocalDateTime end) {
+    }
+    
+    /**
+     * Start times of a series' occurrences from {@code from} to {@code to}, inclusive, with its
+     * overrides applied, in order. Cancelled and completed occurrences are left out.
+     */
+    private static List<LocalDateTime> occurrenceTimes(ScheduleRecurrence recurrence, Map<LocalDate, ScheduleOccurrenceOverride> overrides,
+                                                       LocalDateTime from, LocalDateTime to) {
+        List<LocalDateTime> times = new ArrayList<>();
+        recurrence.forEachDay(from.toLocalDate().toEpochDay(), to.toLocalDate().toEpochDay(), day -> {
+            LocalDate date = LocalDate.ofEpochDay(day);
+            ScheduleOccurrenceOverride override = overrides.get(date);
+            boolean usual = override == null
+                    || (override.getRescheduledTime() == null && !override.isCancelled() && !override.isCompleted());
+            LocalDateTime time = recurrence.timeOn(date);
+            if (usual && !time.isBefore(from) && !time.isAfter(to)) {
+                times.add(time);
+            }
+        });
+        // Occurrences moved into the window, from inside it or out
+        for (ScheduleOccurrenceOverride override : overrides.values()) {
+            LocalDateTime time = override.getRescheduledTime();
+            if (time != null && !override.isCancelled() && !override.isCompleted()
+                    && recurrence.occursOn(override.getOccurrenceDate()) && !time.isBefore(from) && !time.isAfter(to)) {
+                times.add(time);
+            }
+        }
+        times.sort(Comparator.naturalOrder());
+        return times;
+    }
+    
+    private void index(GamingSchedule schedule) {
+        if (schedule.isCompleted()) {
+            openSchedules.remove(schedule.getId());
+            openSeries.remove(schedule.getId());
+        } else if (ScheduleRecurrence.of(schedule) != null) {
+            openSchedules.remove(schedule.getId());
+            openSeries.put(schedule.getId(), openSeries(schedule));
+        } else {
+            openSeries.remove(schedule.getId());
+            LocalDateTime start = schedule.getScheduledTime();
+            openSchedules.put(schedule.getId(), start, start.plusMinutes(durationOf(schedule.getEstimatedDurationMinutes())));
+        }
+    }
+    
+    private static OpenSeries openSeries(GamingSchedule schedule) {
+        return new OpenSeries(ScheduleRecurrence.of(schedule), durationOf(schedule.getEstimatedDurationMinutes()));
+    }
+    
+    private static int durationOf(Integer estimatedDurationMinutes) {
+        return estimatedDurationMinutes != null ? estimatedDurationMinutes : DEFAULT_DURATION_MINUTES;
     }
 }
@@ -1,13 +1,18 @@
 package com.gamertools.service;
 
+import com.gamertools.dto.CursorPage;
+import com.gamertools.dto.PageCursor;
 import com.gamertools.model.Game;
 import com.gamertools.model.GamingSession;
 import com.gamertools.repository.GameRepository;
 import com.gamertools.repository.GamingSessionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -24,48 +29,134 @@ public class GamingSessionService {
     @Autowired
     private SystemMonitoringService systemMonitoringService;
     
+    @Autowired
+    private SessionTelemetryService telemetryService;
+    
+    @Autowired
+    private TelemetryStore telemetryStore;
+    
+    @Autowired
+    private SessionEventService eventService;
+    
+    @Autowired
+    private FrameTimeService frameTimeService;
+    
+    @Autowired
+    private ActiveSessionRegistry activeSessions;
+    
+    @Autowired
+    private LiveUpdateService liveUpdateService;
+    
+    @Autowired
+    private PerformanceAnalyticsService analyticsService;
+    
+    @Autowired
+    private DailyRollupService rollupService;
+    
     public GamingSession startSession(Long gameId) {
         Game game = gameRepository.findById(gameId)
                 .orElseThrow(() -> new RuntimeException("Game not found with id: " + gameId));
         
-        // Check if there's already an active session for this game
-        Optional<GamingSession> existingSession = sessionRepository.findByGameAndEndTimeIsNull(game);
-        if (existingSession.isPresent()) {
+        // Claim the game before inserting, so of two concurrent starts only one gets through
+        if (!activeSessions.reserve(gameId)) {
             throw new RuntimeException("There's already an active session for this game");
         }
         
-        GamingSession session = new GamingSession(game);
-        
-        // Capture initial system metrics
-        Map<String, Object> systemMetrics = systemMonitoringService.getCurrentSystemMetrics();
-        if (systemMetrics.get("cpuUsage") != null) {
-            session.setAvgCpuUsage((Double) systemMetrics.get("cpuUsage"));
-        }
-        if (systemMetrics.get("memoryUsage") != null) {
-            session.setAvgMemoryUsage((Double) systemMetrics.get("memoryUsage"));
+        GamingSession savedSession;
+        try {
+            GamingSession session = new GamingSession(game);
+            
+            // Capture initial system metrics
+            Map<String, Object> systemMetrics = systemMonitoringService.getCurrentSystemMetrics();
+            if (systemMetrics.get("cpuUsage") != null) {
+                session.setAvgCpuUsage((Double) systemMetrics.get("cpuUsage"));
+            }
+            if (systemMetrics.get("memoryUsage") != null) {
+                session.setAvgMemoryUsage((Double) systemMetrics.get("memoryUsage"));
+            }
+            if (systemMetrics.get("cpuTemperature") != null) {
+                session.setAvgTemperature((Double) systemMetrics.get("cpuTemperature"));
+            }
+            
+            savedSession = sessionRepository.save(session);
+        } catch (RuntimeException e) {
+            activeSessions.release(gameId);
+            throw e;
         }
-        if (systemMetrics.get("cpuTemperature") != null) {
-            session.setAvgTemperature((Double) systemMetrics.get("cpuTemperature"));
-        }
-        
-        return sessionRepository.save(session);
+        activeSessions.started(savedSession);
+        telemetryService.startTracking(savedSession.getId());
+        eventService.startTracking(savedSession.getId());
+        frameTimeService.startTracking(savedSession.getId());
+        rollupService.recordSessionStarted(savedSession);
+        liveUpdateService.publishSessionChange();
+        return savedSession;
     }
     
     public GamingSession endSession(Long sessionId) {
-        GamingSession session = sessionRepository.findById(sessionId)
-                .orElseThrow(() -> new RuntimeException("Session not found with id: " + sessionId));
-        
-        if (!session.isActive()) {
+        // Claim the session, so of two concurrent ends only one gets through
+        if (!activeSessions.beginEnd(sessionId)) {
+            sessionRepository.findById(sessionId)
+                    .orElseThrow(() -> new RuntimeException("Session not found with id: " + sessionId));
             throw new RuntimeException("Session is already ended");
         }
         
+        GamingSession savedSession;
+        try {
+            savedSession = finishSession(sessionId);
+        } catch (RuntimeException e) {
+            activeSessions.endAborted(sessionId);
+            eventService.startTracking(sessionId);
+            frameTimeService.startTracking(sessionId);
+            throw e;
+        }
+        // Only now the end is saved, so a failed end above keeps recording telemetry
+        telemetryService.stopTracking(sessionId);
+        activeSessions.ended(sessionId);
+        rollupService.recordSessionEnded(savedSession);
+        liveUpdateService.publishSessionChange();
+        return savedSession;
+    }
+    
+    private GamingSession finishSession(Long sessionId) {
+        // Write the last live events and frames first so the row read below has the final totals
+        eventService.stopTracking(sessionId);
+        frameTimeService.stopTracking(sessionId);
+        GamingSession session = sessionRepository.findWithGameById(sessionId)
+                .orElseThrow(() -> new RuntimeException("Session not found with id: " + sessionId));
+        
+        GameAnalyticsAggregate.SessionSample before = GameAnalyticsAggregate.SessionSample.of(session);
+        long analyticsVersion = analyticsService.beginSessionWrite(session.getGame().getId());
         session.endSession();
-        return sessionRepository.save(session);
+        
+        // Replace the start-of-session readings with averages over the whole session
+        telemetryService.getTelemetry(sessionId).ifPresent(telemetry -> {
+            if (telemetry.getAverageCpu() != null) {
+                session.setAvgCpuUsage(telemetry.getAverageCpu());
+            }
+            if (telemetry.getAverageMemory() != null) {
+                session.setAvgMemoryUsage(telemetry.getAverageMemory());
+            }
+            if (telemetry.getAverageTemperature() != null) {
+                session.setAvgTemperature(telemetry.getAverageTemperature());
+            }
+        });
+        
+        GamingSession savedSession = sessionRepository.save(session);
+        analyticsService.onSessionChanged(session.getGame().getId(), analyticsVersion, before, GameAnalyticsAggregate.SessionSample.of(savedSession));
+        return savedSession;
     }
     
     public GamingSession updateSessionStats(Long sessionId, GamingSession updatedSession) {
-        return sessionRepository.findById(sessionId)
+        // Totals sent here replace what live events have counted so far, not the other way round
+        return eventService.flushAndRun(sessionId, () -> applySessionStats(sessionId, updatedSession));
+    }
+    
+    private GamingSession applySessionStats(Long sessionId, GamingSession updatedSession) {
+        return sessionRepository.findWithGameById(sessionId)
                 .map(session -> {
+                    GameAnalyticsAggregate.SessionSample before = GameAnalyticsAggregate.SessionSample.of(session);
+                    long analyticsVersion = analyticsService.beginSessionWrite(session.getGame().getId());
+                    
                     if (updatedSession.getKills() != null) {
                         session.setKills(updatedSession.getKills());
                     }
@@ -97,34 +188,119 @@ public class GamingSessionService {
                         session.setNotes(updatedSession.getNotes());
                     }
                     
-                    return sessionRepository.save(session);
+                    GamingSession savedSession = sessionRepository.save(session);
+                    activeSessions.update(savedSession);
+                    analyticsService.onSessionChanged(session.getGame().getId(), analyticsVersion, before, GameAnalyticsAggregate.SessionSample.of(savedSession));
+                    liveUpdateService.publishSessionChange();
+                    return savedSession;
                 })
                 .orElseThrow(() -> new RuntimeException("Session not found with id: " + sessionId));
     }
     
+    /**
+     * Adds a batch of frame times to a session. A running session takes them in memory; an
+     * ended one has them merged into its stored histogram at once, and its game's analytics
+     * follow the new average FPS.
+     */
+    public Map<String, Object> recordFrameTimes(Long sessionId, FrameTimeHistogram frames) {
+        Optional<Map<String, Object>> live = frameTimeService.recordActive(sessionId, frames);
+        if (live.isPresent()) {
+            return live.get();
+        }
+        GamingSession session = sessionRepository.findWithGameById(sessionId)
+                .orElseThrow(() -> new RuntimeException("Session not found with id: " + sessionId));
+        GameAnalyticsAggregate.SessionSample before = GameAnalyticsAggregate.SessionSample.of(session);
+        long analyticsVersion = analyticsService.beginSessionWrite(session.getGame().getId());
+        Map<String, Object> stats = frameTimeService.recordStored(session, frames);
+        analyticsService.onSessionChanged(session.getGame().getId(), analyticsVersion, before, GameAnalyticsAggregate.SessionSample.of(session));
+        liveUpdateService.publishSessionChange();
+        return stats;
+    }
+    
     public List<GamingSession> getSessionsForGame(Long gameId) {
+        return getSessionsForGame(gameId, null, PageCursor.DEFAULT_PAGE_SIZE).getItems();
+    }
+    
+    public CursorPage<GamingSession> getSessionsForGame(Long gameId, String cursor, Integer limit) {
         Game game = gameRepository.findById(gameId)
                 .orElseThrow(() -> new RuntimeException("Game not found with id: " + gameId));
         
-        return sessionRepository.findByGameOrderByStartTimeDesc(game);
+        int pageSize = PageCursor.clampLimit(limit);
+        PageCursor after = PageCursor.decode(cursor, PageCursor.FIRST_DESCENDING);
+        List<GamingSession> sessions = sessionRepository.findPageByGame(game.getId(), after.time(), after.id(), PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(sessions, pageSize, session -> new PageCursor(session.getStartTime(), session.getId()));
     }
     
     public List<GamingSession> getActiveSessions() {
-        return sessionRepository.findActiveSessions();
+        return activeSessions.getActiveSessions();
     }
     
     public List<GamingSession> getRecentSessions(int days) {
+        return getRecentSessions(days, null, PageCursor.DEFAULT_PAGE_SIZE).getItems();
+    }
+    
+    public CursorPage<GamingSession> getRecentSessions(int days, String cursor, Integer limit) {
         LocalDateTime startDate = LocalDateTime.now().minusDays(days);
         LocalDateTime endDate = LocalDateTime.now();
         
-        return sessionRepository.findSessionsBetweenDates(startDate, endDate);
+        int pageSize = PageCursor.clampLimit(limit);
+        PageCursor after = PageCursor.decode(cursor, PageCursor.FIRST_DESCENDING);
+        if (after.time().isAfter(endDate)) {
+            after = new PageCursor(endDate, Long.MAX_VALUE);
+        }
+        List<GamingSession> sessions = sessionRepository.findPageSince(startDate, after.time(), after.id(), PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(sessions, pageSize, session -> new PageCursor(session.getStartTime(), session.getId()));
     }
     
     public Optional<GamingSession> getSessionById(Long id) {
-        return sessionRepository.findById(id);
+        return sessionRepository.findWithGameById(id);
+    }
+    
+    public Map<String, Object> getSessionTelemetry(Long sessionId, LocalDateTime from, LocalDateTime to, long stepSeconds) {
+        GamingSession session = sessionRepository.findById(sessionId)
+                .orElseThrow(() -> new RuntimeException("Session not found with id: " + sessionId));
+        
+        LocalDateTime rangeStart = from != null ? from : session.getStartTime();
+        LocalDateTime rangeEnd = to != null ? to : (session.getEndTime() != null ? session.getEndTime() : LocalDateTime.now());
+        ZoneId zone = ZoneId.systemDefault();
+        
+        Map<String, Object> telemetry = new HashMap<>(telemetryStore.read(sessionId,
+                rangeStart.atZone(zone).toInstant().toEpochMilli(),
+                rangeEnd.atZone(zone).toInstant().toEpochMilli(),
+                stepSeconds * 1000));
+        telemetry.put("sessionId", sessionId);
+        telemetry.put("stepSeconds", stepSeconds);
+        return telemetry;
+    }
+    
+    public List<Long> getSessionIdsByGame(Long gameId) {
+        return sessionRepository.findIdsByGameId(gameId);
+    }
+    
+    /**
+     * Stops tracking and deletes the telemetry of sessions whose rows went with their game's
+     * delete, as {@link #deleteSession} does for one.
+     */
+    public void discardDeletedSessions(List<Long> sessionIds) {
+        for (Long id : sessionIds) {
+            telemetryService.stopTracking(id);
+            eventService.discard(id);
+            telemetryStore.delete(id);
+        }
     }
     
     public void deleteSession(Long id) {
-        sessionRepository.deleteById(id);
+        telemetryService.stopTracking(id);
+        eventService.discard(id);
+        frameTimeService.discard(id);
+        activeSessions.ended(id);
+        telemetryStore.delete(id);
+        sessionRepository.findById(id).ifPresent(session -> {
+            long analyticsVersion = analyticsService.beginSessionWrite(session.getGame().getId());
+            sessionRepository.delete(session);
+            analyticsService.onSessionChanged(session.getGame().getId(), analyticsVersion, GameAnalyticsAggregate.SessionSample.of(session), null);
+            rollupService.recordSessionDeleted(session);
+        });
+        liveUpdateService.publishSessionChange();
     }
 }
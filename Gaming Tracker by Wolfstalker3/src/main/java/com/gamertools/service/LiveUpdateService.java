@@ -0,0 +1,246 @@
+package com.gamertools.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gamertools.model.GamingSession;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pushes metric snapshots, active-session changes and stat updates to connected browsers
+ * over Server-Sent Events. Each event is serialized once and written to every client,
+ * so server work follows the rate of changes rather than the number of open pages.
+ *
+ * Nothing queues up behind a slow client. Changes waiting to be broadcast collapse to the
+ * latest metrics sample and one session change, and each client holds at most one unsent
+ * payload per event, replaced by newer ones. Clients are written to on their own threads,
+ * and a client whose write has been stuck for {@link #SEND_TIMEOUT_MS} is dropped.
+ */
+@Service
+public class LiveUpdateService {
+    
+    private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L;
+    
+    private static final long SEND_TIMEOUT_MS = 10_000;
+    
+    @Autowired
+    private SystemMonitoringService systemMonitoringService;
+    
+    @Autowired
+    private PerformanceAnalyticsService analyticsService;
+    
+    @Autowired
+    private ActiveSessionRegistry activeSessions;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    private final List<Client> clients = new CopyOnWriteArrayList<>();
+    
+    // Builds and serializes payloads; only ever hands them to clients, so it never waits on a socket
+    private final ExecutorService broadcaster = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "live-update-broadcaster");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    // Writes to clients; at most one thread per client, so a stalled one holds only its own
+    private final AtomicInteger senderThreads = new AtomicInteger();
+    private final ExecutorService senders = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "live-update-sender-" + senderThreads.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    private final AtomicReference<Map<String, Object>> pendingMetrics = new AtomicReference<>();
+    private final AtomicBoolean sessionsChanged = new AtomicBoolean();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    
+    @PostConstruct
+    public void subscribe() {
+        systemMonitoringService.addMetricsListener(metrics -> {
+            if (!clients.isEmpty()) {
+                pendingMetrics.set(metrics);
+                scheduleDrain();
+            }
+        });
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        broadcaster.shutdownNow();
+        senders.shutdownNow();
+        clients.forEach(client -> client.emitter.complete());
+    }
+    
+    public SseEmitter connect() {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        Client client = new Client(emitter);
+        emitter.onCompletion(() -> clients.remove(client));
+        emitter.onTimeout(() -> clients.remove(client));
+        emitter.onError(e -> clients.remove(client));
+        clients.add(client);
+        
+        // Bring the new client up to date without waiting for the next change
+        broadcaster.execute(() -> {
+            client.offer("metrics", toJson(metricsPayload(systemMonitoringService.getCurrentSystemMetrics())));
+            client.offer("sessions", toJson(activeSessionsPayload()));
+            client.offer("stats", toJson(analyticsService.getOverallStats()));
+        });
+        return emitter;
+    }
+    
+    /**
+     * Called after a session starts, ends, is edited or is deleted.
+     */
+    public void publishSessionChange() {
+        if (clients.isEmpty()) {
+            return;
+        }
+        sessionsChanged.set(true);
+        scheduleDrain();
+    }
+    
+    public int getConnectedClients() {
+        return clients.size();
+    }
+    
+    private void scheduleDrain() {
+        if (drainScheduled.compareAndSet(false, true)) {
+            broadcaster.execute(this::drain);
+        }
+    }
+    
+    private void drain() {
+        // Cleared first, so a change arriving while this runs schedules another pass
+        drainScheduled.set(false);
+        dropStalledClients();
+        Map<String, Object> metrics = pendingMetrics.getAndSet(null);
+        if (metrics != null) {
+            broadcast("metrics", metricsPayload(metrics));
+        }
+        if (sessionsChanged.getAndSet(false)) {
+            broadcast("sessions", activeSessionsPayload());
+            broadcast("stats", analyticsService.getOverallStats());
+        }
+    }
+    
+    private void dropStalledClients() {
+        long now = System.nanoTime();
+        for (Client client : clients) {
+            if (client.isStalled(now)) {
+                clients.remove(client);
+                client.emitter.complete();
+            }
+        }
+    }
+    
+    private Map<String, Object> metricsPayload(Map<String, Object> metrics) {
+        Map<String, Object> payload = new HashMap<>(metrics);
+        payload.put("recommendations", systemMonitoringService.getOptimizationRecommendations(metrics));
+        return payload;
+    }
+    
+    private List<Map<String, Object>> activeSessionsPayload() {
+        List<Map<String, Object>> sessions = new ArrayList<>();
+        for (GamingSession session : activeSessions.getActiveSessions()) {
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("id", session.getId());
+            entry.put("gameName", session.getGame().getName());
+            entry.put("startTime", session.getStartTime().toString());
+            sessions.add(entry);
+        }
+        return sessions;
+    }
+    
+    private void broadcast(String eventName, Object payload) {
+        String json = toJson(payload);
+        for (Client client : clients) {
+            client.offer(eventName, json);
+        }
+    }
+    
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            return "{\"error\": \"" + e.getMessage() + "\"}";
+        }
+    }
+    
+    private final class Client {
+        
+        final SseEmitter emitter;
+        // Latest unsent payload per event name, in the order the events were first offered
+        private final Map<String, String> pending = new LinkedHashMap<>();
+        private boolean sending;
+        private long sendStartedNanos;
+        
+        Client(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+        
+        void offer(String eventName, String json) {
+            synchronized (this) {
+                pending.put(eventName, json);
+                if (sending) {
+                    return;
+                }
+                sending = true;
+                sendStartedNanos = System.nanoTime();
+            }
+            senders.execute(this::sendPending);
+        }
+        
+        synchronized boolean isStalled(long nowNanos) {
+            return sending && nowNanos - sendStartedNanos > TimeUnit.MILLISECONDS.toNanos(SEND_TIMEOUT_MS);
+        }
+        
+        private void sendPending() {
+            while (true) {
+                String eventName;
+                String json;
+                synchronized (this) {
+                    Iterator<Map.Entry<String, String>> next = pending.entrySet().iterator();
+                    if (!next.hasNext()) {
+                        sending = false;
+                        return;
+                    }
+                    Map.Entry<String, String> entry = next.next();
+                    next.remove();
+                    eventName = entry.getKey();
+                    json = entry.getValue();
+                    sendStartedNanos = System.nanoTime();
+                }
+                try {
+                    emitter.send(SseEmitter.event().name(eventName).data(json));
+                } catch (IOException | IllegalStateException e) {
+                    clients.remove(this);
+                    synchronized (this) {
+                        pending.clear();
+                        sending = false;
+                    }
+                    return;
+                }
+            }
+        }
+    }
+}
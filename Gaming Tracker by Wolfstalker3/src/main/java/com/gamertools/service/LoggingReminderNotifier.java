@@ -0,0 +1,21 @@
+package com.gamertools.service;
+
+import com.gamertools.dto.ScheduleOccurrence;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes each reminder to the application log.
+ */
+@Component
+public class LoggingReminderNotifier implements ReminderNotifier {
+    
+    private static final Logger log = LoggerFactory.getLogger(LoggingReminderNotifier.class);
+    
+    @Override
+    public void sendReminder(ScheduleOccurrence occurrence) {
+        log.info("Reminder: Gaming session '{}' is scheduled in 30 minutes at {}",
+                occurrence.getTitle(), occurrence.getScheduledTime());
+    }
+}
@@ -1,17 +1,25 @@
 package com.gamertools.service;
 
+import com.gamertools.config.WorkerPools;
 import com.gamertools.model.Game;
-import com.gamertools.model.GamingSession;
-import com.gamertools.model.MoodLevel;
-import com.gamertools.model.PerformanceRating;
 import com.gamertools.repository.GamingSessionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
+import java.time.LocalDate;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 @Service
 public class PerformanceAnalyticsService {
@@ -19,82 +27,245 @@ public class PerformanceAnalyticsService {
     @Autowired
     private GamingSessionRepository sessionRepository;
     
+    @Autowired
+    private DailyRollupService rollupService;
+    
+    @Autowired
+    private FrameTimeService frameTimeService;
+    
+    // Per-game running totals over rated sessions, built lazily and updated on every session write
+    private final Map<Long, CachedAggregate> aggregates = new ConcurrentHashMap<>();
+    // Per-game count of session writes begun, which tells a write whether an aggregate was loaded before it
+    private final Map<Long, AtomicLong> writeVersions = new ConcurrentHashMap<>();
+    private final LongAdder aggregateHits = new LongAdder();
+    private final LongAdder aggregateMisses = new LongAdder();
+    
+    // 0 means one worker per available processor
+    @Value("${gaming.analytics.threads:0}")
+    private int workerThreads;
+    
+    @Value("${gaming.analytics.queue-capacity:1000}")
+    private int queueCapacity;
+    
+    @Value("${gaming.analytics.game-timeout-ms:2000}")
+    private long gameTimeoutMs;
+    
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+    
+    private ThreadPoolExecutor workers;
+    
+    @PostConstruct
+    public void startWorkers() {
+        int threads = workerThreads > 0 ? workerThreads : Runtime.getRuntime().availableProcessors();
+        workers = WorkerPools.newBoundedPool("analytics-worker-", threads, queueCapacity, virtualThreads);
+    }
+    
+    @PreDestroy
+    public void stopWorkers() {
+        WorkerPools.shutdown(workers);
+    }
+    
+    /**
+     * Analytics for every game in {@code games}, computed concurrently on the worker pool and
+     * returned in the same order. Each game's clock starts when the batch is submitted, so the
+     * whole call returns within about one game timeout; a game that times out, fails or does
+     * not fit in the queue is reported with its status instead of holding up the others.
+     */
+    public List<Map<String, Object>> getPerformanceAnalyticsForGames(List<Game> games) {
+        List<CompletableFuture<Map<String, Object>>> futures = new ArrayList<>(games.size());
+        for (Game game : games) {
+            CompletableFuture<Map<String, Object>> future;
+            try {
+                future = CompletableFuture.supplyAsync(() -> getPerformanceAnalytics(game), workers);
+            } catch (RejectedExecutionException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            futures.add(future.orTimeout(gameTimeoutMs, TimeUnit.MILLISECONDS));
+        }
+        
+        List<Map<String, Object>> results = new ArrayList<>(games.size());
+        for (int i = 0; i < games.size(); i++) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("gameId", games.get(i).getId());
+            result.put("gameName", games.get(i).getName());
+            try {
+                result.put("analytics", futures.get(i).join());
+                result.put("status", "ok");
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                if (cause instanceof TimeoutException) {
+                    result.put("status", "timeout");
+                } else if (cause instanceof RejectedExecutionException) {
+                    result.put("status", "rejected");
+                } else {
+                    result.put("status", "error");
+                    result.put("error", cause.getMessage());
+                }
+            }
+            results.add(result);
+        }
+        return results;
+    }
+    
     public Map<String, Object> getPerformanceAnalytics(Game game) {
         Map<String, Object> analytics = new HashMap<>();
         
-        List<GamingSession> sessions = sessionRepository.findSessionsWithPerformanceRating(game);
+        GameAnalyticsAggregate aggregate = getAggregate(game);
+        // Merged from the sessions' stored histograms, so this covers unrated sessions too
+        Optional<Map<String, Object>> frameTimes = frameTimeService.getGameSummary(game.getId());
         
-        if (sessions.isEmpty()) {
+        if (aggregate.getSessionCount() == 0) {
             analytics.put("message", "No performance data available for this game yet.");
+            frameTimes.ifPresent(summary -> analytics.put("frameTimes", summary));
             return analytics;
         }
         
         // Basic statistics
-        analytics.put("totalSessions", sessions.size());
-        analytics.put("averageSessionDuration", calculateAverageSessionDuration(sessions));
-        analytics.put("totalPlaytime", calculateTotalPlaytime(sessions));
+        analytics.put("totalSessions", aggregate.getSessionCount());
+        analytics.put("averageSessionDuration", aggregate.getAverageDuration());
+        analytics.put("sessionDurationStdDev", Math.round(aggregate.getDurationStandardDeviation() * 100.0) / 100.0);
+        analytics.put("totalPlaytime", aggregate.getTotalPlaytime());
         
         // Performance trends
-        analytics.put("performanceTrend", calculatePerformanceTrend(sessions));
-        analytics.put("averagePerformanceRating", calculateAveragePerformanceRating(sessions));
+        analytics.put("performanceTrend", calculatePerformanceTrend(aggregate.getTrendRatings()));
+        analytics.put("averagePerformanceRating", aggregate.getAverageRating());
+        analytics.put("performanceRatingStdDev", Math.round(aggregate.getRatingStandardDeviation() * 100.0) / 100.0);
         
         // Mood analysis
-        analytics.put("moodAnalysis", analyzeMoodPatterns(sessions));
+        analytics.put("moodAnalysis", analyzeMoodPatterns(aggregate));
         
         // System performance
-        analytics.put("systemPerformance", analyzeSystemPerformance(sessions));
+        analytics.put("systemPerformance", analyzeSystemPerformance(aggregate));
+        frameTimes.ifPresent(summary -> analytics.put("frameTimes", summary));
+        
+        GameAnalyticsAggregate.RecentTotals recent = aggregate.getRecentTotals();
         
         // Gaming patterns
-        analytics.put("gamingPatterns", analyzeGamingPatterns(sessions));
+        analytics.put("gamingPatterns", analyzeGamingPatterns(aggregate, recent));
         
         // Recommendations
-        analytics.put("recommendations", generateRecommendations(sessions));
+        analytics.put("recommendations", generateRecommendations(recent));
         
         return analytics;
     }
     
-    private double calculateAverageSessionDuration(List<GamingSession> sessions) {
-        return sessions.stream()
-                .filter(s -> s.getDurationMinutes() != null)
-                .mapToLong(GamingSession::getDurationMinutes)
-                .average()
-                .orElse(0.0);
+    /**
+     * Announces a write to one of the game's sessions; call it before the write reaches the
+     * database and pass the result to {@link #onSessionChanged}. An aggregate still loading
+     * from then on is not cached, as it may or may not see the write.
+     */
+    public long beginSessionWrite(Long gameId) {
+        return writeVersion(gameId).incrementAndGet();
+    }
+    
+    /**
+     * Keeps the per-game aggregate in step with a session write begun with
+     * {@link #beginSessionWrite}. Pass null for {@code before} on inserts and null for
+     * {@code after} on deletes. Only an aggregate loaded before the write began is patched;
+     * a later one may already include the write and is dropped instead.
+     */
+    public void onSessionChanged(Long gameId, long writeVersion, GameAnalyticsAggregate.SessionSample before, GameAnalyticsAggregate.SessionSample after) {
+        aggregates.computeIfPresent(gameId, (id, cached) -> {
+            if (cached.loadVersion() >= writeVersion) {
+                return null;
+            }
+            GameAnalyticsAggregate aggregate = cached.aggregate();
+            if (before != null && after != null) {
+                aggregate.replace(before, after);
+            } else if (before != null) {
+                aggregate.remove(before);
+            } else if (after != null) {
+                aggregate.add(after);
+            }
+            // Drop it so the next read rebuilds the trend window from history
+            return aggregate.isTrendIncomplete() ? null : cached;
+        });
+    }
+    
+    /**
+     * Discards every aggregate; each one is rebuilt from the database on its next read.
+     */
+    public void rebuildAggregates() {
+        writeVersions.values().forEach(AtomicLong::incrementAndGet);
+        aggregates.clear();
+    }
+    
+    public long getAggregateCacheHits() {
+        return aggregateHits.sum();
     }
     
-    private long calculateTotalPlaytime(List<GamingSession> sessions) {
-        return sessions.stream()
-                .filter(s -> s.getDurationMinutes() != null)
-                .mapToLong(GamingSession::getDurationMinutes)
-                .sum();
+    public long getAggregateCacheMisses() {
+        return aggregateMisses.sum();
     }
     
-    private Map<String, Object> calculatePerformanceTrend(List<GamingSession> sessions) {
+    public int getAggregateCacheSize() {
+        return aggregates.size();
+    }
+    
+    public void evictAggregate(Long gameId) {
+        // Bumped first, so a load that raced the change is not installed after the remove
+        writeVersion(gameId).incrementAndGet();
+        aggregates.remove(gameId);
+    }
+    
+    public void rebuildAggregate(Game game) {
+        evictAggregate(game.getId());
+        getAggregate(game);
+    }
+    
+    private GameAnalyticsAggregate getAggregate(Game game) {
+        CachedAggregate cached = aggregates.get(game.getId());
+        if (cached != null) {
+            aggregateHits.increment();
+            return cached.aggregate();
+        }
+        aggregateMisses.increment();
+        
+        // Loaded outside the map so writes never wait on the query; installed only if no write
+        // began meanwhile, since the query may or may not have seen it
+        AtomicLong version = writeVersion(game.getId());
+        long loadVersion = version.get();
+        GameAnalyticsAggregate loaded = GameAnalyticsAggregate.of(sessionRepository.findSessionsWithPerformanceRating(game));
+        CachedAggregate installed = aggregates.compute(game.getId(), (id, current) -> {
+            if (current != null) {
+                return current;
+            }
+            return version.get() == loadVersion ? new CachedAggregate(loaded, loadVersion) : null;
+        });
+        return installed != null ? installed.aggregate() : loaded;
+    }
+    
+    private AtomicLong writeVersion(Long gameId) {
+        return writeVersions.computeIfAbsent(gameId, id -> new AtomicLong());
+    }
+    
+    private record CachedAggregate(GameAnalyticsAggregate aggregate, long loadVersion) {
+    }
+    
+    private Map<String, Object> calculatePerformanceTrend(int[] ratings) {
         Map<String, Object> trend = new HashMap<>();
         
-        List<GamingSession> recentSessions = sessions.stream()
-                .filter(s -> s.getPerformanceRating() != null)
-                .sorted(Comparator.comparing(GamingSession::getStartTime))
-                .collect(Collectors.toList());
-        
-        if (recentSessions.size() < 2) {
+        if (ratings.length < 2) {
             trend.put("status", "insufficient_data");
             return trend;
         }
         
         // Compare last 5 sessions with previous 5 sessions
-        int halfSize = Math.min(5, recentSessions.size() / 2);
+        int halfSize = Math.min(5, ratings.length / 2);
         if (halfSize < 2) {
             trend.put("status", "insufficient_data");
             return trend;
         }
         
-        List<GamingSession> recent = recentSessions.subList(recentSessions.size() - halfSize, recentSessions.size());
-        List<GamingSession> previous = recentSessions.subList(Math.max(0, recentSessions.size() - halfSize * 2), recentSessions.size() - halfSize);
-        
-        double recentAvg = recent.stream().mapToInt(s -> s.getPerformanceRating().getValue()).average().orElse(0);
-        double previousAvg = previous.stream().mapToInt(s -> s.getPerformanceRating().getValue()).average().orElse(0);
+        double recentSum = 0;
+        double previousSum = 0;
+        for (int i = 0; i < halfSize; i++) {
+            recentSum += ratings[ratings.length - 1 - i];
+            previousSum += ratings[ratings.length - 1 - halfSize - i];
+        }
         
-        double change = recentAvg - previousAvg;
+        double change = (recentSum - previousSum) / halfSize;
         
         if (change > 0.5) {
             trend.put("status", "improving");
@@ -112,34 +283,16 @@ public class PerformanceAnalyticsService {
         return trend;
     }
     
-    private double calculateAveragePerformanceRating(List<GamingSession> sessions) {
-        return sessions.stream()
-                .filter(s -> s.getPerformanceRating() != null)
-                .mapToInt(s -> s.getPerformanceRating().getValue())
-                .average()
-                .orElse(0.0);
-    }
-    
-    private Map<String, Object> analyzeMoodPatterns(List<GamingSession> sessions) {
+    private Map<String, Object> analyzeMoodPatterns(GameAnalyticsAggregate aggregate) {
         Map<String, Object> moodAnalysis = new HashMap<>();
         
-        List<GamingSession> sessionsWithMood = sessions.stream()
-                .filter(s -> s.getMoodBefore() != null && s.getMoodAfter() != null)
-                .collect(Collectors.toList());
-        
-        if (sessionsWithMood.isEmpty()) {
+        if (aggregate.getMoodCount() == 0) {
             moodAnalysis.put("message", "No mood data available");
             return moodAnalysis;
         }
         
-        double avgMoodBefore = sessionsWithMood.stream()
-                .mapToInt(s -> s.getMoodBefore().getValue())
-                .average().orElse(0);
-        
-        double avgMoodAfter = sessionsWithMood.stream()
-                .mapToInt(s -> s.getMoodAfter().getValue())
-                .average().orElse(0);
-        
+        double avgMoodBefore = aggregate.getAverageMoodBefore();
+        double avgMoodAfter = aggregate.getAverageMoodAfter();
         double moodImprovement = avgMoodAfter - avgMoodBefore;
         
         moodAnalysis.put("averageMoodBefore", Math.round(avgMoodBefore * 100.0) / 100.0);
@@ -157,100 +310,62 @@ public class PerformanceAnalyticsService {
         return moodAnalysis;
     }
     
-    private Map<String, Object> analyzeSystemPerformance(List<GamingSession> sessions) {
+    private Map<String, Object> analyzeSystemPerformance(GameAnalyticsAggregate aggregate) {
         Map<String, Object> systemAnalysis = new HashMap<>();
         
-        List<GamingSession> sessionsWithSystemData = sessions.stream()
-                .filter(s -> s.getAvgFps() != null || s.getAvgCpuUsage() != null)
-                .collect(Collectors.toList());
+        Double avgFps = aggregate.getAverageFps();
+        Double avgCpuUsage = aggregate.getAverageCpuUsage();
         
-        if (sessionsWithSystemData.isEmpty()) {
+        if (avgFps == null && avgCpuUsage == null) {
             systemAnalysis.put("message", "No system performance data available");
             return systemAnalysis;
         }
         
-        OptionalDouble avgFps = sessionsWithSystemData.stream()
-                .filter(s -> s.getAvgFps() != null)
-                .mapToDouble(GamingSession::getAvgFps)
-                .average();
-        
-        OptionalDouble avgCpuUsage = sessionsWithSystemData.stream()
-                .filter(s -> s.getAvgCpuUsage() != null)
-                .mapToDouble(GamingSession::getAvgCpuUsage)
-                .average();
-        
-        if (avgFps.isPresent()) {
-            systemAnalysis.put("averageFps", Math.round(avgFps.getAsDouble() * 100.0) / 100.0);
+        if (avgFps != null) {
+            systemAnalysis.put("averageFps", Math.round(avgFps * 100.0) / 100.0);
         }
         
-        if (avgCpuUsage.isPresent()) {
-            systemAnalysis.put("averageCpuUsage", Math.round(avgCpuUsage.getAsDouble() * 100.0) / 100.0);
+        if (avgCpuUsage != null) {
+            systemAnalysis.put("averageCpuUsage", Math.round(avgCpuUsage * 100.0) / 100.0);
         }
         
         return systemAnalysis;
     }
     
-    private Map<String, Object> analyzeGamingPatterns(List<GamingSession> sessions) {
+    private Map<String, Object> analyzeGamingPatterns(GameAnalyticsAggregate aggregate, GameAnalyticsAggregate.RecentTotals recent) {
         Map<String, Object> patterns = new HashMap<>();
         
         // Analyze gaming times
-        Map<Integer, Long> hourlyDistribution = sessions.stream()
-                .collect(Collectors.groupingBy(
-                    s -> s.getStartTime().getHour(),
-                    Collectors.counting()
-                ));
-        
-        Optional<Map.Entry<Integer, Long>> peakHour = hourlyDistribution.entrySet().stream()
-                .max(Map.Entry.comparingByValue());
-        
-        if (peakHour.isPresent()) {
-            patterns.put("peakGamingHour", peakHour.get().getKey() + ":00");
+        int peakHour = aggregate.getPeakHour();
+        if (peakHour >= 0) {
+            patterns.put("peakGamingHour", peakHour + ":00");
         }
         
         // Session frequency
-        LocalDateTime weekAgo = LocalDateTime.now().minus(7, ChronoUnit.DAYS);
-        long recentSessions = sessions.stream()
-                .filter(s -> s.getStartTime().isAfter(weekAgo))
-                .count();
-        
-        patterns.put("sessionsThisWeek", recentSessions);
-        patterns.put("averageSessionsPerDay", Math.round((recentSessions / 7.0) * 100.0) / 100.0);
+        patterns.put("sessionsThisWeek", recent.count);
+        patterns.put("averageSessionsPerDay", Math.round((recent.count / 7.0) * 100.0) / 100.0);
         
         return patterns;
     }
     
-    private List<String> generateRecommendations(List<GamingSession> sessions) {
+    private List<String> generateRecommendations(GameAnalyticsAggregate.RecentTotals recent) {
         List<String> recommendations = new ArrayList<>();
         
-        // Analyze recent performance
-        List<GamingSession> recent = sessions.stream()
-                .filter(s -> s.getStartTime().isAfter(LocalDateTime.now().minus(7, ChronoUnit.DAYS)))
-                .collect(Collectors.toList());
-        
-        if (recent.isEmpty()) {
+        if (recent.count == 0) {
             recommendations.add("Start tracking your gaming sessions to get personalized recommendations!");
             return recommendations;
         }
         
         // Check for long sessions
-        double avgDuration = recent.stream()
-                .filter(s -> s.getDurationMinutes() != null)
-                .mapToLong(GamingSession::getDurationMinutes)
-                .average().orElse(0);
+        double avgDuration = recent.durationCount > 0 ? (double) recent.durationSum / recent.durationCount : 0;
         
         if (avgDuration > 180) { // 3 hours
             recommendations.add("Consider taking breaks during long gaming sessions to maintain peak performance.");
         }
         
         // Check mood patterns
-        List<GamingSession> moodSessions = recent.stream()
-                .filter(s -> s.getMoodBefore() != null && s.getMoodAfter() != null)
-                .collect(Collectors.toList());
-        
-        if (!moodSessions.isEmpty()) {
-            double avgMoodChange = moodSessions.stream()
-                    .mapToDouble(s -> s.getMoodAfter().getValue() - s.getMoodBefore().getValue())
-                    .average().orElse(0);
+        if (recent.moodCount > 0) {
+            double avgMoodChange = (double) recent.moodDeltaSum / recent.moodCount;
             
             if (avgMoodChange < -0.5) {
                 recommendations.add("Gaming sessions seem to be affecting your mood negatively. Consider shorter sessions or different games.");
@@ -258,14 +373,8 @@ public class PerformanceAnalyticsService {
         }
         
         // Check system performance
-        List<GamingSession> systemSessions = recent.stream()
-                .filter(s -> s.getAvgFps() != null)
-                .collect(Collectors.toList());
-        
-        if (!systemSessions.isEmpty()) {
-            double avgFps = systemSessions.stream()
-                    .mapToDouble(GamingSession::getAvgFps)
-                    .average().orElse(0);
+        if (recent.fpsCount > 0) {
+            double avgFps = recent.fpsSum / recent.fpsCount;
             
             if (avgFps < 30) {
                 recommendations.add("Low FPS detected. Consider lowering graphics settings or upgrading hardware.");
@@ -284,18 +393,15 @@ public class PerformanceAnalyticsService {
     public Map<String, Object> getOverallStats() {
         Map<String, Object> stats = new HashMap<>();
         
-        LocalDateTime weekAgo = LocalDateTime.now().minus(7, ChronoUnit.DAYS);
-        LocalDateTime monthAgo = LocalDateTime.now().minus(30, ChronoUnit.DAYS);
-        
-        Long sessionsThisWeek = sessionRepository.countSessionsSince(weekAgo);
-        Long sessionsThisMonth = sessionRepository.countSessionsSince(monthAgo);
-        Long playtimeThisWeek = sessionRepository.getTotalPlaytimeSince(weekAgo);
-        Long playtimeThisMonth = sessionRepository.getTotalPlaytimeSince(monthAgo);
+        // Rolling windows at day granularity: today plus the previous 6 or 29 days
+        LocalDate today = LocalDate.now();
+        DailyRollupService.RangeTotals week = rollupService.getTotals(today.minusDays(6), today);
+        DailyRollupService.RangeTotals month = rollupService.getTotals(today.minusDays(29), today);
         
-        stats.put("sessionsThisWeek", sessionsThisWeek != null ? sessionsThisWeek : 0);
-        stats.put("sessionsThisMonth", sessionsThisMonth != null ? sessionsThisMonth : 0);
-        stats.put("playtimeThisWeekHours", playtimeThisWeek != null ? Math.round((playtimeThisWeek / 60.0) * 100.0) / 100.0 : 0);
-        stats.put("playtimeThisMonthHours", playtimeThisMonth != null ? Math.round((playtimeThisMonth / 60.0) * 100.0) / 100.0 : 0);
+        stats.put("sessionsThisWeek", week.sessions);
+        stats.put("sessionsThisMonth", month.sessions);
+        stats.put("playtimeThisWeekHours", Math.round((week.playtimeMinutes / 60.0) * 100.0) / 100.0);
+        stats.put("playtimeThisMonthHours", Math.round((month.playtimeMinutes / 60.0) * 100.0) / 100.0);
         
         return stats;
     }
@@ -0,0 +1,14 @@
+package com.gamertools.service;
+
+import com.gamertools.dto.ScheduleOccurrence;
+
+/**
+ * Receives schedule reminders as they fall due, 30 minutes before each schedule or
+ * occurrence of a recurring one. Every bean implementing this is called, on the reminder
+ * dispatcher's thread, so implementations should hand slow work such as network calls
+ * off rather than block it.
+ */
+public interface ReminderNotifier {
+    
+    void sendReminder(ScheduleOccurrence occurrence);
+}
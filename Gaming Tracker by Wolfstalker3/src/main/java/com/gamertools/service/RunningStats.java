@@ -0,0 +1,62 @@
+package com.gamertools.service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Streaming mean/variance/min/max using Welford's algorithm, so a series of any
+ * length is summarized in constant memory. Callers synchronize externally.
+ */
+public class RunningStats {
+    
+    private long count;
+    private double mean;
+    private double m2;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    public double getMean() {
+        return mean;
+    }
+    
+    public double getVariance() {
+        return count > 1 ? m2 / (count - 1) : 0.0;
+    }
+    
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+    
+    public double getMin() {
+        return count > 0 ? min : 0.0;
+    }
+    
+    public double getMax() {
+        return count > 0 ? max : 0.0;
+    }
+    
+    public Map<String, Object> toMap() {
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("samples", count);
+        if (count > 0) {
+            summary.put("mean", Math.round(mean * 100.0) / 100.0);
+            summary.put("min", Math.round(min * 100.0) / 100.0);
+            summary.put("max", Math.round(max * 100.0) / 100.0);
+            summary.put("variance", Math.round(getVariance() * 100.0) / 100.0);
+        }
+        return summary;
+    }
+}
@@ -0,0 +1,179 @@
+package com.gamertools.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Time intervals of schedules, keyed by schedule id, answering "which intervals overlap
+ * this window" without a database query. Intervals are half-open, [start, end), so a
+ * schedule ending at 20:00 does not overlap one starting at 20:00.
+ *
+ * Backed by a treap ordered by start time and id, where every node also records the
+ * latest end in its subtree. Adding and removing take O(log n) expected time; an overlap
+ * query skips every subtree that ends before the window or starts after it, visiting
+ * O((k + 1) log n) nodes for k matches.
+ */
+public class ScheduleIntervalIndex {
+    
+    private static final class Node {
+        final long id;
+        final long start;
+        final long end;
+        final int priority;
+        long maxEnd;
+        Node left;
+        Node right;
+        
+        Node(long id, long start, long end, int priority) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+    }
+    
+    private final Map<Long, Node> nodes = new HashMap<>();
+    private final SplittableRandom random = new SplittableRandom();
+    private Node root;
+    
+    /**
+     * Adds the schedule's interval, replacing any interval already held for {@code id}.
+     */
+    public synchronized void put(long id, LocalDateTime start, LocalDateTime end) {
+        remove(id);
+        Node node = new Node(id, seconds(start), Math.max(seconds(start), seconds(end)), random.nextInt());
+        nodes.put(id, node);
+        root = insert(root, node);
+    }
+    
+    public synchronized boolean remove(long id) {
+        Node node = nodes.remove(id);
+        if (node == null) {
+            return false;
+        }
+        root = delete(root, node);
+        return true;
+    }
+    
+    public synchronized int size() {
+        return nodes.size();
+    }
+    
+    /**
+     * Ids of the intervals overlapping [from, to), ordered by start time.
+     */
+    public synchronized List<Long> overlapping(LocalDateTime from, LocalDateTime to) {
+        List<Long> ids = new ArrayList<>();
+        collect(root, seconds(from), seconds(to), ids);
+        return ids;
+    }
+    
+    private static void collect(Node node, long from, long to, List<Long> ids) {
+        // Nothing under this node ends after the window starts
+        if (node == null || node.maxEnd <= from) {
+            return;
+        }
+        collect(node.left, from, to, ids);
+        // Everything to the right starts no earlier than this node, so stop once past the window
+        if (node.start < to) {
+            if (node.end > from) {
+                ids.add(node.id);
+            }
+            collect(node.right, from, to, ids);
+        }
+    }
+    
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added, node) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+    
+    private static Node delete(Node node, Node removed) {
+        if (node == removed) {
+            return merge(node.left, node.right);
+        }
+        if (compare(removed, node) < 0) {
+            node.left = delete(node.left, removed);
+        } else {
+            node.right = delete(node.right, removed);
+        }
+        update(node);
+        return node;
+    }
+    
+    // Joins two treaps where every key in left sorts before every key in right
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+    
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+    
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+    
+    private static void update(Node node) {
+        long maxEnd = node.end;
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+    
+    private static int compare(Node a, Node b) {
+        int byStart = Long.compare(a.start, b.start);
+        return byStart != 0 ? byStart : Long.compare(a.id, b.id);
+    }
+    
+    private static long seconds(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,91 @@
+package com.gamertools.service;
+
+import com.gamertools.model.GamingSchedule;
+import com.gamertools.model.ScheduleType;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.function.LongConsumer;
+
+/**
+ * The recurrence rule of a DAILY or WEEKLY schedule. A daily schedule repeats every day
+ * from its scheduled date; a weekly one every week on its day of week (or its scheduled
+ * date's, if none is set) from the first such day on or after the scheduled date. Both
+ * repeat at the scheduled time of day until the schedule is completed.
+ *
+ * Occurrences are positions on a fixed stride of days, so the first one in a window is
+ * found arithmetically however long ago the schedule started, and walking a window
+ * allocates nothing.
+ */
+public final class ScheduleRecurrence {
+    
+    private final long firstDay;
+    private final int stepDays;
+    private final LocalTime time;
+    
+    private ScheduleRecurrence(long firstDay, int stepDays, LocalTime time) {
+        this.firstDay = firstDay;
+        this.stepDays = stepDays;
+        this.time = time;
+    }
+    
+    /**
+     * The schedule's recurrence, or null if it is not a recurring schedule.
+     */
+    public static ScheduleRecurrence of(GamingSchedule schedule) {
+        if (schedule.getType() == null || !schedule.getType().isRecurring()) {
+            return null;
+        }
+        LocalDate start = schedule.getScheduledTime().toLocalDate();
+        if (schedule.getType() == ScheduleType.DAILY) {
+            return new ScheduleRecurrence(start.toEpochDay(), 1, schedule.getScheduledTime().toLocalTime());
+        }
+        DayOfWeek day = schedule.getDayOfWeek() != null ? schedule.getDayOfWeek() : start.getDayOfWeek();
+        return new ScheduleRecurrence(start.with(TemporalAdjusters.nextOrSame(day)).toEpochDay(), 7,
+                schedule.getScheduledTime().toLocalTime());
+    }
+    
+    public boolean occursOn(LocalDate date) {
+        return occursOn(date.toEpochDay());
+    }
+    
+    public boolean occursOn(long epochDay) {
+        return epochDay >= firstDay && (epochDay - firstDay) % stepDays == 0;
+    }
+    
+    // Time of day of every occurrence, before any override moves one
+    public LocalTime getTime() {
+        return time;
+    }
+    
+    public LocalDateTime timeOn(LocalDate date) {
+        return date.atTime(time);
+    }
+    
+    /**
+     * Passes the epoch day of every occurrence from {@code fromDay} to {@code toDay},
+     * inclusive, in order.
+     */
+    public void forEachDay(long fromDay, long toDay, LongConsumer action) {
+        for (long day = nextOnOrAfter(fromDay); day <= toDay; day += stepDays) {
+            action.accept(day);
+        }
+    }
+    
+    public long count(long fromDay, long toDay) {
+        long first = nextOnOrAfter(fromDay);
+        return first > toDay ? 0 : (toDay - first) / stepDays + 1;
+    }
+    
+    // Epoch day of the first occurrence on or after the given one
+    public long nextOnOrAfter(long day) {
+        if (day <= firstDay) {
+            return firstDay;
+        }
+        long steps = (day - firstDay + stepDays - 1) / stepDays;
+        return firstDay + steps * stepDays;
+    }
+}
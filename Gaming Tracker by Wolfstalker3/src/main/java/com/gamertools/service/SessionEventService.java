@@ -0,0 +1,300 @@
+package com.gamertools.service;
+
+import com.gamertools.dto.SessionEvent;
+import com.gamertools.model.GamingSession;
+import com.gamertools.repository.GamingSessionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Kill, death, assist and score counts for active sessions, fed by batches of in-game
+ * events. Recording a batch only adds to in-memory counters; a flusher writes each session's
+ * change since its previous pass as one in-place UPDATE, every flush interval and once more
+ * when the session ends, so the stored totals trail the events by at most one interval.
+ */
+@Service
+public class SessionEventService {
+    
+    private static final Logger log = LoggerFactory.getLogger(SessionEventService.class);
+    
+    // A type byte (the event type's ordinal) followed by a big-endian 32-bit amount
+    public static final int BINARY_EVENT_BYTES = 5;
+    
+    private static final SessionEvent.Type[] TYPES = SessionEvent.Type.values();
+    
+    @Autowired
+    private GamingSessionRepository sessionRepository;
+    
+    @Autowired
+    private LiveUpdateService liveUpdateService;
+    
+    @Autowired
+    private ActiveSessionRegistry activeSessions;
+    
+    @Value("${gaming.session-events.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+    
+    private final Map<Long, SessionCounters> activeCounters = new ConcurrentHashMap<>();
+    private final LongAdder eventsRecorded = new LongAdder();
+    private ScheduledExecutorService flusher;
+    
+    @PostConstruct
+    public void startFlusher() {
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-event-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushAll, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    public void stopFlusher() {
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        flushAll();
+    }
+    
+    // Sessions left running by a previous run take events again after a restart
+    @EventListener(ApplicationReadyEvent.class)
+    public void trackActiveSessions() {
+        for (GamingSession session : activeSessions.getActiveSessions()) {
+            startTracking(session.getId());
+        }
+    }
+    
+    public void startTracking(Long sessionId) {
+        activeCounters.putIfAbsent(sessionId, new SessionCounters());
+    }
+    
+    /**
+     * Stops taking events for the session and writes whatever is still unflushed, so the row
+     * read after this returns holds the final totals.
+     */
+    public void stopTracking(Long sessionId) {
+        SessionCounters counters = activeCounters.remove(sessionId);
+        if (counters == null) {
+            return;
+        }
+        counters.close();
+        try {
+            write(sessionId, counters);
+        } catch (RuntimeException e) {
+            // Keep the counts for the next attempt to end the session
+            counters.reopen();
+            activeCounters.putIfAbsent(sessionId, counters);
+            throw e;
+        }
+    }
+    
+    /**
+     * Stops taking events for a session being deleted; unflushed counts are dropped.
+     */
+    public void discard(Long sessionId) {
+        SessionCounters counters = activeCounters.remove(sessionId);
+        if (counters != null) {
+            counters.close();
+        }
+    }
+    
+    /**
+     * Writes the session's unflushed counts, then runs an edit of the session's row with no
+     * flush of the session in between, so stats the edit sets are not added to afterwards by
+     * counts recorded before it.
+     */
+    public <T> T flushAndRun(Long sessionId, Supplier<T> edit) {
+        SessionCounters counters = activeCounters.get(sessionId);
+        if (counters == null) {
+            return edit.get();
+        }
+        synchronized (counters) {
+            write(sessionId, counters);
+            return edit.get();
+        }
+    }
+    
+    /**
+     * Records a batch of events. The batch is validated whole before anything is counted,
+     * so a rejected batch leaves the totals untouched. Returns the number of events recorded.
+     */
+    public int recordEvents(Long sessionId, List<SessionEvent> events) {
+        long[] deltas = new long[TYPES.length];
+        for (SessionEvent event : events) {
+            if (event == null || event.type() == null) {
+                throw new RuntimeException("Event type is required");
+            }
+            add(deltas, event.type(), event.amountOrDefault());
+        }
+        return apply(sessionId, deltas, events.size());
+    }
+    
+    /**
+     * Records a batch in the binary format, {@link #BINARY_EVENT_BYTES} bytes per event.
+     */
+    public int recordEvents(Long sessionId, byte[] packedEvents) {
+        if (packedEvents.length % BINARY_EVENT_BYTES != 0) {
+            throw new RuntimeException("Binary events are " + BINARY_EVENT_BYTES + " bytes each, got " + packedEvents.length + " bytes");
+        }
+        long[] deltas = new long[TYPES.length];
+        ByteBuffer buffer = ByteBuffer.wrap(packedEvents);
+        while (buffer.hasRemaining()) {
+            int type = buffer.get() & 0xFF;
+            if (type >= TYPES.length) {
+                throw new RuntimeException("Unknown event type: " + type);
+            }
+            add(deltas, TYPES[type], buffer.getInt());
+        }
+        return apply(sessionId, deltas, packedEvents.length / BINARY_EVENT_BYTES);
+    }
+    
+    public int getTrackedSessionCount() {
+        return activeCounters.size();
+    }
+    
+    public long getEventsRecorded() {
+        return eventsRecorded.sum();
+    }
+    
+    private static void add(long[] deltas, SessionEvent.Type type, int amount) {
+        // Score can go down; the counts cannot
+        if (amount < 0 && type != SessionEvent.Type.SCORE) {
+            throw new RuntimeException("Amount must not be negative for " + type + ": " + amount);
+        }
+        deltas[type.ordinal()] += amount;
+    }
+    
+    private int apply(Long sessionId, long[] deltas, int events) {
+        SessionCounters counters = activeCounters.get(sessionId);
+        if (counters == null || !counters.add(deltas)) {
+            throw new RuntimeException("No active session with id: " + sessionId);
+        }
+        eventsRecorded.add(events);
+        return events;
+    }
+    
+    private void flushAll() {
+        boolean changed = false;
+        for (Map.Entry<Long, SessionCounters> entry : activeCounters.entrySet()) {
+            try {
+                changed |= write(entry.getKey(), entry.getValue());
+            } catch (RuntimeException e) {
+                // The counts stay unflushed and go out with the next pass
+                log.warn("Could not flush events for session {}", entry.getKey(), e);
+            }
+        }
+        if (changed) {
+            liveUpdateService.publishSessionChange();
+        }
+    }
+    
+    // Holding the counters' lock for the write keeps concurrent flushes of a session from
+    // writing the same change twice; recording never takes it
+    private boolean write(Long sessionId, SessionCounters counters) {
+        synchronized (counters) {
+            long[] pending = counters.pending();
+            if (isZero(pending)) {
+                return false;
+            }
+            int kills = Math.toIntExact(pending[SessionEvent.Type.KILL.ordinal()]);
+            int deaths = Math.toIntExact(pending[SessionEvent.Type.DEATH.ordinal()]);
+            int assists = Math.toIntExact(pending[SessionEvent.Type.ASSIST.ordinal()]);
+            int score = Math.toIntExact(pending[SessionEvent.Type.SCORE.ordinal()]);
+            sessionRepository.addStats(sessionId, kills, deaths, assists, score);
+            activeSessions.addStats(sessionId, kills, deaths, assists, score);
+            counters.markFlushed(pending);
+            return true;
+        }
+    }
+    
+    private static boolean isZero(long[] values) {
+        for (long value : values) {
+            if (value != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Running totals for one session. Totals only ever grow by whole batches and are never
+     * reset; a flush writes the difference from what it last wrote, so counts added while a
+     * flush runs are simply picked up by the next one.
+     */
+    private static final class SessionCounters {
+        
+        // Striped, so concurrent batches for a session do not contend on one word
+        private final LongAdder[] totals = new LongAdder[TYPES.length];
+        private final long[] flushed = new long[TYPES.length];
+        // Batches part-way through add(), so close() can wait for them to land
+        private final AtomicInteger adding = new AtomicInteger();
+        private volatile boolean closed;
+        
+        SessionCounters() {
+            for (int i = 0; i < totals.length; i++) {
+                totals[i] = new LongAdder();
+            }
+        }
+        
+        boolean add(long[] deltas) {
+            adding.incrementAndGet();
+            try {
+                if (closed) {
+                    return false;
+                }
+                for (int i = 0; i < deltas.length; i++) {
+                    if (deltas[i] != 0) {
+                        totals[i].add(deltas[i]);
+                    }
+                }
+                return true;
+            } finally {
+                adding.decrementAndGet();
+            }
+        }
+        
+        // Once this returns every accepted batch is in the totals and no more will be accepted
+        void close() {
+            closed = true;
+            while (adding.get() != 0) {
+                Thread.onSpinWait();
+            }
+        }
+        
+        void reopen() {
+            closed = false;
+        }
+        
+        long[] pending() {
+            long[] pending = new long[totals.length];
+            for (int i = 0; i < totals.length; i++) {
+                pending[i] = totals[i].sum() - flushed[i];
+            }
+            return pending;
+        }
+        
+        void markFlushed(long[] written) {
+            for (int i = 0; i < flushed.length; i++) {
+                flushed[i] += written[i];
+            }
+        }
+    }
+}
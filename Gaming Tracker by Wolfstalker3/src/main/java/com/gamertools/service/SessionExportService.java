@@ -0,0 +1,149 @@
+package com.gamertools.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gamertools.dto.SessionView;
+import com.gamertools.model.GamingSession;
+import com.gamertools.repository.GamingSessionRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes sessions to an output stream as NDJSON or CSV straight from a database cursor.
+ * Each row is written and then detached, so memory use does not grow with the export.
+ */
+@Service
+public class SessionExportService {
+
+    public enum Format { CSV, NDJSON }
+
+    // Column names match what the import endpoint reads, so an export can be loaded back in
+    private static final String CSV_HEADER = "id,gameId,game,startTime,endTime,durationMinutes,kills,deaths,assists,accuracy,score," +
+            "avgFps,medianFps,onePercentLowFps,pointOnePercentLowFps,avgCpuUsage,avgGpuUsage,avgMemoryUsage,avgTemperature,moodBefore,moodAfter,performanceRating,notes";
+
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 23, 59);
+
+    // What Jackson writes LocalDateTime with, so both formats of an export carry the same times
+    private static final DateTimeFormatter CSV_TIME = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    @Autowired
+    private GamingSessionRepository sessionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Streams sessions started in [from, to), optionally for one game, in id order.
+     * Returns the number of rows written. The caller owns and closes the output stream.
+     */
+    @Transactional(readOnly = true)
+    public long exportSessions(OutputStream out, Format format, Long gameId, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = from != null ? from : EARLIEST;
+        LocalDateTime end = to != null ? to : LATEST;
+
+        long rows = 0;
+        try (Stream<GamingSession> sessions = gameId != null
+                     ? sessionRepository.streamForExportByGame(gameId, start, end)
+                     : sessionRepository.streamForExport(start, end)) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            JsonGenerator json = objectMapper.getFactory().createGenerator(writer)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Records are separated by the newlines written below, not the generator's default space
+            json.setRootValueSeparator(null);
+            if (format == Format.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+
+            Iterator<GamingSession> iterator = sessions.iterator();
+            while (iterator.hasNext()) {
+                GamingSession session = iterator.next();
+                if (format == Format.CSV) {
+                    writeCsvRow(writer, session);
+                } else {
+                    objectMapper.writeValue(json, SessionView.of(session));
+                    json.flush();
+                    writer.write('\n');
+                }
+                // Read-only rows are not needed once written; games stay attached and are shared
+                entityManager.detach(session);
+                rows++;
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write session export", e);
+        }
+        return rows;
+    }
+
+    private static void writeCsvRow(Writer writer, GamingSession session) throws IOException {
+        Object[] values = {
+                session.getId(),
+                session.getGame() != null ? session.getGame().getId() : null,
+                session.getGame() != null ? session.getGame().getName() : null,
+                formatTime(session.getStartTime()),
+                formatTime(session.getEndTime()),
+                session.getDurationMinutes(),
+                session.getKills(),
+                session.getDeaths(),
+                session.getAssists(),
+                session.getAccuracy(),
+                session.getScore(),
+                session.getAvgFps(),
+                session.getMedianFps(),
+                session.getOnePercentLowFps(),
+                session.getPointOnePercentLowFps(),
+                session.getAvgCpuUsage(),
+                session.getAvgGpuUsage(),
+                session.getAvgMemoryUsage(),
+                session.getAvgTemperature(),
+                session.getMoodBefore(),
+                session.getMoodAfter(),
+                session.getPerformanceRating(),
+                session.getNotes()
+        };
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writeCsvValue(writer, values[i].toString());
+            }
+        }
+        writer.write('\n');
+    }
+
+    private static String formatTime(LocalDateTime time) {
+        return time != null ? CSV_TIME.format(time) : null;
+    }
+
+    private static void writeCsvValue(Writer writer, String value) throws IOException {
+        boolean needsQuotes = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!needsQuotes) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,475 @@
+package com.gamertools.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gamertools.dto.ImportResult;
+import com.gamertools.model.Game;
+import com.gamertools.model.MoodLevel;
+import com.gamertools.model.PerformanceRating;
+import com.gamertools.repository.GameRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Streams sessions from CSV or NDJSON into the database with JDBC batch inserts, one
+ * transaction per chunk. Rows are parsed and validated one at a time, so memory use is
+ * bounded by the chunk size rather than the payload.
+ */
+@Service
+public class SessionImportService {
+    
+    public enum Format { CSV, NDJSON }
+    
+    // Hibernate cannot batch inserts with IDENTITY ids, so the import writes through JDBC directly
+    private static final String INSERT_SQL = "INSERT INTO gaming_sessions (game_id, start_time, end_time, duration_minutes, " +
+            "kills, deaths, assists, accuracy, score, avg_fps, avg_cpu_usage, avg_gpu_usage, avg_memory_usage, avg_temperature, " +
+            "mood_before, mood_after, performance_rating, notes) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private GameRepository gameRepository;
+    
+    @Autowired
+    private DailyRollupService rollupService;
+    
+    @Autowired
+    private PerformanceAnalyticsService analyticsService;
+    
+    @Autowired
+    private LiveUpdateService liveUpdateService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Value("${gaming.import.batch-size:5000}")
+    private int batchSize;
+    
+    public ImportResult importSessions(Reader reader, Format format, boolean createMissingGames) {
+        long started = System.nanoTime();
+        ImportResult result = new ImportResult();
+        GameLookup games = loadGames();
+        Set<Long> touchedGames = new HashSet<>();
+        // {sessions, playtime} per day and game for the rollup tables, applied once at the end
+        Map<LocalDate, Map<Long, long[]>> rollupTotals = new HashMap<>();
+        List<PendingRow> chunk = new ArrayList<>(batchSize);
+        
+        try (BufferedReader in = new BufferedReader(reader, 64 * 1024)) {
+            RecordReader records = format == Format.CSV ? new CsvRecordReader(in) : new NdjsonRecordReader(in, objectMapper);
+            ImportRecord record;
+            while ((record = records.next(result)) != null) {
+                try {
+                    chunk.add(toRow(record, games, createMissingGames));
+                } catch (IllegalArgumentException e) {
+                    result.addError(record.line(), e.getMessage());
+                    continue;
+                }
+                if (chunk.size() == batchSize) {
+                    flush(chunk, games, result, touchedGames, rollupTotals);
+                }
+            }
+            flush(chunk, games, result, touchedGames, rollupTotals);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read import payload", e);
+        } finally {
+            updateRollups(rollupTotals);
+            // Aggregates for affected games are rebuilt lazily on their next read
+            touchedGames.forEach(analyticsService::evictAggregate);
+            if (!touchedGames.isEmpty()) {
+                liveUpdateService.publishSessionChange();
+            }
+        }
+        
+        result.setElapsedMillis(Duration.ofNanos(System.nanoTime() - started).toMillis());
+        return result;
+    }
+    
+    // One query up front; every row then resolves its game from memory
+    private GameLookup loadGames() {
+        GameLookup games = new GameLookup();
+        jdbcTemplate.query("SELECT id, name FROM games", rs -> {
+            games.byName.putIfAbsent(gameKey(rs.getString(2)), rs.getLong(1));
+            games.ids.add(rs.getLong(1));
+        });
+        return games;
+    }
+    
+    private void flush(List<PendingRow> chunk, GameLookup games, ImportResult result, Set<Long> touchedGames,
+                       Map<LocalDate, Map<Long, long[]>> rollupTotals) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<PendingRow> inserted = new ArrayList<>(chunk.size());
+        // Games created for this chunk, by upper-cased name; only kept once their transaction commits
+        Map<String, Long> created = new HashMap<>();
+        try {
+            Map<String, Long> attempt = new HashMap<>();
+            transactionTemplate.executeWithoutResult(status -> {
+                createGames(chunk, attempt);
+                jdbcTemplate.batchUpdate(INSERT_SQL, chunk.stream().map(row -> row.values(attempt)).toList());
+            });
+            created.putAll(attempt);
+            inserted.addAll(chunk);
+        } catch (DataAccessException e) {
+            // Retry row by row so the report names the rows the database rejected
+            for (PendingRow row : chunk) {
+                Map<String, Long> attempt = new HashMap<>(created);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        createGames(List.of(row), attempt);
+                        jdbcTemplate.update(INSERT_SQL, row.values(attempt));
+                    });
+                    created.putAll(attempt);
+                    inserted.add(row);
+                } catch (DataAccessException rowError) {
+                    result.addError(row.line(), "Rejected by database: " + rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+        created.forEach((name, gameId) -> {
+            games.byName.put(name, gameId);
+            games.ids.add(gameId);
+        });
+        result.addImported(inserted.size());
+        for (PendingRow row : inserted) {
+            Long gameId = row.gameId(created);
+            touchedGames.add(gameId);
+            long[] totals = rollupTotals.computeIfAbsent(row.day(), day -> new HashMap<>())
+                    .computeIfAbsent(gameId, id -> new long[2]);
+            totals[0]++;
+            totals[1] += row.durationMinutes();
+        }
+        chunk.clear();
+    }
+    
+    // Runs inside the chunk's transaction, so a rejected chunk or row leaves no game behind
+    private void createGames(List<PendingRow> rows, Map<String, Long> created) {
+        for (PendingRow row : rows) {
+            Game missing = row.missingGame();
+            if (missing != null && !created.containsKey(gameKey(missing.getName()))) {
+                Game game = gameRepository.save(new Game(missing.getName(), missing.getGenre(), missing.getPlatform()));
+                created.put(gameKey(missing.getName()), game.getId());
+            }
+        }
+    }
+    
+    private void updateRollups(Map<LocalDate, Map<Long, long[]>> rollupTotals) {
+        try {
+            rollupService.recordImportedSessions(rollupTotals);
+        } catch (DataAccessException e) {
+            // A concurrent writer created one of the same rows; recount from the tables instead
+            rollupService.rebuild();
+        }
+    }
+    
+    private PendingRow toRow(ImportRecord record, GameLookup games, boolean createMissingGames) {
+        Long gameId = resolveGame(record, games);
+        Game missingGame = null;
+        if (gameId == null) {
+            String name = record.field("game");
+            if (!createMissingGames) {
+                throw new IllegalArgumentException("Unknown game: " + name);
+            }
+            // Created when the row's chunk is written, once the whole row has been validated
+            String genre = record.field("genre");
+            missingGame = new Game(name, genre != null ? genre : "Unknown", record.field("platform"));
+        }
+        
+        LocalDateTime startTime = parseTime(record, "startTime");
+        if (startTime == null) {
+            throw new IllegalArgumentException("startTime is required");
+        }
+        LocalDateTime endTime = parseTime(record, "endTime");
+        Long duration = parseLong(record, "durationMinutes");
+        if (endTime == null && duration == null) {
+            throw new IllegalArgumentException("endTime or durationMinutes is required");
+        }
+        if (endTime == null) {
+            endTime = startTime.plusMinutes(duration);
+        } else if (endTime.isBefore(startTime)) {
+            throw new IllegalArgumentException("endTime is before startTime");
+        } else if (duration == null) {
+            duration = Duration.between(startTime, endTime).toMinutes();
+        }
+        
+        Object[] values = {
+                gameId,
+                Timestamp.valueOf(startTime),
+                Timestamp.valueOf(endTime),
+                duration,
+                parseInteger(record, "kills"),
+                parseInteger(record, "deaths"),
+                parseInteger(record, "assists"),
+                parseDouble(record, "accuracy"),
+                parseInteger(record, "score"),
+                parseDouble(record, "avgFps"),
+                parseDouble(record, "avgCpuUsage"),
+                parseDouble(record, "avgGpuUsage"),
+                parseDouble(record, "avgMemoryUsage"),
+                parseDouble(record, "avgTemperature"),
+                parseEnum(record, "moodBefore", MoodLevel::valueOf),
+                parseEnum(record, "moodAfter", MoodLevel::valueOf),
+                parseEnum(record, "performanceRating", PerformanceRating::valueOf),
+                record.field("notes")
+        };
+        return new PendingRow(record.line(), gameId, missingGame, startTime.toLocalDate(), duration, values);
+    }
+    
+    // The id of the record's game, or null when it names a game that does not exist yet
+    private Long resolveGame(ImportRecord record, GameLookup games) {
+        if (record.field("gameId") != null) {
+            Long gameId = parseLong(record, "gameId");
+            if (!games.ids.contains(gameId)) {
+                throw new IllegalArgumentException("Game not found with id: " + gameId);
+            }
+            return gameId;
+        }
+        String name = record.field("game");
+        if (name == null) {
+            throw new IllegalArgumentException("game or gameId is required");
+        }
+        return games.byName.get(gameKey(name));
+    }
+    
+    private static String gameKey(String name) {
+        return name.toUpperCase(Locale.ROOT);
+    }
+    
+    private static LocalDateTime parseTime(ImportRecord record, String field) {
+        String value = record.field(field);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value.replace(' ', 'T'));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + value);
+        }
+    }
+    
+    private static Long parseLong(ImportRecord record, String field) {
+        return parse(record, field, Long::valueOf);
+    }
+    
+    private static Integer parseInteger(ImportRecord record, String field) {
+        return parse(record, field, Integer::valueOf);
+    }
+    
+    private static Double parseDouble(ImportRecord record, String field) {
+        return parse(record, field, Double::valueOf);
+    }
+    
+    private static String parseEnum(ImportRecord record, String field, Function<String, ? extends Enum<?>> valueOf) {
+        Enum<?> value = parse(record, field, text -> valueOf.apply(text.toUpperCase(Locale.ROOT)));
+        return value != null ? value.name() : null;
+    }
+    
+    private static <T> T parse(ImportRecord record, String field, Function<String, T> parser) {
+        String value = record.field(field);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + value);
+        }
+    }
+    
+    private static class GameLookup {
+        final Map<String, Long> byName = new HashMap<>();
+        final Set<Long> ids = new HashSet<>();
+    }
+    
+    /**
+     * A validated row ready to insert. {@code gameId} is null when the row's game is to be
+     * created with it, from {@code missingGame}.
+     */
+    private record PendingRow(long line, Long gameId, Game missingGame, LocalDate day, long durationMinutes, Object[] values) {
+        
+        Long gameId(Map<String, Long> created) {
+            return gameId != null ? gameId : created.get(gameKey(missingGame.getName()));
+        }
+        
+        Object[] values(Map<String, Long> created) {
+            if (gameId != null) {
+                return values;
+            }
+            Object[] resolved = values.clone();
+            resolved[0] = gameId(created);
+            return resolved;
+        }
+    }
+    
+    /**
+     * One parsed input record; blank values read as null.
+     */
+    record ImportRecord(long line, Function<String, String> fields) {
+        
+        String field(String name) {
+            String value = fields.apply(name);
+            return value == null || value.isBlank() ? null : value.trim();
+        }
+    }
+    
+    interface RecordReader {
+        
+        /**
+         * Returns the next record, or null at end of input. Records that cannot be parsed
+         * at all are reported to the result and skipped.
+         */
+        ImportRecord next(ImportResult result) throws IOException;
+    }
+    
+    private static class NdjsonRecordReader implements RecordReader {
+        
+        private final BufferedReader in;
+        private final ObjectMapper objectMapper;
+        private long line;
+        
+        NdjsonRecordReader(BufferedReader in, ObjectMapper objectMapper) {
+            this.in = in;
+            this.objectMapper = objectMapper;
+        }
+        
+        @Override
+        public ImportRecord next(ImportResult result) throws IOException {
+            String text;
+            while ((text = in.readLine()) != null) {
+                line++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                try {
+                    JsonNode node = objectMapper.readTree(text);
+                    if (!node.isObject()) {
+                        result.addError(line, "Expected a JSON object");
+                        continue;
+                    }
+                    return new ImportRecord(line, name -> {
+                        JsonNode value = node.get(name);
+                        return value == null || value.isNull() ? null : value.asText();
+                    });
+                } catch (JsonProcessingException e) {
+                    result.addError(line, "Malformed JSON: " + e.getOriginalMessage());
+                }
+            }
+            return null;
+        }
+    }
+    
+    /**
+     * RFC 4180 style CSV with a header row naming the fields. Quoted values may contain
+     * commas, doubled quotes and line breaks.
+     */
+    static class CsvRecordReader implements RecordReader {
+        
+        private final BufferedReader in;
+        private Map<String, Integer> header;
+        private long line;
+        private long rowLine;
+        
+        CsvRecordReader(BufferedReader in) {
+            this.in = in;
+        }
+        
+        @Override
+        public ImportRecord next(ImportResult result) throws IOException {
+            if (header == null) {
+                List<String> names = readRow();
+                if (names == null) {
+                    return null;
+                }
+                header = new HashMap<>();
+                for (int i = 0; i < names.size(); i++) {
+                    header.put(names.get(i).trim(), i);
+                }
+            }
+            List<String> values;
+            while ((values = readRow()) != null) {
+                if (values.size() == 1 && values.get(0).isBlank()) {
+                    continue;
+                }
+                if (values.size() > header.size()) {
+                    result.addError(rowLine, "Expected at most " + header.size() + " columns but found " + values.size());
+                    continue;
+                }
+                List<String> row = values;
+                return new ImportRecord(rowLine, name -> {
+                    Integer index = header.get(name);
+                    return index != null && index < row.size() ? row.get(index) : null;
+                });
+            }
+            return null;
+        }
+        
+        private List<String> readRow() throws IOException {
+            String text = in.readLine();
+            if (text == null) {
+                return null;
+            }
+            rowLine = ++line;
+            List<String> values = new ArrayList<>();
+            StringBuilder value = new StringBuilder();
+            boolean quoted = false;
+            int i = 0;
+            while (true) {
+                if (i == text.length()) {
+                    if (!quoted) {
+                        break;
+                    }
+                    // A quoted value continues on the next physical line
+                    text = in.readLine();
+                    if (text == null) {
+                        break;
+                    }
+                    line++;
+                    value.append('\n');
+                    i = 0;
+                    continue;
+                }
+                char c = text.charAt(i++);
+                if (quoted) {
+                    if (c == '"' && i < text.length() && text.charAt(i) == '"') {
+                        value.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        value.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(value.toString());
+                    value.setLength(0);
+                } else {
+                    value.append(c);
+                }
+            }
+            values.add(value.toString());
+            return values;
+        }
+    }
+}
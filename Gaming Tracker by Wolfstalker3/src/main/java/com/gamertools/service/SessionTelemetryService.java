@@ -0,0 +1,145 @@
+package com.gamertools.service;
+
+import com.gamertools.model.GamingSession;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Folds every system metrics sample into running statistics for each active session.
+ * One listener serves all sessions and nothing is written to the database until the session ends.
+ * The stored series' fps column holds the average FPS of the frame times the session received
+ * since the previous sample, so it is empty for sessions that post no frames.
+ */
+@Service
+public class SessionTelemetryService {
+    
+    private static final Logger log = LoggerFactory.getLogger(SessionTelemetryService.class);
+    
+    @Autowired
+    private SystemMonitoringService systemMonitoringService;
+    
+    @Autowired
+    private TelemetryStore telemetryStore;
+    
+    @Autowired
+    private FrameTimeService frameTimeService;
+    
+    @Autowired
+    private ActiveSessionRegistry activeSessions;
+    
+    private final Map<Long, SessionTelemetry> activeTelemetry = new ConcurrentHashMap<>();
+    // Sessions whose failed append has been logged, so a broken store is reported once, not every second
+    private final Set<Long> failingSessions = ConcurrentHashMap.newKeySet();
+    
+    @PostConstruct
+    public void subscribe() {
+        systemMonitoringService.addMetricsListener(this::onMetricsSample);
+    }
+    
+    // Sessions left running by a previous run append to their stored series again; their
+    // averages restart from here, as the samples before the restart were not kept
+    @EventListener(ApplicationReadyEvent.class)
+    public void trackActiveSessions() {
+        for (GamingSession session : activeSessions.getActiveSessions()) {
+            startTracking(session.getId());
+        }
+    }
+    
+    public void startTracking(Long sessionId) {
+        telemetryStore.open(sessionId);
+        activeTelemetry.putIfAbsent(sessionId, new SessionTelemetry());
+    }
+    
+    public Optional<SessionTelemetry> stopTracking(Long sessionId) {
+        SessionTelemetry telemetry = activeTelemetry.remove(sessionId);
+        telemetryStore.close(sessionId);
+        failingSessions.remove(sessionId);
+        return Optional.ofNullable(telemetry);
+    }
+    
+    public Optional<SessionTelemetry> getTelemetry(Long sessionId) {
+        return Optional.ofNullable(activeTelemetry.get(sessionId));
+    }
+    
+    public Optional<Map<String, Object>> getLiveStats(Long sessionId) {
+        return Optional.ofNullable(activeTelemetry.get(sessionId)).map(SessionTelemetry::toMap);
+    }
+    
+    private void onMetricsSample(Map<String, Object> metrics) {
+        if (activeTelemetry.isEmpty() || metrics.containsKey("error")) {
+            return;
+        }
+        
+        Double cpuUsage = (Double) metrics.get("cpuUsage");
+        Double memoryUsage = (Double) metrics.get("memoryUsage");
+        Double cpuTemperature = (Double) metrics.get("cpuTemperature");
+        long timestamp = System.currentTimeMillis();
+        
+        for (Map.Entry<Long, SessionTelemetry> entry : activeTelemetry.entrySet()) {
+            entry.getValue().record(cpuUsage, memoryUsage, cpuTemperature);
+            try {
+                telemetryStore.append(entry.getKey(), timestamp,
+                        toFloat(cpuUsage), toFloat(memoryUsage), toFloat(cpuTemperature), toFloat(frameTimeService.sampleFps(entry.getKey())));
+            } catch (RuntimeException e) {
+                // Losing a row of history must not stop the running averages
+                if (failingSessions.add(entry.getKey())) {
+                    log.warn("Could not append telemetry for session {}; further failures are not logged until it ends", entry.getKey(), e);
+                }
+            }
+        }
+    }
+    
+    private static float toFloat(Double value) {
+        return value != null ? value.floatValue() : Float.NaN;
+    }
+    
+    public static class SessionTelemetry {
+        
+        private final RunningStats cpu = new RunningStats();
+        private final RunningStats memory = new RunningStats();
+        private final RunningStats temperature = new RunningStats();
+        
+        synchronized void record(Double cpuUsage, Double memoryUsage, Double cpuTemperature) {
+            if (cpuUsage != null) {
+                cpu.add(cpuUsage);
+            }
+            if (memoryUsage != null) {
+                memory.add(memoryUsage);
+            }
+            if (cpuTemperature != null) {
+                temperature.add(cpuTemperature);
+            }
+        }
+        
+        public synchronized Double getAverageCpu() {
+            return cpu.getCount() > 0 ? Math.round(cpu.getMean() * 100.0) / 100.0 : null;
+        }
+        
+        public synchronized Double getAverageMemory() {
+            return memory.getCount() > 0 ? Math.round(memory.getMean() * 100.0) / 100.0 : null;
+        }
+        
+        public synchronized Double getAverageTemperature() {
+            return temperature.getCount() > 0 ? Math.round(temperature.getMean() * 100.0) / 100.0 : null;
+        }
+        
+        public synchronized Map<String, Object> toMap() {
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("cpuUsage", cpu.toMap());
+            stats.put("memoryUsage", memory.toMap());
+            stats.put("cpuTemperature", temperature.toMap());
+            return stats;
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.gamertools.service;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import oshi.SystemInfo;
 import oshi.hardware.CentralProcessor;
@@ -8,8 +11,17 @@ import oshi.hardware.HardwareAbstractionLayer;
 import oshi.hardware.Sensors;
 import oshi.software.os.OperatingSystem;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 @Service
 public class SystemMonitoringService {
@@ -17,20 +29,100 @@ public class SystemMonitoringService {
     private final SystemInfo systemInfo;
     private final HardwareAbstractionLayer hardware;
     private final OperatingSystem os;
+    private final CpuLoadTracker cpuLoadTracker;
+    
+    // Latest published sample; readers never touch OSHI directly
+    private final AtomicReference<Map<String, Object>> latestMetrics = new AtomicReference<>(Collections.emptyMap());
+    
+    private final List<Consumer<Map<String, Object>>> metricsListeners = new CopyOnWriteArrayList<>();
+    
+    @Value("${gaming.monitoring.sample-interval-ms:1000}")
+    private long sampleIntervalMs;
+    
+    private ScheduledExecutorService sampler;
+    
+    // Wall-clock time the latest snapshot was published
+    private volatile long lastSampleMillis;
     
     public SystemMonitoringService() {
         this.systemInfo = new SystemInfo();
         this.hardware = systemInfo.getHardware();
         this.os = systemInfo.getOperatingSystem();
+        this.cpuLoadTracker = new CpuLoadTracker(hardware.getProcessor());
+    }
+    
+    @PostConstruct
+    public void startSampler() {
+        latestMetrics.set(sampleSystemMetrics());
+        lastSampleMillis = System.currentTimeMillis();
+        
+        sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "system-metrics-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sampler.scheduleAtFixedRate(this::refreshMetrics, sampleIntervalMs, sampleIntervalMs, TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    public void stopSampler() {
+        if (sampler != null) {
+            sampler.shutdownNow();
+        }
     }
     
+    /**
+     * Returns the most recent snapshot published by the sampler thread.
+     * The returned map is immutable and shared between callers.
+     */
     public Map<String, Object> getCurrentSystemMetrics() {
+        return latestMetrics.get();
+    }
+    
+    /**
+     * How far the sampler is behind its schedule: the age of the latest snapshot beyond one
+     * sample interval. Stays at zero while samples arrive on time.
+     */
+    public long getSamplerLagMillis() {
+        return Math.max(0, System.currentTimeMillis() - lastSampleMillis - sampleIntervalMs);
+    }
+    
+    /**
+     * Registers a callback invoked on the sampler thread with every new snapshot.
+     * Listeners must be fast and must not block.
+     */
+    public void addMetricsListener(Consumer<Map<String, Object>> listener) {
+        metricsListeners.add(listener);
+    }
+    
+    private void refreshMetrics() {
+        Map<String, Object> metrics;
+        try {
+            metrics = sampleSystemMetrics();
+        } catch (RuntimeException e) {
+            // Keep the previous snapshot; an exception here would cancel the schedule
+            return;
+        }
+        
+        latestMetrics.set(metrics);
+        lastSampleMillis = System.currentTimeMillis();
+        for (Consumer<Map<String, Object>> listener : metricsListeners) {
+            try {
+                listener.accept(metrics);
+            } catch (RuntimeException e) {
+                // One failing listener must not starve the others
+            }
+        }
+    }
+    
+    private Map<String, Object> sampleSystemMetrics() {
         Map<String, Object> metrics = new HashMap<>();
         
         try {
-            // CPU Information
+            // CPU Information (load over the window since the previous sample)
             CentralProcessor processor = hardware.getProcessor();
-            double cpuUsage = processor.getSystemCpuLoadBetweenTicks(processor.getSystemCpuLoadTicks()) * 100;
+            cpuLoadTracker.update();
+            
             
             // Memory Information
             GlobalMemory memory = hardware.getMemory();
@@ -42,7 +134,27 @@ public class SystemMonitoringService {
             Sensors sensors = hardware.getSensors();
             double cpuTemp = sensors.getCpuTemperature();
             
-            metrics.put("cpuUsage", Math.round(cpuUsage * 100.0) / 100.0);
+            // The first sample at startup comes before a full window; report unknown rather than 0%
+            if (cpuLoadTracker.hasReading()) {
+                List<Double> perCoreUsage = new ArrayList<>();
+                for (double coreLoad : cpuLoadTracker.getPerCoreLoad()) {
+                    perCoreUsage.add(Math.round(coreLoad * 100.0) / 100.0);
+                }
+                
+                metrics.put("cpuUsage", Math.round(cpuLoadTracker.getSystemLoad() * 100.0) / 100.0);
+                metrics.put("cpuLoad1s", Math.round(cpuLoadTracker.getLoad1s() * 100.0) / 100.0);
+                metrics.put("cpuLoad10s", Math.round(cpuLoadTracker.getLoad10s() * 100.0) / 100.0);
+                metrics.put("cpuLoad60s", Math.round(cpuLoadTracker.getLoad60s() * 100.0) / 100.0);
+                metrics.put("perCoreUsage", Collections.unmodifiableList(perCoreUsage));
+                metrics.put("maxCoreUsage", Math.round(cpuLoadTracker.getMaxCoreLoad() * 100.0) / 100.0);
+            } else {
+                metrics.put("cpuUsage", null);
+                metrics.put("cpuLoad1s", null);
+                metrics.put("cpuLoad10s", null);
+                metrics.put("cpuLoad60s", null);
+                metrics.put("perCoreUsage", null);
+                metrics.put("maxCoreUsage", null);
+            }
             metrics.put("memoryUsage", Math.round(memoryUsage * 100.0) / 100.0);
             metrics.put("totalMemoryGB", Math.round((totalMemory / 1024.0 / 1024.0 / 1024.0) * 100.0) / 100.0);
             metrics.put("availableMemoryGB", Math.round((availableMemory / 1024.0 / 1024.0 / 1024.0) * 100.0) / 100.0);
@@ -54,7 +166,7 @@ public class SystemMonitoringService {
             metrics.put("error", "Failed to retrieve system metrics: " + e.getMessage());
         }
         
-        return metrics;
+        return Collections.unmodifiableMap(metrics);
     }
     
     public Map<String, Object> getSystemInfo() {
@@ -81,7 +193,9 @@ public class SystemMonitoringService {
         Map<String, String> recommendations = new HashMap<>();
         
         try {
-            Double cpuUsage = (Double) metrics.get("cpuUsage");
+            // Prefer the 10s average so a single busy second does not trigger advice
+            Double cpuUsage = (Double) metrics.getOrDefault("cpuLoad10s", metrics.get("cpuUsage"));
+            Double maxCoreUsage = (Double) metrics.get("maxCoreUsage");
             Double memoryUsage = (Double) metrics.get("memoryUsage");
             Double cpuTemp = (Double) metrics.get("cpuTemperature");
             
@@ -89,6 +203,10 @@ public class SystemMonitoringService {
                 recommendations.put("cpu", "High CPU usage detected (" + cpuUsage + "%). Close unnecessary applications and consider lowering game settings.");
             }
             
+            if (maxCoreUsage != null && maxCoreUsage > 90 && (cpuUsage == null || cpuUsage < 60)) {
+                recommendations.put("singleCore", "One CPU core is saturated (" + maxCoreUsage + "%) while overall usage is moderate. The game is likely single-thread bound; close background apps pinned to that core or raise the game's process priority.");
+            }
+            
             if (memoryUsage != null && memoryUsage > 85) {
                 recommendations.put("memory", "High memory usage detected (" + memoryUsage + "%). Close background applications or consider adding more RAM.");
             }
@@ -0,0 +1,309 @@
+package com.gamertools.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Append-only, memory-mapped columnar store for per-session time series.
+ * Each session gets a directory with one fixed-width file per column; the
+ * timestamp column carries a small header holding the committed row count.
+ * A session's columns are mapped for writing from {@link #open} to {@link #close};
+ * rows for a session that is not open are dropped.
+ */
+@Service
+public class TelemetryStore {
+
+    public static final String[] VALUE_COLUMNS = {"cpuUsage", "memoryUsage", "cpuTemperature", "fps"};
+
+    private static final int MAGIC = 0x47544c4d; // "GTLM"
+    private static final int HEADER_BYTES = 16;
+    private static final int INITIAL_CAPACITY = 4096;
+
+    private final Path directory;
+    private final Map<Long, SessionSeries> openSeries = new ConcurrentHashMap<>();
+
+    public TelemetryStore(@Value("${gaming.telemetry.directory:./data/telemetry}") String directory) {
+        this.directory = Paths.get(directory);
+    }
+
+    /**
+     * Maps a session's columns for appending, continuing after any rows already stored.
+     */
+    public void open(Long sessionId) {
+        openSeries.computeIfAbsent(sessionId, id -> SessionSeries.open(sessionDirectory(id), false));
+    }
+
+    /**
+     * Appends one row. Values may be NaN when a metric is not available. Returns false, writing
+     * nothing, when the session is not open, such as a sample racing the end of the session.
+     */
+    public boolean append(Long sessionId, long timestampMillis, float cpuUsage, float memoryUsage, float cpuTemperature, float fps) {
+        SessionSeries series = openSeries.get(sessionId);
+        return series != null && series.append(timestampMillis, new float[] {cpuUsage, memoryUsage, cpuTemperature, fps});
+    }
+
+    /**
+     * Unmaps a session's columns once it has ended. The data stays on disk for reads.
+     */
+    public void close(Long sessionId) {
+        SessionSeries series = openSeries.remove(sessionId);
+        if (series != null) {
+            series.close();
+        }
+    }
+
+    public void delete(Long sessionId) {
+        close(sessionId);
+        Path sessionDir = sessionDirectory(sessionId);
+        if (!Files.exists(sessionDir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(sessionDir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete telemetry for session " + sessionId, e);
+        }
+    }
+
+    /**
+     * Reads rows with fromMillis <= timestamp <= toMillis and averages them into
+     * buckets of stepMillis. Empty buckets are skipped.
+     */
+    public Map<String, Object> read(Long sessionId, long fromMillis, long toMillis, long stepMillis) {
+        SessionSeries series = openSeries.get(sessionId);
+        boolean closeAfterRead = false;
+        if (series == null) {
+            Path sessionDir = sessionDirectory(sessionId);
+            if (!Files.exists(sessionDir.resolve("timestamp.col"))) {
+                return emptyResult();
+            }
+            // An ended session is only read, so nothing can write through this mapping
+            series = SessionSeries.open(sessionDir, true);
+            closeAfterRead = true;
+        }
+        try {
+            return series.read(fromMillis, toMillis, Math.max(1, stepMillis));
+        } finally {
+            if (closeAfterRead) {
+                series.close();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        openSeries.keySet().forEach(this::close);
+    }
+
+    private Path sessionDirectory(Long sessionId) {
+        return directory.resolve("session-" + sessionId);
+    }
+
+    private static Map<String, Object> emptyResult() {
+        Map<String, Object> result = new HashMap<>();
+        result.put("timestamps", List.of());
+        for (String column : VALUE_COLUMNS) {
+            result.put(column, List.of());
+        }
+        return result;
+    }
+
+    private static class SessionSeries {
+
+        private final FileChannel timestampChannel;
+        private final FileChannel[] valueChannels;
+        private final boolean readOnly;
+        private MappedByteBuffer timestamps;
+        private final MappedByteBuffer[] values;
+        private long capacity;
+        private long rowCount;
+        private boolean closed;
+
+        private SessionSeries(FileChannel timestampChannel, FileChannel[] valueChannels, boolean readOnly) throws IOException {
+            this.timestampChannel = timestampChannel;
+            this.valueChannels = valueChannels;
+            this.readOnly = readOnly;
+            this.values = new MappedByteBuffer[valueChannels.length];
+
+            long existingBytes = timestampChannel.size();
+            if (existingBytes >= HEADER_BYTES) {
+                MappedByteBuffer header = timestampChannel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+                if (header.getInt(0) != MAGIC) {
+                    throw new IOException("Not a telemetry column file");
+                }
+                this.rowCount = header.getLong(8);
+            }
+            if (readOnly) {
+                // Just the committed rows; a read-only mapping cannot extend the files
+                this.capacity = rowCount;
+                mapColumns();
+                return;
+            }
+            this.capacity = Math.max(INITIAL_CAPACITY, Long.highestOneBit(Math.max(1, rowCount)) << 1);
+            mapColumns();
+            timestamps.putInt(0, MAGIC);
+            timestamps.putInt(4, 1);
+        }
+
+        static SessionSeries open(Path sessionDir, boolean readOnly) {
+            try {
+                if (!readOnly) {
+                    Files.createDirectories(sessionDir);
+                }
+                FileChannel timestampChannel = openChannel(sessionDir.resolve("timestamp.col"), readOnly);
+                FileChannel[] valueChannels = new FileChannel[VALUE_COLUMNS.length];
+                for (int i = 0; i < VALUE_COLUMNS.length; i++) {
+                    valueChannels[i] = openChannel(sessionDir.resolve(VALUE_COLUMNS[i] + ".col"), readOnly);
+                }
+                return new SessionSeries(timestampChannel, valueChannels, readOnly);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to open telemetry store at " + sessionDir, e);
+            }
+        }
+
+        private static FileChannel openChannel(Path file, boolean readOnly) throws IOException {
+            return readOnly ? FileChannel.open(file, StandardOpenOption.READ)
+                    : FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+
+        private void mapColumns() throws IOException {
+            FileChannel.MapMode mode = readOnly ? FileChannel.MapMode.READ_ONLY : FileChannel.MapMode.READ_WRITE;
+            timestamps = timestampChannel.map(mode, 0, HEADER_BYTES + capacity * Long.BYTES);
+            for (int i = 0; i < valueChannels.length; i++) {
+                values[i] = valueChannels[i].map(mode, 0, capacity * Float.BYTES);
+            }
+        }
+
+        synchronized boolean append(long timestampMillis, float[] row) {
+            // Closed by the end of the session after the caller looked the series up
+            if (closed) {
+                return false;
+            }
+            try {
+                if (rowCount == capacity) {
+                    capacity *= 2;
+                    mapColumns();
+                }
+                int index = (int) rowCount;
+                for (int i = 0; i < row.length; i++) {
+                    values[i].putFloat(index * Float.BYTES, row[i]);
+                }
+                timestamps.putLong(HEADER_BYTES + index * Long.BYTES, timestampMillis);
+                // Publish the row only after every column has been written
+                rowCount++;
+                timestamps.putLong(8, rowCount);
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to grow telemetry columns", e);
+            }
+        }
+
+        synchronized Map<String, Object> read(long fromMillis, long toMillis, long stepMillis) {
+            int start = lowerBound(fromMillis);
+            int end = lowerBound(toMillis + 1);
+
+            List<Long> bucketTimes = new ArrayList<>();
+            List<List<Double>> bucketValues = new ArrayList<>();
+            for (int i = 0; i < values.length; i++) {
+                bucketValues.add(new ArrayList<>());
+            }
+
+            double[] sums = new double[values.length];
+            int[] counts = new int[values.length];
+            long currentBucket = Long.MIN_VALUE;
+
+            for (int row = start; row < end; row++) {
+                long timestamp = timestamps.getLong(HEADER_BYTES + row * Long.BYTES);
+                long bucket = Math.floorDiv(timestamp - fromMillis, stepMillis);
+                if (bucket != currentBucket) {
+                    if (currentBucket != Long.MIN_VALUE) {
+                        flushBucket(fromMillis + currentBucket * stepMillis, sums, counts, bucketTimes, bucketValues);
+                    }
+                    currentBucket = bucket;
+                }
+                for (int i = 0; i < values.length; i++) {
+                    float value = values[i].getFloat(row * Float.BYTES);
+                    if (!Float.isNaN(value)) {
+                        sums[i] += value;
+                        counts[i]++;
+                    }
+                }
+            }
+            if (currentBucket != Long.MIN_VALUE) {
+                flushBucket(fromMillis + currentBucket * stepMillis, sums, counts, bucketTimes, bucketValues);
+            }
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("timestamps", bucketTimes);
+            for (int i = 0; i < VALUE_COLUMNS.length; i++) {
+                result.put(VALUE_COLUMNS[i], bucketValues.get(i));
+            }
+            return result;
+        }
+
+        private static void flushBucket(long bucketStart, double[] sums, int[] counts,
+                                        List<Long> bucketTimes, List<List<Double>> bucketValues) {
+            bucketTimes.add(bucketStart);
+            for (int i = 0; i < sums.length; i++) {
+                bucketValues.get(i).add(counts[i] > 0 ? Math.round(sums[i] / counts[i] * 100.0) / 100.0 : null);
+                sums[i] = 0;
+                counts[i] = 0;
+            }
+        }
+
+        // Timestamps are appended in order, so the range bounds are found by binary search
+        private int lowerBound(long timestampMillis) {
+            int low = 0;
+            int high = (int) rowCount;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (timestamps.getLong(HEADER_BYTES + mid * Long.BYTES) < timestampMillis) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        synchronized void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                if (!readOnly) {
+                    timestamps.force();
+                    for (MappedByteBuffer column : values) {
+                        column.force();
+                    }
+                }
+                timestampChannel.close();
+                for (FileChannel channel : valueChannels) {
+                    channel.close();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to close telemetry columns", e);
+            }
+        }
+    }
+}
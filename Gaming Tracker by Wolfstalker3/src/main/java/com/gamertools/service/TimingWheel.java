@@ -0,0 +1,179 @@
+package com.gamertools.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Timers keyed by id, each carrying a value handed back when it expires. A hierarchical
+ * timing wheel: four levels of 64 slots, each slot of a level spanning a whole turn of the
+ * level below, so adding and cancelling a timer is O(1) and advancing the clock only
+ * touches the slots it passes, however many timers are pending. Timers due further out
+ * than the top level reaches wait in its furthest slot and are placed again when it turns.
+ *
+ * Timers fire on the first tick at or after their due time, so never early and at most one
+ * tick late if the wheel is advanced every tick.
+ */
+public class TimingWheel<T> {
+    
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    // Ticks the top level reaches ahead of the current tick
+    private static final long SPAN = 1L << (SLOT_BITS * LEVELS);
+    
+    private static final class Timer<T> {
+        final long key;
+        final long dueTick;
+        final T value;
+        Timer<T> previous;
+        Timer<T> next;
+        int level;
+        int slot;
+        
+        Timer(long key, long dueTick, T value) {
+            this.key = key;
+            this.dueTick = dueTick;
+            this.value = value;
+        }
+    }
+    
+    private final long tickMillis;
+    private final long startMillis;
+    // Heads of the doubly linked timer lists, [level][slot]
+    private final Timer<T>[][] slots;
+    private final Map<Long, Timer<T>> timers = new HashMap<>();
+    private long currentTick;
+    
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive: " + tickMillis);
+        }
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.slots = new Timer[LEVELS][SLOTS];
+    }
+    
+    /**
+     * Sets the timer for {@code key} to expire at {@code dueMillis}, replacing any timer
+     * already set for it. A due time already passed expires on the next tick.
+     */
+    public synchronized void schedule(long key, long dueMillis, T value) {
+        cancel(key);
+        add(key, dueMillis, value);
+    }
+    
+    /**
+     * Sets the timer for {@code key} only if none is set for it yet.
+     */
+    public synchronized boolean scheduleIfAbsent(long key, long dueMillis, T value) {
+        if (timers.containsKey(key)) {
+            return false;
+        }
+        add(key, dueMillis, value);
+        return true;
+    }
+    
+    public synchronized boolean cancel(long key) {
+        Timer<T> timer = timers.remove(key);
+        if (timer == null) {
+            return false;
+        }
+        unlink(timer);
+        return true;
+    }
+    
+    public synchronized int size() {
+        return timers.size();
+    }
+    
+    private void add(long key, long dueMillis, T value) {
+        long dueTick = Math.max(currentTick + 1, ceilDiv(dueMillis - startMillis, tickMillis));
+        Timer<T> timer = new Timer<>(key, dueTick, value);
+        timers.put(key, timer);
+        place(timer);
+    }
+    
+    /**
+     * Moves the clock forward to {@code nowMillis} and returns the values of the timers that
+     * expired on the way, in due order. Those timers are removed.
+     */
+    public synchronized List<T> advance(long nowMillis) {
+        long targetTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+        List<T> expired = new ArrayList<>();
+        while (currentTick < targetTick && !timers.isEmpty()) {
+            currentTick++;
+            cascade();
+            Timer<T> timer = slots[0][(int) (currentTick & SLOT_MASK)];
+            slots[0][(int) (currentTick & SLOT_MASK)] = null;
+            while (timer != null) {
+                Timer<T> next = timer.next;
+                timers.remove(timer.key);
+                expired.add(timer.value);
+                timer = next;
+            }
+        }
+        // Nothing pending means nothing to visit on the way
+        currentTick = Math.max(currentTick, targetTick);
+        return expired;
+    }
+    
+    // When a level completes a turn, the next slot of the level above is spread into it
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            if (((currentTick >>> (SLOT_BITS * level - SLOT_BITS)) & SLOT_MASK) != 0) {
+                return;
+            }
+            int slot = (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+            Timer<T> timer = slots[level][slot];
+            slots[level][slot] = null;
+            while (timer != null) {
+                Timer<T> next = timer.next;
+                place(timer);
+                timer = next;
+            }
+        }
+    }
+    
+    private void place(Timer<T> timer) {
+        long delta = timer.dueTick - currentTick;
+        long tick = timer.dueTick;
+        int level = 0;
+        if (delta >= SPAN) {
+            level = LEVELS - 1;
+            tick = currentTick + SPAN - 1;
+        } else {
+            while (delta >= 1L << (SLOT_BITS * (level + 1))) {
+                level++;
+            }
+        }
+        timer.level = level;
+        timer.slot = (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        timer.previous = null;
+        timer.next = slots[level][timer.slot];
+        if (timer.next != null) {
+            timer.next.previous = timer;
+        }
+        slots[level][timer.slot] = timer;
+    }
+    
+    private void unlink(Timer<T> timer) {
+        if (timer.previous != null) {
+            timer.previous.next = timer.next;
+        } else {
+            slots[timer.level][timer.slot] = timer.next;
+        }
+        if (timer.next != null) {
+            timer.next.previous = timer.previous;
+        }
+        timer.previous = null;
+        timer.next = null;
+    }
+    
+    private static long ceilDiv(long x, long y) {
+        return -Math.floorDiv(-x, y);
+    }
+}
@@ -0,0 +1,64 @@
+-- Baseline schema for the persistent profile, matching the JPA entity mappings
+
+CREATE TABLE games (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    genre VARCHAR(255),
+    platform VARCHAR(255),
+    created_at TIMESTAMP(6)
+);
+
+CREATE TABLE gaming_sessions (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    game_id BIGINT NOT NULL,
+    start_time TIMESTAMP(6) NOT NULL,
+    end_time TIMESTAMP(6),
+    duration_minutes BIGINT,
+    kills INTEGER,
+    deaths INTEGER,
+    assists INTEGER,
+    accuracy FLOAT(53),
+    score INTEGER,
+    avg_fps FLOAT(53),
+    avg_cpu_usage FLOAT(53),
+    avg_gpu_usage FLOAT(53),
+    avg_memory_usage FLOAT(53),
+    avg_temperature FLOAT(53),
+    mood_before VARCHAR(255) CHECK (mood_before IN ('VERY_FRUSTRATED', 'FRUSTRATED', 'NEUTRAL', 'GOOD', 'EXCELLENT')),
+    mood_after VARCHAR(255) CHECK (mood_after IN ('VERY_FRUSTRATED', 'FRUSTRATED', 'NEUTRAL', 'GOOD', 'EXCELLENT')),
+    performance_rating VARCHAR(255) CHECK (performance_rating IN ('TERRIBLE', 'POOR', 'AVERAGE', 'GOOD', 'EXCELLENT')),
+    notes VARCHAR(255),
+    CONSTRAINT fk_sessions_game FOREIGN KEY (game_id) REFERENCES games (id)
+);
+
+CREATE TABLE gaming_schedules (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title VARCHAR(255),
+    game_id BIGINT,
+    scheduled_time TIMESTAMP(6) NOT NULL,
+    estimated_duration_minutes INTEGER,
+    type VARCHAR(255) CHECK (type IN ('ONE_TIME', 'DAILY', 'WEEKLY', 'TOURNAMENT', 'RAID', 'PRACTICE')),
+    day_of_week VARCHAR(255) CHECK (day_of_week IN ('MONDAY', 'TUESDAY', 'WEDNESDAY', 'THURSDAY', 'FRIDAY', 'SATURDAY', 'SUNDAY')),
+    description VARCHAR(255),
+    is_completed BOOLEAN,
+    reminder_sent BOOLEAN,
+    created_at TIMESTAMP(6),
+    CONSTRAINT fk_schedules_game FOREIGN KEY (game_id) REFERENCES games (id)
+);
+
+CREATE TABLE daily_rollups (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    rollup_date DATE NOT NULL UNIQUE,
+    session_count BIGINT NOT NULL,
+    playtime_minutes BIGINT NOT NULL,
+    completed_schedules BIGINT NOT NULL
+);
+
+CREATE TABLE daily_game_rollups (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    rollup_date DATE NOT NULL,
+    game_id BIGINT NOT NULL,
+    session_count BIGINT NOT NULL,
+    playtime_minutes BIGINT NOT NULL,
+    CONSTRAINT uk_daily_game_rollups_day_game UNIQUE (rollup_date, game_id)
+);
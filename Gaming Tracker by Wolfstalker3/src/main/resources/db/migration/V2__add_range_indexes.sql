@@ -0,0 +1,13 @@
+-- Indexes for the time-range and keyset queries in GamingSessionRepository and GamingScheduleRepository
+
+-- Sessions are listed newest first, so these are descending to let keyset pages read them in order
+CREATE INDEX idx_sessions_start_time ON gaming_sessions (start_time DESC, id DESC);
+CREATE INDEX idx_sessions_game_start_time ON gaming_sessions (game_id, start_time DESC, id DESC);
+CREATE INDEX idx_sessions_end_time ON gaming_sessions (end_time);
+
+CREATE INDEX idx_schedules_scheduled_time ON gaming_schedules (scheduled_time, id);
+CREATE INDEX idx_schedules_completed_time ON gaming_schedules (is_completed, scheduled_time, id);
+
+-- H2 has no expression indexes, so case-insensitive name lookups go through a generated column
+ALTER TABLE games ADD COLUMN name_key VARCHAR(255) GENERATED ALWAYS AS (UPPER(name));
+CREATE INDEX idx_games_name_key ON games (name_key);
@@ -0,0 +1,17 @@
+-- Per-occurrence changes to DAILY and WEEKLY schedules, whose occurrences are otherwise computed rather than stored
+
+CREATE TABLE schedule_occurrence_overrides (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    schedule_id BIGINT NOT NULL,
+    occurrence_date DATE NOT NULL,
+    completed BOOLEAN NOT NULL,
+    cancelled BOOLEAN NOT NULL,
+    rescheduled_time TIMESTAMP(6),
+    CONSTRAINT uk_occurrence_overrides_schedule_date UNIQUE (schedule_id, occurrence_date),
+    CONSTRAINT fk_occurrence_overrides_schedule FOREIGN KEY (schedule_id) REFERENCES gaming_schedules (id)
+);
+
+CREATE INDEX idx_occurrence_overrides_rescheduled ON schedule_occurrence_overrides (rescheduled_time);
+
+-- Recurring series are loaded by type on every occurrence query
+CREATE INDEX idx_schedules_type_completed ON gaming_schedules (type, is_completed);
@@ -0,0 +1,14 @@
+-- Frame time percentiles per session, and the histograms they come from so games can merge them
+
+ALTER TABLE gaming_sessions ADD COLUMN median_fps FLOAT(53);
+ALTER TABLE gaming_sessions ADD COLUMN one_percent_low_fps FLOAT(53);
+ALTER TABLE gaming_sessions ADD COLUMN point_one_percent_low_fps FLOAT(53);
+
+CREATE TABLE session_frame_times (
+    session_id BIGINT NOT NULL PRIMARY KEY,
+    game_id BIGINT NOT NULL,
+    frame_count BIGINT NOT NULL,
+    histogram VARBINARY(65535) NOT NULL
+);
+
+CREATE INDEX idx_session_frame_times_game ON session_frame_times (game_id);
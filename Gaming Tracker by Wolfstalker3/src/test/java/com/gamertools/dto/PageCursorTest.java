@@ -0,0 +1,69 @@
+package com.gamertools.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageCursorTest {
+    
+    @Test
+    void tokensDecodeToTheCursorTheyCameFrom() {
+        PageCursor cursor = new PageCursor(LocalDateTime.of(2024, 1, 25, 19, 0, 12, 345_000_000), 42);
+        
+        assertEquals(cursor, PageCursor.decode(cursor.encode(), PageCursor.FIRST_DESCENDING));
+        assertEquals(PageCursor.FIRST_ASCENDING, PageCursor.decode(PageCursor.FIRST_ASCENDING.encode(), null));
+    }
+    
+    @Test
+    void cursorWithoutATimeRoundTrips() {
+        PageCursor cursor = new PageCursor(null, 7);
+        
+        assertEquals(cursor, PageCursor.decode(cursor.encode(), PageCursor.FIRST_BY_ID));
+    }
+    
+    @Test
+    void rejectsATokenFromTheOtherKindOfList() {
+        String byId = new PageCursor(null, 7).encode();
+        String byTime = new PageCursor(LocalDateTime.of(2024, 1, 25, 19, 0), 7).encode();
+        
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(byId, PageCursor.FIRST_DESCENDING));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(byId, PageCursor.FIRST_ASCENDING));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(byTime, PageCursor.FIRST_BY_ID));
+    }
+    
+    @Test
+    void tokensAreUrlSafe() {
+        String token = new PageCursor(LocalDateTime.of(2024, 1, 25, 19, 0), Long.MAX_VALUE).encode();
+        
+        assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+    }
+    
+    @Test
+    void missingTokenGivesTheFirstPage() {
+        assertEquals(PageCursor.FIRST_DESCENDING, PageCursor.decode(null, PageCursor.FIRST_DESCENDING));
+        assertEquals(PageCursor.FIRST_DESCENDING, PageCursor.decode("  ", PageCursor.FIRST_DESCENDING));
+    }
+    
+    @Test
+    void rejectsMalformedTokens() {
+        String wrongVersion = Base64.getUrlEncoder().encodeToString("v0|2024-01-25T19:00|1".getBytes(StandardCharsets.UTF_8));
+        String badTime = Base64.getUrlEncoder().encodeToString("v1|yesterday|1".getBytes(StandardCharsets.UTF_8));
+        
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("not a cursor!", null));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(wrongVersion, null));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(badTime, null));
+    }
+    
+    @Test
+    void limitsAreClampedToThePageSizeRange() {
+        assertEquals(PageCursor.DEFAULT_PAGE_SIZE, PageCursor.clampLimit(null));
+        assertEquals(PageCursor.DEFAULT_PAGE_SIZE, PageCursor.clampLimit(0));
+        assertEquals(PageCursor.DEFAULT_PAGE_SIZE, PageCursor.clampLimit(-5));
+        assertEquals(20, PageCursor.clampLimit(20));
+        assertEquals(PageCursor.MAX_PAGE_SIZE, PageCursor.clampLimit(10_000));
+    }
+}
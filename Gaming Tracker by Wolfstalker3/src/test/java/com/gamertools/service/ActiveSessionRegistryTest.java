@@ -0,0 +1,92 @@
+package com.gamertools.service;
+
+import com.gamertools.model.Game;
+import com.gamertools.model.GamingSession;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ActiveSessionRegistryTest {
+    
+    private final ActiveSessionRegistry registry = new ActiveSessionRegistry();
+    
+    private static GamingSession session(long sessionId, long gameId) {
+        Game game = new Game("Game " + gameId, "FPS", "PC");
+        game.setId(gameId);
+        GamingSession session = new GamingSession(game);
+        session.setId(sessionId);
+        return session;
+    }
+    
+    @Test
+    void exactlyOneOfTwoConcurrentEndsGetsThrough() throws InterruptedException {
+        for (long sessionId = 1; sessionId <= 2000; sessionId++) {
+            registry.started(session(sessionId, sessionId));
+            long id = sessionId;
+            AtomicInteger claimed = new AtomicInteger();
+            CountDownLatch start = new CountDownLatch(1);
+            Runnable end = () -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (registry.beginEnd(id)) {
+                    claimed.incrementAndGet();
+                }
+            };
+            Thread first = new Thread(end);
+            Thread second = new Thread(end);
+            first.start();
+            second.start();
+            
+            start.countDown();
+            first.join();
+            second.join();
+            
+            assertEquals(1, claimed.get(), "claims on session " + sessionId);
+            registry.ended(sessionId);
+        }
+        assertEquals(0, registry.size());
+    }
+    
+    @Test
+    void anAbortedEndLetsTheNextAttemptThrough() {
+        registry.started(session(1, 10));
+        
+        assertTrue(registry.beginEnd(1L));
+        assertFalse(registry.beginEnd(1L));
+        registry.endAborted(1L);
+        assertTrue(registry.isActive(1L));
+        assertTrue(registry.beginEnd(1L));
+    }
+    
+    @Test
+    void anEndedSessionCannotBeEndedAgain() {
+        registry.started(session(1, 10));
+        
+        assertTrue(registry.beginEnd(1L));
+        registry.ended(1L);
+        
+        assertFalse(registry.isActive(1L));
+        assertFalse(registry.beginEnd(1L));
+        assertEquals(0, registry.getActiveSessions().size());
+        assertTrue(registry.reserve(10L));
+    }
+    
+    @Test
+    void aGameHoldsOneStartingOrRunningSession() {
+        assertTrue(registry.reserve(10L));
+        assertFalse(registry.reserve(10L));
+        registry.release(10L);
+        assertTrue(registry.reserve(10L));
+        
+        registry.started(session(1, 10));
+        assertFalse(registry.reserve(10L));
+        assertEquals(10L, registry.getGameId(1L));
+    }
+}
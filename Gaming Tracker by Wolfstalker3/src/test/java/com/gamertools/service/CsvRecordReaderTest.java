@@ -0,0 +1,85 @@
+package com.gamertools.service;
+
+import com.gamertools.dto.ImportResult;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvRecordReaderTest {
+    
+    private final ImportResult result = new ImportResult();
+    
+    private List<SessionImportService.ImportRecord> read(String csv) throws IOException {
+        SessionImportService.CsvRecordReader reader = new SessionImportService.CsvRecordReader(new BufferedReader(new StringReader(csv)));
+        List<SessionImportService.ImportRecord> records = new ArrayList<>();
+        SessionImportService.ImportRecord record;
+        while ((record = reader.next(result)) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+    
+    private static String field(SessionImportService.ImportRecord record, String name) {
+        return record.fields().apply(name);
+    }
+    
+    @Test
+    void fieldsAreLookedUpByHeaderName() throws IOException {
+        List<SessionImportService.ImportRecord> records = read("game, kills,deaths\nValorant,12,3\nApex,7,9\n");
+        
+        assertEquals(2, records.size());
+        assertEquals("Valorant", field(records.get(0), "game"));
+        assertEquals("12", field(records.get(0), "kills"));
+        assertEquals("9", field(records.get(1), "deaths"));
+        assertNull(field(records.get(0), "score"));
+        assertEquals(2, records.get(0).line());
+        assertEquals(3, records.get(1).line());
+    }
+    
+    @Test
+    void quotedValuesKeepCommasAndDoubledQuotes() throws IOException {
+        List<SessionImportService.ImportRecord> records = read("game,notes\n\"Rainbow Six, Siege\",\"said \"\"gg\"\"\"\n");
+        
+        assertEquals("Rainbow Six, Siege", field(records.get(0), "game"));
+        assertEquals("said \"gg\"", field(records.get(0), "notes"));
+    }
+    
+    @Test
+    void quotedValuesMaySpanLinesAndLaterRowsKeepTheirLineNumbers() throws IOException {
+        List<SessionImportService.ImportRecord> records = read("game,notes\nValorant,\"first\nsecond\"\nApex,short\n");
+        
+        assertEquals("first\nsecond", field(records.get(0), "notes"));
+        assertEquals(2, records.get(0).line());
+        assertEquals(4, records.get(1).line());
+    }
+    
+    @Test
+    void shortRowsLeaveTheMissingFieldsEmpty() throws IOException {
+        List<SessionImportService.ImportRecord> records = read("game,kills,deaths\nValorant,12\n");
+        
+        assertEquals("12", field(records.get(0), "kills"));
+        assertNull(field(records.get(0), "deaths"));
+    }
+    
+    @Test
+    void blankLinesAreSkippedAndRowsWithExtraColumnsReported() throws IOException {
+        List<SessionImportService.ImportRecord> records = read("game,kills\n\nValorant,1,2\nApex,4\n");
+        
+        assertEquals(1, records.size());
+        assertEquals("Apex", field(records.get(0), "game"));
+        assertEquals(1, result.getFailed());
+        assertEquals(3, result.getErrors().get(0).line());
+    }
+    
+    @Test
+    void emptyInputHasNoRecords() throws IOException {
+        assertEquals(List.of(), read(""));
+        assertEquals(List.of(), read("game,kills\n"));
+    }
+}
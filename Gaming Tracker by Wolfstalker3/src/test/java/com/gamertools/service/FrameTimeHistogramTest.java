@@ -0,0 +1,113 @@
+package com.gamertools.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FrameTimeHistogramTest {
+    
+    @Test
+    void bucketsHoldTheirValuesWithinTheStatedPrecision() {
+        for (long value = 1; value <= FrameTimeHistogram.MAX_FRAME_MICROS; value = value * 3 / 2 + 1) {
+            int index = FrameTimeHistogram.index(value);
+            long lowest = FrameTimeHistogram.lowestValue(index);
+            long width = FrameTimeHistogram.bucketWidth(index);
+            assertTrue(index >= 0 && index < FrameTimeHistogram.BUCKETS, "index of " + value);
+            assertTrue(lowest <= value && value < lowest + width, "bucket of " + value);
+            assertTrue(width == 1 || (double) width / lowest <= 1.0 / 128, "width at " + value);
+        }
+        assertEquals(FrameTimeHistogram.BUCKETS - 1, FrameTimeHistogram.index(FrameTimeHistogram.MAX_FRAME_MICROS));
+    }
+    
+    @Test
+    void percentilesRankFramesByTime() {
+        FrameTimeHistogram histogram = new FrameTimeHistogram();
+        for (int i = 0; i < 999; i++) {
+            histogram.recordMillis(7.0);
+        }
+        histogram.recordMillis(50.0);
+        
+        // Rank 999 of 1000 is still a 7 ms frame; only the 100th percentile reaches the stutter
+        assertEquals(7000, histogram.getMicrosAtPercentile(50), 7000 / 128.0);
+        assertEquals(7000, histogram.getMicrosAtPercentile(99.9), 7000 / 128.0);
+        assertEquals(50_000, histogram.getMicrosAtPercentile(100), 50_000 / 128.0);
+        assertEquals(1000 / 7.0, histogram.getFpsAtPercentile(99), 1000 / 7.0 / 128);
+    }
+    
+    @Test
+    void averageFpsWeighsFramesByTheirTimeOnScreen() {
+        FrameTimeHistogram histogram = new FrameTimeHistogram();
+        histogram.recordMillis(10.0);
+        histogram.recordMillis(30.0);
+        
+        assertEquals(2, histogram.getTotalCount());
+        assertEquals(40_000, histogram.getTotalMicros());
+        assertEquals(50.0, histogram.getAverageFps(), 1e-9);
+    }
+    
+    @Test
+    void emptyHistogramHasNoFrameRate() {
+        FrameTimeHistogram histogram = new FrameTimeHistogram();
+        
+        assertEquals(0, histogram.getMicrosAtPercentile(99));
+        assertNull(histogram.getAverageFps());
+        assertNull(histogram.getFpsAtPercentile(50));
+    }
+    
+    @Test
+    void rejectsFrameTimesThatAreNotPositiveNumbers() {
+        FrameTimeHistogram histogram = new FrameTimeHistogram();
+        
+        assertFalse(histogram.recordMillis(0));
+        assertFalse(histogram.recordMillis(-1));
+        assertFalse(histogram.recordMillis(Double.NaN));
+        assertFalse(histogram.recordMillis(Double.POSITIVE_INFINITY));
+        assertEquals(0, histogram.getTotalCount());
+    }
+    
+    @Test
+    void mergedHistogramsMatchRecordingEveryFrameInOne() {
+        Random random = new Random(3);
+        FrameTimeHistogram all = new FrameTimeHistogram();
+        FrameTimeHistogram first = new FrameTimeHistogram();
+        FrameTimeHistogram second = new FrameTimeHistogram();
+        for (int i = 0; i < 10_000; i++) {
+            double millis = 5 + random.nextDouble() * (i % 2 == 0 ? 5 : 40);
+            all.recordMillis(millis);
+            (i % 2 == 0 ? first : second).recordMillis(millis);
+        }
+        
+        FrameTimeHistogram merged = first.copy();
+        merged.add(second);
+        assertArrayEquals(all.toBytes(), merged.toBytes());
+        for (double percentile : new double[]{1, 50, 99, 99.9, 100}) {
+            assertEquals(all.getMicrosAtPercentile(percentile), merged.getMicrosAtPercentile(percentile));
+        }
+        
+        merged.subtract(second);
+        assertArrayEquals(first.toBytes(), merged.toBytes());
+    }
+    
+    @Test
+    void storedEncodingRoundTrips() {
+        FrameTimeHistogram histogram = new FrameTimeHistogram();
+        histogram.recordMicros(1);
+        histogram.recordMicros(6944);
+        histogram.recordMicros(6944);
+        histogram.recordMicros(FrameTimeHistogram.MAX_FRAME_MICROS + 1000);
+        
+        FrameTimeHistogram loaded = FrameTimeHistogram.fromBytes(histogram.toBytes());
+        
+        assertEquals(histogram.getTotalCount(), loaded.getTotalCount());
+        assertEquals(histogram.getTotalMicros(), loaded.getTotalMicros());
+        assertArrayEquals(histogram.toBytes(), loaded.toBytes());
+        assertEquals(histogram.getMicrosAtPercentile(50), loaded.getMicrosAtPercentile(50));
+    }
+    
+    @Test
+    void rejectsAnUnknownStoredFormat() {
+        assertThrows(IllegalArgumentException.class, () -> FrameTimeHistogram.fromBytes(new byte[]{99}));
+    }
+}
@@ -0,0 +1,105 @@
+package com.gamertools.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleIntervalIndexTest {
+    
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+    
+    private static LocalDateTime at(long minutes) {
+        return BASE.plusMinutes(minutes);
+    }
+    
+    @Test
+    void intervalsAreHalfOpen() {
+        ScheduleIntervalIndex index = new ScheduleIntervalIndex();
+        index.put(1, at(60), at(120));
+        
+        assertEquals(List.of(), index.overlapping(at(120), at(180)));
+        assertEquals(List.of(), index.overlapping(at(0), at(60)));
+        assertEquals(List.of(1L), index.overlapping(at(119), at(180)));
+        assertEquals(List.of(1L), index.overlapping(at(0), at(61)));
+    }
+    
+    @Test
+    void findsLongIntervalsThatStartedBeforeTheWindow() {
+        ScheduleIntervalIndex index = new ScheduleIntervalIndex();
+        index.put(1, at(0), at(600));
+        index.put(2, at(300), at(330));
+        index.put(3, at(700), at(800));
+        
+        assertEquals(List.of(1L, 2L), index.overlapping(at(310), at(320)));
+        assertEquals(List.of(1L), index.overlapping(at(500), at(650)));
+    }
+    
+    @Test
+    void putReplacesTheIntervalHeldForAnId() {
+        ScheduleIntervalIndex index = new ScheduleIntervalIndex();
+        index.put(1, at(0), at(60));
+        index.put(1, at(120), at(180));
+        
+        assertEquals(1, index.size());
+        assertEquals(List.of(), index.overlapping(at(0), at(60)));
+        assertEquals(List.of(1L), index.overlapping(at(150), at(160)));
+    }
+    
+    @Test
+    void removeDropsOnlyThatInterval() {
+        ScheduleIntervalIndex index = new ScheduleIntervalIndex();
+        index.put(1, at(0), at(600));
+        index.put(2, at(100), at(200));
+        index.put(3, at(150), at(250));
+        
+        assertTrue(index.remove(1));
+        assertFalse(index.remove(1));
+        assertEquals(2, index.size());
+        assertEquals(List.of(2L, 3L), index.overlapping(at(0), at(600)));
+        assertEquals(List.of(), index.overlapping(at(300), at(600)));
+    }
+    
+    @Test
+    void matchesABruteForceScanUnderRandomPutsAndRemoves() {
+        Random random = new Random(7);
+        ScheduleIntervalIndex index = new ScheduleIntervalIndex();
+        Map<Long, long[]> expected = new HashMap<>();
+        
+        for (int step = 0; step < 5000; step++) {
+            long id = random.nextInt(500);
+            if (random.nextInt(4) == 0) {
+                assertEquals(expected.remove(id) != null, index.remove(id));
+            } else {
+                long start = random.nextInt(10_000);
+                long end = start + random.nextInt(random.nextInt(10) == 0 ? 2000 : 120);
+                index.put(id, at(start), at(end));
+                expected.put(id, new long[]{start, end});
+            }
+            
+            if (step % 50 == 0) {
+                long from = random.nextInt(10_000);
+                long to = from + 1 + random.nextInt(300);
+                List<Long> matches = new ArrayList<>();
+                expected.forEach((key, interval) -> {
+                    if (interval[0] < to && from < interval[1]) {
+                        matches.add(key);
+                    }
+                });
+                List<Long> found = index.overlapping(at(from), at(to));
+                assertEquals(matches.size(), found.size());
+                assertTrue(found.containsAll(matches));
+                for (int i = 1; i < found.size(); i++) {
+                    assertTrue(expected.get(found.get(i - 1))[0] <= expected.get(found.get(i))[0], "ordered by start");
+                }
+            }
+        }
+        assertEquals(expected.size(), index.size());
+    }
+}
@@ -0,0 +1,88 @@
+package com.gamertools.service;
+
+import com.gamertools.model.GamingSchedule;
+import com.gamertools.model.ScheduleType;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleRecurrenceTest {
+    
+    // A Wednesday
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 3, 19, 30);
+    
+    private static ScheduleRecurrence recurrence(ScheduleType type, DayOfWeek dayOfWeek) {
+        GamingSchedule schedule = new GamingSchedule("Practice", START, type);
+        schedule.setDayOfWeek(dayOfWeek);
+        return ScheduleRecurrence.of(schedule);
+    }
+    
+    private static long day(int dayOfMonth) {
+        return LocalDate.of(2024, 1, dayOfMonth).toEpochDay();
+    }
+    
+    @Test
+    void oneTimeSchedulesDoNotRecur() {
+        assertNull(recurrence(ScheduleType.ONE_TIME, null));
+        assertNull(recurrence(ScheduleType.TOURNAMENT, null));
+    }
+    
+    @Test
+    void dailyRepeatsEveryDayFromItsScheduledDate() {
+        ScheduleRecurrence daily = recurrence(ScheduleType.DAILY, null);
+        
+        assertFalse(daily.occursOn(LocalDate.of(2024, 1, 2)));
+        assertTrue(daily.occursOn(LocalDate.of(2024, 1, 3)));
+        assertTrue(daily.occursOn(LocalDate.of(2025, 6, 30)));
+        assertEquals(LocalTime.of(19, 30), daily.getTime());
+        assertEquals(LocalDateTime.of(2024, 1, 10, 19, 30), daily.timeOn(LocalDate.of(2024, 1, 10)));
+        assertEquals(day(3), daily.nextOnOrAfter(day(1)));
+        assertEquals(day(9), daily.nextOnOrAfter(day(9)));
+        assertEquals(7, daily.count(day(1), day(9)));
+    }
+    
+    @Test
+    void weeklyStartsOnTheFirstMatchingDayOnOrAfterTheScheduledDate() {
+        ScheduleRecurrence onItsOwnDay = recurrence(ScheduleType.WEEKLY, null);
+        ScheduleRecurrence onSaturdays = recurrence(ScheduleType.WEEKLY, DayOfWeek.SATURDAY);
+        ScheduleRecurrence onMondays = recurrence(ScheduleType.WEEKLY, DayOfWeek.MONDAY);
+        
+        assertEquals(day(3), onItsOwnDay.nextOnOrAfter(day(1)));
+        assertEquals(day(6), onSaturdays.nextOnOrAfter(day(1)));
+        assertEquals(day(8), onMondays.nextOnOrAfter(day(1)));
+        assertFalse(onMondays.occursOn(day(1)));
+        assertEquals(day(15), onMondays.nextOnOrAfter(day(9)));
+        assertTrue(onSaturdays.occursOn(LocalDate.of(2024, 12, 28)));
+    }
+    
+    @Test
+    void forEachDayWalksTheWindowInclusively() {
+        ScheduleRecurrence weekly = recurrence(ScheduleType.WEEKLY, null);
+        List<Long> days = new ArrayList<>();
+        
+        weekly.forEachDay(day(3), day(24), days::add);
+        
+        assertEquals(List.of(day(3), day(10), day(17), day(24)), days);
+        assertEquals(days.size(), weekly.count(day(3), day(24)));
+        assertEquals(0, weekly.count(day(4), day(9)));
+    }
+    
+    @Test
+    void firstOccurrenceInAWindowIsFoundYearsLater() {
+        ScheduleRecurrence weekly = recurrence(ScheduleType.WEEKLY, null);
+        long from = LocalDate.of(2034, 5, 1).toEpochDay();
+        
+        long next = weekly.nextOnOrAfter(from);
+        
+        assertTrue(next >= from && next < from + 7);
+        assertEquals(DayOfWeek.WEDNESDAY, LocalDate.ofEpochDay(next).getDayOfWeek());
+        assertTrue(weekly.occursOn(next));
+    }
+}
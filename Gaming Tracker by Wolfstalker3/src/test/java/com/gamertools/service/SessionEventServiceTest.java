@@ -0,0 +1,123 @@
+package com.gamertools.service;
+
+import com.gamertools.dto.SessionEvent;
+import com.gamertools.repository.GamingSessionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SessionEventServiceTest {
+    
+    private static final List<SessionEvent> KILL_AND_SCORE = List.of(
+            new SessionEvent(SessionEvent.Type.KILL, null),
+            new SessionEvent(SessionEvent.Type.SCORE, 3));
+    
+    private final GamingSessionRepository repository = mock(GamingSessionRepository.class);
+    private final SessionEventService service = new SessionEventService();
+    
+    // What the in-place updates have added to the row
+    private final AtomicLong storedKills = new AtomicLong();
+    private final AtomicLong storedScore = new AtomicLong();
+    
+    @BeforeEach
+    void wire() {
+        ReflectionTestUtils.setField(service, "sessionRepository", repository);
+        ReflectionTestUtils.setField(service, "activeSessions", new ActiveSessionRegistry());
+        when(repository.addStats(anyLong(), anyInt(), anyInt(), anyInt(), anyInt())).thenAnswer(invocation -> {
+            storedKills.addAndGet(invocation.<Integer>getArgument(1));
+            storedScore.addAndGet(invocation.<Integer>getArgument(4));
+            return 1;
+        });
+    }
+    
+    @Test
+    void batchesRecordedWhileTheSessionEndsAreWrittenExactlyOnce() throws InterruptedException {
+        for (long sessionId = 1; sessionId <= 50; sessionId++) {
+            storedKills.set(0);
+            storedScore.set(0);
+            service.startTracking(sessionId);
+            
+            LongAdder accepted = new LongAdder();
+            AtomicBoolean ended = new AtomicBoolean();
+            CountDownLatch start = new CountDownLatch(1);
+            List<Thread> threads = new ArrayList<>();
+            long id = sessionId;
+            for (int i = 0; i < 4; i++) {
+                threads.add(new Thread(() -> {
+                    await(start);
+                    while (true) {
+                        try {
+                            service.recordEvents(id, KILL_AND_SCORE);
+                        } catch (RuntimeException e) {
+                            // The session has ended
+                            return;
+                        }
+                        accepted.increment();
+                    }
+                }));
+            }
+            // Periodic flushes racing the final one must not write a change twice
+            threads.add(new Thread(() -> {
+                await(start);
+                while (!ended.get()) {
+                    service.flushAndRun(id, () -> null);
+                }
+            }));
+            threads.forEach(Thread::start);
+            
+            start.countDown();
+            while (accepted.sum() < 500) {
+                Thread.onSpinWait();
+            }
+            service.stopTracking(sessionId);
+            ended.set(true);
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            
+            assertEquals(accepted.sum(), storedKills.get(), "kills of session " + sessionId);
+            assertEquals(3 * accepted.sum(), storedScore.get(), "score of session " + sessionId);
+        }
+        assertEquals(0, service.getTrackedSessionCount());
+    }
+    
+    @Test
+    void countsSurviveAFailedFinalWrite() {
+        service.startTracking(1L);
+        service.recordEvents(1L, KILL_AND_SCORE);
+        when(repository.addStats(anyLong(), anyInt(), anyInt(), anyInt(), anyInt()))
+                .thenThrow(new RuntimeException("database unavailable"))
+                .thenAnswer(invocation -> {
+                    storedKills.addAndGet(invocation.<Integer>getArgument(1));
+                    return 1;
+                });
+        
+        assertThrows(RuntimeException.class, () -> service.stopTracking(1L));
+        service.recordEvents(1L, KILL_AND_SCORE);
+        service.stopTracking(1L);
+        
+        assertEquals(2, storedKills.get());
+        assertThrows(RuntimeException.class, () -> service.recordEvents(1L, KILL_AND_SCORE));
+    }
+    
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
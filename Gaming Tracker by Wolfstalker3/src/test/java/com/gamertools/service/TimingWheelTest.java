@@ -0,0 +1,107 @@
+package com.gamertools.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+    
+    private static final long TICK = 100;
+    
+    @Test
+    void timersFireOnTheFirstTickAtOrAfterTheirDueTime() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 0);
+        wheel.schedule(1, 250, "a");
+        wheel.schedule(2, 300, "b");
+        
+        assertEquals(List.of(), wheel.advance(200));
+        assertEquals(List.of(), wheel.advance(299));
+        // Both fall due on the tick ending at 300, in no particular order within it
+        List<String> expired = wheel.advance(300);
+        assertEquals(2, expired.size());
+        assertTrue(expired.containsAll(List.of("a", "b")));
+        assertEquals(0, wheel.size());
+    }
+    
+    @Test
+    void expiredTimersComeBackInDueOrder() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(TICK, 0);
+        wheel.schedule(3, 30_000, 3);
+        wheel.schedule(1, 500, 1);
+        wheel.schedule(2, 7_000, 2);
+        
+        assertEquals(List.of(1, 2, 3), wheel.advance(60_000));
+    }
+    
+    @Test
+    void aPastDueTimeFiresOnTheNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 0);
+        wheel.advance(1000);
+        wheel.schedule(1, 0, "late");
+        
+        assertEquals(List.of(), wheel.advance(1099));
+        assertEquals(List.of("late"), wheel.advance(1100));
+    }
+    
+    @Test
+    void cancelAndRescheduleReplaceTheTimer() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 0);
+        wheel.schedule(1, 500, "first");
+        wheel.schedule(1, 900, "second");
+        wheel.schedule(2, 500, "cancelled");
+        
+        assertTrue(wheel.cancel(2));
+        assertFalse(wheel.cancel(2));
+        assertFalse(wheel.scheduleIfAbsent(1, 100, "ignored"));
+        assertEquals(1, wheel.size());
+        assertEquals(List.of(), wheel.advance(800));
+        assertEquals(List.of("second"), wheel.advance(900));
+    }
+    
+    @Test
+    void timersBeyondTheTopLevelWaitAndFireOnTime() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 0);
+        // The top level reaches 2^24 ticks ahead
+        long due = (1L << 24) * 3 + 12_345;
+        wheel.schedule(1, due, "far");
+        
+        assertEquals(List.of(), wheel.advance(due - 1));
+        assertEquals(List.of("far"), wheel.advance(due));
+    }
+    
+    @Test
+    void neverFiresEarlyAndAtMostOneTickLateUnderRandomTimers() {
+        Random random = new Random(11);
+        TimingWheel<Long> wheel = new TimingWheel<>(TICK, 0);
+        Map<Long, Long> dueTimes = new HashMap<>();
+        for (long key = 0; key < 2000; key++) {
+            long due = random.nextInt(random.nextInt(10) == 0 ? 5_000_000 : 50_000);
+            wheel.schedule(key, due, key);
+            dueTimes.put(key, due);
+        }
+        
+        List<Long> fired = new ArrayList<>();
+        for (long now = TICK; !dueTimes.isEmpty(); now += TICK) {
+            for (Long key : wheel.advance(now)) {
+                long due = dueTimes.remove(key);
+                assertTrue(due <= now, "fired early");
+                assertTrue(now - due < TICK || due <= TICK, "fired late");
+                fired.add(key);
+            }
+            assertTrue(now <= 5_000_000 + TICK, "timers left over");
+        }
+        assertEquals(2000, fired.size());
+        assertEquals(0, wheel.size());
+    }
+    
+    @Test
+    void rejectsANonPositiveTick() {
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel<String>(0, 0));
+    }
+}